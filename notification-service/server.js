@@ -19,7 +19,16 @@ const io = new Server(server, {
 const PORT = process.env.PORT || 3001;
 const RABBITMQ_URL = process.env.RABBITMQ_URL || 'amqp://localhost:5672';
 const SPRING_BOOT_API = process.env.SPRING_BOOT_API || 'http://localhost:8080';
-const QUEUE_NAME = 'assignment-notifications';
+const EXCHANGE_NAME = 'platform.events';
+const QUEUE_NAME = process.env.QUEUE_NAME || 'realtime-gateway';
+// Only the events pushed to browsers; everything else on the exchange never reaches this queue
+const BINDING_KEYS = [
+    'course.*.assignment.*',
+    'course.*.announcement.*',
+    'course.*.event.*',
+    'user.*.#',
+    'platform.#'
+];
 
 async function getEnrolledCourses(userId) {
     try {
@@ -74,6 +83,7 @@ io.on('connection', (socket) => {
         }
 
         userSockets.set(socket.id, { userId, courseIds: validCourseIds });
+        socket.join(`user-${userId}`);
 
         validCourseIds.forEach(courseId => {
             const room = `course-${courseId}`;
@@ -167,30 +177,37 @@ async function startRabbitMQConsumer() {
         const connection = await amqp.connect(RABBITMQ_URL);
         const channel = await connection.createChannel();
 
+        await channel.assertExchange(EXCHANGE_NAME, 'topic', { durable: true });
         await channel.assertQueue(QUEUE_NAME, { durable: true });
-        console.log(`Connected to RabbitMQ. Waiting for messages in queue: ${QUEUE_NAME}`);
+        for (const key of BINDING_KEYS) {
+            await channel.bindQueue(QUEUE_NAME, EXCHANGE_NAME, key);
+        }
+        console.log(`Connected to RabbitMQ. Waiting for ${BINDING_KEYS.join(', ')} on queue: ${QUEUE_NAME}`);
 
         channel.consume(QUEUE_NAME, (msg) => {
             if (msg !== null) {
                 try {
-                    const notification = JSON.parse(msg.content.toString());
-                    console.log('\nReceived notification from RabbitMQ:');
-                    console.log(`   Course: ${notification.courseName} (ID: ${notification.courseId})`);
-                    console.log(`   Assignment: ${notification.assignmentTitle}`);
-                    console.log(`   Teacher: ${notification.teacherName}`);
-
-                    const room = `course-${notification.courseId}`;
-                    const clientsInRoom = courseRooms.get(notification.courseId);
-                    const clientCount = clientsInRoom ? clientsInRoom.size : 0;
-
-                    io.to(room).emit('new-assignment', {
-                        type: 'NEW_ASSIGNMENT',
-                        message: `New assignment posted: ${notification.assignmentTitle}`,
-                        data: notification
-                    });
-
-                    console.log(`Broadcasted to ${clientCount} client(s) in room ${room}\n`);
-
+                    const event = JSON.parse(msg.content.toString());
+                    // envelopes are {type, v, id, ts, data}; bare payloads are pre-envelope assignment messages
+                    const type = event.type ?? 'assignment.created';
+                    const data = event.data ?? event;
+                    const [scope, scopeId] = msg.fields.routingKey.split('.');
+                    const target = scope === 'course' || scope === 'user'
+                        ? io.to(`${scope}-${scopeId}`)
+                        : io;
+
+                    if (type === 'assignment.created') {
+                        console.log(`\nAssignment "${data.assignmentTitle}" posted in ${data.courseName} (ID: ${data.courseId})`);
+                        target.emit('new-assignment', {
+                            type: 'NEW_ASSIGNMENT',
+                            message: `New assignment posted: ${data.assignmentTitle}`,
+                            data: data
+                        });
+                    } else {
+                        target.emit('platform-event', { type, v: event.v, data });
+                    }
+
+                    console.log(`Delivered ${type} via ${msg.fields.routingKey}`);
                     channel.ack(msg);
                 } catch (error) {
                     console.error('Error processing message:', error);
@@ -1,19 +1,24 @@
 package course.spring.elearningplatform.api;
 
 import course.spring.elearningplatform.dto.UserDto;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.*;
 import course.spring.elearningplatform.exception.DuplicateEmailException;
 import course.spring.elearningplatform.exception.DuplicateUsernameException;
 import course.spring.elearningplatform.service.*;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -58,26 +63,17 @@ public class AdminRestController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<?> getUsers(@RequestParam(defaultValue = "1") int page,
+    public ResponseEntity<?> getUsers(@RequestParam(required = false) String cursor,
                                       @RequestParam(defaultValue = "10") int size,
                                       @RequestParam(required = false) String search,
+                                      @RequestParam(defaultValue = "false") boolean withTotal,
                                       @AuthenticationPrincipal UserDetails userDetails) {
         String loggedInUsername = userDetails.getUsername();
-        Page<User> userPage;
 
         if (search != null && !search.isEmpty()) {
-            userPage = userService.searchUsers(search, page, size, loggedInUsername);
-        } else {
-            userPage = userService.getAllUsers(page, size, loggedInUsername);
+            return ResponseEntity.ok(userService.searchUsersPage(search, cursor, size, loggedInUsername));
         }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("users", userPage.getContent());
-        response.put("currentPage", userPage.getNumber() + 1);
-        response.put("totalPages", userPage.getTotalPages());
-        response.put("totalElements", userPage.getTotalElements());
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(userService.getUsersPage(cursor, size, loggedInUsername, withTotal));
     }
 
     @GetMapping("/users/all")
@@ -92,30 +88,28 @@ public class AdminRestController {
 
     @GetMapping("/student-groups/{id}")
     public ResponseEntity<?> getStudentGroup(@PathVariable Long id) {
-        Group group = groupService.getGroupById(id);
-        List<Article> articles = group.getArticles();
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy h:mm a");
-        Map<Long, String> articleDateMap = articles.stream()
-                .collect(Collectors.toMap(
-                        Article::getId,
-                        article -> article.getCreatedAt().format(formatter)
-                ));
-
-        List<String> members = group.getMembers().stream()
-                .map(User::getUsername)
-                .collect(Collectors.toList());
-        members.add("deletedUser");
-
         Map<String, Object> response = new HashMap<>();
-        response.put("group", group);
-        response.put("articles", articles);
-        response.put("articleDateMap", articleDateMap);
-        response.put("availableUsers", userService.getAllUsersExcept(members));
+        response.put("group", groupService.getGroupById(id));
+        response.put("members", groupService.getMembers(id, null, CursorPage.MAX_PAGE_SIZE));
+        response.put("articles", formatArticles(articleService.getArticleFeed(id, null, 20)));
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/student-groups/{id}/articles")
+    public ResponseEntity<?> getStudentGroupArticles(@PathVariable Long id,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(formatArticles(articleService.getArticleFeed(id, cursor, size)));
+    }
+
+    @GetMapping("/student-groups/{id}/available-users")
+    public ResponseEntity<?> getAvailableUsers(@PathVariable Long id,
+                                               @RequestParam("q") String query,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(groupService.suggestNewMembers(id, query, limit));
+    }
+
     @DeleteMapping("/student-groups/{id}")
     public ResponseEntity<?> deleteStudentGroup(@PathVariable Long id) {
         groupService.deleteGroup(id);
@@ -123,17 +117,15 @@ public class AdminRestController {
     }
 
     @PostMapping("/student-groups/{groupId}/remove-member")
-    public ResponseEntity<?> removeMember(@PathVariable Long groupId, @RequestParam Long userId) {
-        User user = userService.getUserById(userId);
-        groupService.removeMember(groupId, user);
-        return ResponseEntity.ok(Map.of("message", "User " + user.getUsername() + " removed successfully"));
+    public ResponseEntity<?> removeMember(@PathVariable Long groupId, @RequestParam("userId") List<Long> userIds) {
+        int removed = groupService.removeMembers(groupId, userIds);
+        return ResponseEntity.ok(Map.of("message", removed + " member(s) removed successfully"));
     }
 
     @PostMapping("/student-groups/{groupId}/add-member")
-    public ResponseEntity<?> addMember(@PathVariable Long groupId, @RequestParam Long userId) {
-        String username = userService.getUserById(userId).getUsername();
-        groupService.addMember(groupId, username);
-        return ResponseEntity.ok(Map.of("message", "User " + username + " added successfully"));
+    public ResponseEntity<?> addMember(@PathVariable Long groupId, @RequestParam("userId") List<Long> userIds) {
+        int added = groupService.addMembersById(groupId, userIds);
+        return ResponseEntity.ok(Map.of("message", added + " member(s) added successfully"));
     }
 
     @DeleteMapping("/articles/{id}")
@@ -172,27 +164,49 @@ public class AdminRestController {
     }
 
     @GetMapping("/courses")
-    public ResponseEntity<?> getCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<?> getCourses(@RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(courseService.getCoursesPage(cursor, size, withTotal));
     }
 
     @GetMapping("/activity-log")
-    public ResponseEntity<?> getActivityLog() {
-        Map<ActivityLog, String> logsMap = activityLogService.getAllLogs();
-        List<Map<String, Object>> formattedLogs = new ArrayList<>();
+    public ResponseEntity<?> getActivityLog(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPage<ActivityLog> logs = activityLogService.getLogs(cursor, size, withTotal);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy h:mm a");
 
-        for (Map.Entry<ActivityLog, String> entry : logsMap.entrySet()) {
-            ActivityLog log = entry.getKey();
-            Map<String, Object> logData = new HashMap<>();
+        return ResponseEntity.ok(logs.map(log -> {
+            Map<String, Object> logData = new LinkedHashMap<>();
             logData.put("id", log.getId());
             logData.put("action", log.getAction());
             logData.put("username", log.getUsername());
             logData.put("timestamp", log.getTimestamp());
-            logData.put("formattedDate", entry.getValue());
-            formattedLogs.add(logData);
-        }
-
-        return ResponseEntity.ok(formattedLogs);
+            logData.put("formattedDate", log.getTimestamp().format(formatter));
+            return logData;
+        }));
+    }
+
+    @GetMapping("/activity-log/export")
+    public ResponseEntity<StreamingResponseBody> exportActivityLog(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ActivityLogService.ExportFormat exportFormat = ActivityLogService.ExportFormat.valueOf(format.toUpperCase());
+        MediaType mediaType = exportFormat == ActivityLogService.ExportFormat.CSV
+                ? new MediaType("text", "csv")
+                : MediaType.APPLICATION_NDJSON;
+
+        StreamingResponseBody body = outputStream ->
+                activityLogService.exportLogs(exportFormat, username, action, from, to, outputStream);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"activity-log." + exportFormat.name().toLowerCase() + "\"")
+                .body(body);
     }
 
     @GetMapping("/roles")
@@ -203,4 +217,17 @@ public class AdminRestController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(roles);
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> formatArticles(CursorPage<Article> page) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy h:mm a");
+        Map<Long, String> articleDateMap = new HashMap<>();
+        page.getItems().forEach(article -> articleDateMap.put(article.getId(), article.getCreatedAt().format(formatter)));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", page.getItems());
+        response.put("articleDateMap", articleDateMap);
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasNext", page.isHasNext());
+        return response;
+    }
+}
@@ -12,6 +12,7 @@ import course.spring.elearningplatform.service.AssignmentService;
 import course.spring.elearningplatform.service.CourseService;
 import course.spring.elearningplatform.service.SolutionService;
 import course.spring.elearningplatform.service.UserService;
+import course.spring.elearningplatform.service.impl.RequestBatchLoaders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -38,15 +39,18 @@ public class AssignmentRestController {
     private final CourseService courseService;
     private final ActivityLogService activityLogService;
     private final UserService userService;
+    private final RequestBatchLoaders batchLoaders;
 
     @Autowired
     public AssignmentRestController(AssignmentService assignmentService, SolutionService solutionService,
-                                    CourseService courseService, ActivityLogService activityLogService, UserService userService) {
+                                    CourseService courseService, ActivityLogService activityLogService, UserService userService,
+                                    RequestBatchLoaders batchLoaders) {
         this.assignmentService = assignmentService;
         this.solutionService = solutionService;
         this.courseService = courseService;
         this.activityLogService = activityLogService;
         this.userService = userService;
+        this.batchLoaders = batchLoaders;
     }
 
     @GetMapping
@@ -65,11 +69,8 @@ public class AssignmentRestController {
                         .contains(assignment.getCourseId()))
                 .collect(Collectors.toList());
 
-        Map<Long, Boolean> userSolutionStatus = assignments.stream()
-                .collect(Collectors.toMap(
-                        AssignmentDto::getId,
-                        assignment -> solutionService.hasUserUploadedSolution(user.getId(), assignment.getId())
-                ));
+        Map<Long, Boolean> userSolutionStatus = batchLoaders.submittedSolutions(user.getId())
+                .loadAll(assignments.stream().map(AssignmentDto::getId).toList());
 
         Map<String, Object> response = new HashMap<>();
         response.put("assignments", assignments);
@@ -4,20 +4,25 @@ import course.spring.elearningplatform.dto.AssignmentDto;
 import course.spring.elearningplatform.dto.CourseDto;
 import course.spring.elearningplatform.dto.LessonDto;
 import course.spring.elearningplatform.dto.mapper.EntityMapper;
+import course.spring.elearningplatform.dto.projection.CourseCountsView;
 import course.spring.elearningplatform.dto.response.CourseResponse;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.CustomUserDetails;
 import course.spring.elearningplatform.entity.Lesson;
 import course.spring.elearningplatform.entity.User;
 import course.spring.elearningplatform.service.*;
+import course.spring.elearningplatform.service.impl.RequestBatchLoaders;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,26 +36,30 @@ public class CourseRestController {
     private final CourseService courseService;
     private final LessonService lessonService;
     private final UserService userService;
-    private final SolutionService solutionService;
+    private final RequestBatchLoaders batchLoaders;
     private final CourseDashboardService courseDashboardService;
     private final ActivityLogService activityLogService;
+    private final LessonProgressService lessonProgressService;
 
     @Autowired
     public CourseRestController(CourseService courseService, LessonService lessonService,
-                                UserService userService, SolutionService solutionService,
+                                UserService userService, RequestBatchLoaders batchLoaders,
                                 CourseDashboardService courseDashboardService,
-                                ActivityLogService activityLogService) {
+                                ActivityLogService activityLogService,
+                                LessonProgressService lessonProgressService) {
         this.courseService = courseService;
         this.lessonService = lessonService;
         this.userService = userService;
-        this.solutionService = solutionService;
+        this.batchLoaders = batchLoaders;
         this.courseDashboardService = courseDashboardService;
         this.activityLogService = activityLogService;
+        this.lessonProgressService = lessonProgressService;
     }
 
     @GetMapping
     public ResponseEntity<?> getAllCourses() {
         Map<String, Set<Course>> coursesByCategory = courseService.getCoursesGroupedByCategory();
+        primeCourseLoaders(coursesByCategory.values().stream().flatMap(Set::stream).map(Course::getId).toList());
         Map<String, List<CourseResponse>> responseByCategory = coursesByCategory.entrySet().stream()
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
@@ -64,6 +73,10 @@ public class CourseRestController {
     @GetMapping("/top3")
     public ResponseEntity<?> getTop3CoursesByCategory() {
         Map<String, Set<Course>> coursesByCategory = courseService.getCoursesGroupedByCategory();
+        primeCourseLoaders(coursesByCategory.values().stream()
+                .flatMap(courses -> courses.stream().limit(3))
+                .map(Course::getId)
+                .toList());
         Map<String, List<CourseResponse>> top3 = coursesByCategory.entrySet().stream()
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
@@ -101,17 +114,18 @@ public class CourseRestController {
                     .map(assignment -> EntityMapper.mapEntityToDto(assignment, AssignmentDto.class))
                     .toList();
 
-            Map<Long, Boolean> userSolutionStatus = assignments.stream()
-                    .collect(Collectors.toMap(
-                            AssignmentDto::getId,
-                            assignment -> solutionService.hasUserUploadedSolution(user.getId(), assignment.getId())
-                    ));
+            Map<Long, Boolean> userSolutionStatus = batchLoaders.submittedSolutions(user.getId())
+                    .loadAll(assignments.stream().map(AssignmentDto::getId).toList());
 
             response.put("assignments", assignments);
             response.put("userSolutionStatus", userSolutionStatus);
             response.put("highscores", courseService.getHighScoresForCourse(id));
             response.put("analytics", course.getAnalytics());
-            response.put("allLessonsCompleted", courseService.areAllLessonsCompletedByUser(user, course));
+            int totalLessons = course.getLessons().size();
+            int nextLessonOrdinal = lessonProgressService.getNextLessonOrdinal(user.getId(), id, totalLessons);
+            response.put("allLessonsCompleted", nextLessonOrdinal < 0);
+            response.put("progressWidth", lessonProgressService.getProgressPercentage(user.getId(), id, totalLessons));
+            response.put("nextLessonId", findLessonIdByOrdinal(course, nextLessonOrdinal));
             response.put("isCreator", course.getCreatedBy().getId().equals(user.getId()));
             response.put("isCourseStarted", user.getStartedCourses().contains(course));
             response.put("isCourseCompleted", user.getCompletedCourses().contains(course));
@@ -148,15 +162,15 @@ public class CourseRestController {
     public ResponseEntity<?> startCourse(@PathVariable Long id, 
                                          @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.getUserByUsername(userDetails.getUsername());
-        Course startedCourse = courseService.startCourse(id, user);
-        userService.addStartedCourse(user, startedCourse);
+        courseService.startCourse(id, user.getId());
         activityLogService.logActivity("Course started", userDetails.getUsername());
-        return ResponseEntity.ok(Map.of("message", "Course started successfully"));
+        return ResponseEntity.ok(Map.of("message", "Course started successfully", "isCourseStarted", true));
     }
 
     @GetMapping("/category/{category}")
     public ResponseEntity<?> getCoursesByCategory(@PathVariable String category) {
         List<Course> courses = courseService.getCoursesByCategory(category);
+        primeCourseLoaders(courses.stream().map(Course::getId).toList());
         List<CourseResponse> response = courses.stream()
                 .map(this::toCourseResponse)
                 .collect(Collectors.toList());
@@ -166,10 +180,14 @@ public class CourseRestController {
     @GetMapping("/student/{id}")
     public ResponseEntity<?> getStudentCourses(@PathVariable Long id) {
         Map<String, Object> response = new HashMap<>();
-        List<CourseResponse> startedCourses = courseService.getAllInProgressCoursesByUser(id).stream()
+        List<Course> inProgress = courseService.getAllInProgressCoursesByUser(id);
+        List<Course> completed = courseService.findCompletedCoursesByUserId(id);
+        primeCourseLoaders(inProgress.stream().map(Course::getId).toList());
+        primeCourseLoaders(completed.stream().map(Course::getId).toList());
+        List<CourseResponse> startedCourses = inProgress.stream()
                 .map(this::toCourseResponse)
                 .collect(Collectors.toList());
-        List<CourseResponse> completedCourses = courseService.findCompletedCoursesByUserId(id).stream()
+        List<CourseResponse> completedCourses = completed.stream()
                 .map(this::toCourseResponse)
                 .collect(Collectors.toList());
         response.put("startedCourses", startedCourses);
@@ -183,6 +201,7 @@ public class CourseRestController {
                                           @AuthenticationPrincipal CustomUserDetails userDetails) {
         Course course = courseService.getCourseById(id);
         lessonService.addLesson(lessonDto, course);
+        courseDashboardService.recordLessonAdded(id);
         activityLogService.logActivity("New lesson created", userDetails.getUsername());
         return ResponseEntity.ok(Map.of("message", "Lesson created successfully"));
     }
@@ -199,7 +218,9 @@ public class CourseRestController {
         response.put("lesson", toLessonResponse(lesson));
 
 
-        List<Map<String, Object>> completedLessonsInfo = user.getCompletedLessons().stream()
+        BitSet completed = lessonProgressService.getCompletedLessons(user.getId(), courseId);
+        List<Map<String, Object>> completedLessonsInfo = course.getLessons().stream()
+                .filter(l -> l.getOrdinal() != null && completed.get(l.getOrdinal()))
                 .map(l -> Map.of("id", (Object) l.getId(), "title", (Object) l.getTitle()))
                 .collect(java.util.stream.Collectors.toList());
 
@@ -224,10 +245,53 @@ public class CourseRestController {
                                                 @AuthenticationPrincipal UserDetails userDetails) {
         User user = userService.getUserByUsername(userDetails.getUsername());
         Lesson lesson = lessonService.getLessonById(lessonId);
-        user.getCompletedLessons().add(lesson);
-        userService.save(user);
+        if (lesson.getOrdinal() == null || lesson.getRelatedCourse() == null) {
+            throw new IllegalArgumentException("Lesson " + lessonId + " does not belong to a course");
+        }
+        Long lessonCourseId = lesson.getRelatedCourse().getId();
+        int completed = lessonProgressService.markCompleted(user.getId(), lessonCourseId, lesson.getOrdinal());
+        courseDashboardService.recordProgress(lessonCourseId, user.getId(), completed);
         activityLogService.logActivity("Completed lesson", userDetails.getUsername());
-        return ResponseEntity.ok(Map.of("message", "Lesson marked as completed"));
+
+        int totalLessons = (int) lessonService.countLessons(lessonCourseId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", "Lesson marked as completed");
+        response.put("completedLessons", completed);
+        response.put("allLessonsCompleted", completed >= totalLessons);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<?> getParticipantProgress(@PathVariable Long id,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    @AuthenticationPrincipal CustomUserDetails userDetails) {
+        User user = userDetails.getUser();
+        if (!user.isAdmin() && !courseDashboardService.isCourseCreator(id, user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Only the course creator can view participant progress"));
+        }
+        return ResponseEntity.ok(courseDashboardService.getParticipantProgress(id, cursor, size));
+    }
+
+    private Long findLessonIdByOrdinal(Course course, int ordinal) {
+        if (ordinal < 0) {
+            return null;
+        }
+        return course.getLessons().stream()
+                .filter(lesson -> lesson.getOrdinal() != null && lesson.getOrdinal() == ordinal)
+                .map(Lesson::getId)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Registers the courses about to go through {@link #toCourseResponse} so their counts and
+     * lessons are fetched together on the first one.
+     */
+    private void primeCourseLoaders(Collection<Long> courseIds) {
+        batchLoaders.courseCounts().prime(courseIds);
+        batchLoaders.courseLessons().prime(courseIds);
     }
 
     private CourseResponse toCourseResponse(Course course) {
@@ -237,9 +301,12 @@ public class CourseRestController {
         response.setDescription(course.getDescription());
         response.setCategories(course.getCategories());
         response.setCreatedOn(course.getCreatedOn());
-        response.setParticipantCount(course.getParticipants() != null ? course.getParticipants().size() : 0);
-        response.setCompletedCount(course.getStudentsCompletedCourse() != null ? course.getStudentsCompletedCourse().size() : 0);
-        response.setLessonsCount(course.getLessons() != null ? course.getLessons().size() : 0);
+        CourseCountsView counts = batchLoaders.courseCounts().load(course.getId());
+        if (counts != null) {
+            response.setParticipantCount(counts.getParticipantCount());
+            response.setCompletedCount(counts.getCompletedCount());
+            response.setLessonsCount(counts.getLessonCount());
+        }
 
         if (course.getImage() != null && course.getImage().getImage() != null) {
             response.setImageBase64(java.util.Base64.getEncoder().encodeToString(course.getImage().getImage()));
@@ -253,17 +320,15 @@ public class CourseRestController {
             response.setCreatedBy(userInfo);
         }
 
-        if (course.getLessons() != null) {
-            List<CourseResponse.LessonInfo> lessonInfoList = course.getLessons().stream()
-                    .map(lesson -> {
-                        CourseResponse.LessonInfo lessonInfo = new CourseResponse.LessonInfo();
-                        lessonInfo.setId(lesson.getId());
-                        lessonInfo.setTitle(lesson.getTitle());
-                        return lessonInfo;
-                    })
-                    .collect(java.util.stream.Collectors.toList());
-            response.setLessons(lessonInfoList);
-        }
+        List<CourseResponse.LessonInfo> lessonInfoList = batchLoaders.courseLessons().load(course.getId()).stream()
+                .map(lesson -> {
+                    CourseResponse.LessonInfo lessonInfo = new CourseResponse.LessonInfo();
+                    lessonInfo.setId(lesson.getLessonId());
+                    lessonInfo.setTitle(lesson.getTitle());
+                    return lessonInfo;
+                })
+                .collect(java.util.stream.Collectors.toList());
+        response.setLessons(lessonInfoList);
 
         return response;
     }
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -44,13 +45,29 @@ public class GroupRestController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getGroupById(@PathVariable Long id) {
+    public ResponseEntity<?> getGroupById(@PathVariable Long id,
+                                          @AuthenticationPrincipal UserDetails userDetails) {
         Map<String, Object> response = new HashMap<>();
         response.put("group", groupService.getGroupById(id));
-        response.put("articles", articleService.getAllArticlesForAGroup(id));
+        response.put("articles", articleService.getArticleFeed(id, null, 20));
+        response.put("isMember", userDetails != null && groupService.isMember(id, userDetails.getUsername()));
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/articles")
+    public ResponseEntity<?> getArticles(@PathVariable Long id,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(articleService.getArticleFeed(id, cursor, size));
+    }
+
+    @GetMapping("/{id}/members")
+    public ResponseEntity<?> getMembers(@PathVariable Long id,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(groupService.getMembers(id, cursor, size));
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> createGroup(
             @RequestParam("name") String name,
@@ -71,7 +88,7 @@ public class GroupRestController {
         }
 
         Group createdGroup = groupService.createGroup(groupDto);
-        groupService.addMember(createdGroup.getId(), userDetails.getUsername());
+        groupService.addMembers(createdGroup.getId(), List.of(userDetails.getUsername()));
         activityLogService.logActivity("Group created", userDetails.getUsername());
         return ResponseEntity.ok(Map.of("message", "Group created successfully", "groupId", createdGroup.getId()));
     }
@@ -79,7 +96,7 @@ public class GroupRestController {
     @PostMapping("/{id}/join")
     public ResponseEntity<?> joinGroup(@PathVariable Long id,
                                       @AuthenticationPrincipal UserDetails userDetails) {
-        groupService.addMember(id, userDetails.getUsername());
+        groupService.addMembers(id, List.of(userDetails.getUsername()));
         activityLogService.logActivity("Group joined", userDetails.getUsername());
         return ResponseEntity.ok(Map.of("message", "Joined group successfully"));
     }
@@ -87,7 +104,7 @@ public class GroupRestController {
     @PostMapping("/{id}/leave")
     public ResponseEntity<?> leaveGroup(@PathVariable Long id,
                                        @AuthenticationPrincipal UserDetails userDetails) {
-        groupService.removeMember(id, userService.getUserByUsername(userDetails.getUsername()));
+        groupService.removeMembers(id, List.of(userService.getUserByUsername(userDetails.getUsername()).getId()));
         activityLogService.logActivity("Left group", userDetails.getUsername());
         return ResponseEntity.ok(Map.of("message", "Left group successfully"));
     }
@@ -117,9 +134,9 @@ public class GroupRestController {
     }
 
     @PostMapping("/{id}/members")
-    public ResponseEntity<?> addMember(@PathVariable Long id, @RequestParam String username,
+    public ResponseEntity<?> addMember(@PathVariable Long id, @RequestParam("username") Set<String> usernames,
                                       @AuthenticationPrincipal UserDetails userDetails) {
-        groupService.addMember(id, username);
+        groupService.addMembers(id, usernames);
         activityLogService.logActivity("Member added", userDetails.getUsername());
         return ResponseEntity.ok(Map.of("message", "Member added successfully"));
     }
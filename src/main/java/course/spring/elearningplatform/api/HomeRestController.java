@@ -1,6 +1,5 @@
 package course.spring.elearningplatform.api;
 
-import course.spring.elearningplatform.dto.AssignmentDto;
 import course.spring.elearningplatform.dto.mapper.EntityMapper;
 import course.spring.elearningplatform.entity.Assignment;
 import course.spring.elearningplatform.entity.Course;
@@ -66,12 +65,8 @@ public class HomeRestController {
                 ));
 
 
-        List<AssignmentDto> assignmentDtos = assignmentService.getAllAssignments();
-        List<Assignment> upcomingAssignments = assignmentDtos.stream()
+        List<Assignment> upcomingAssignments = assignmentService.getUpcomingAssignments(3).stream()
                 .map(dto -> EntityMapper.mapCreateDtoToEntity(dto, Assignment.class))
-                .filter(a -> a.getDueDate().isAfter(LocalDateTime.now()))
-                .sorted(Comparator.comparing(Assignment::getDueDate))
-                .limit(3)
                 .collect(Collectors.toList());
 
         response.put("totalEvents", upcomingEvents.size());
@@ -0,0 +1,57 @@
+package course.spring.elearningplatform.api;
+
+import course.spring.elearningplatform.entity.Image;
+import course.spring.elearningplatform.service.ImageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageRestController {
+
+    private static final String DEFAULT_MIME_TYPE = "image/jpeg";
+
+    private final ImageService imageService;
+    private final Scheduler jdbcScheduler;
+
+    @Autowired
+    public ImageRestController(ImageService imageService, Scheduler jdbcScheduler) {
+        this.imageService = imageService;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /**
+     * Images are never modified in place (a new picture gets a new id), so the id is a strong
+     * validator and revalidations are answered without touching the database. Profile pictures are
+     * served through here too, so responses are only cached by the signed-in browser.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<byte[]>> getImage(@PathVariable Long id,
+                                                 @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = "\"image-" + id + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate();
+        if (etag.equals(ifNoneMatch)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build());
+        }
+
+        return Mono.fromCallable(() -> imageService.getImageById(id))
+                .subscribeOn(jdbcScheduler)
+                .map(image -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .contentType(mediaTypeOf(image))
+                        .body(image.getImage()));
+    }
+
+    private static MediaType mediaTypeOf(Image image) {
+        return MediaType.parseMediaType(image.getMimeType() != null ? image.getMimeType() : DEFAULT_MIME_TYPE);
+    }
+}
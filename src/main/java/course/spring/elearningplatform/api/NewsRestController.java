@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import course.spring.elearningplatform.service.impl.ExternalNewsService;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -34,9 +35,8 @@ public class NewsRestController {
     }
 
     @GetMapping("/external")
-    public ResponseEntity<?> getExternalNews(@RequestParam(defaultValue = "6") int pageSize) {
-        Map<String, Object> news = externalNewsService.getEducationalNews(pageSize);
-        return ResponseEntity.ok(news);
+    public Mono<ResponseEntity<Map<String, Object>>> getExternalNews(@RequestParam(defaultValue = "6") int pageSize) {
+        return externalNewsService.getEducationalNews(pageSize).map(ResponseEntity::ok);
     }
 
     @GetMapping("/{id}")
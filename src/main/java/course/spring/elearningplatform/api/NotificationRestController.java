@@ -0,0 +1,55 @@
+package course.spring.elearningplatform.api;
+
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.InboxNotification;
+import course.spring.elearningplatform.entity.CustomUserDetails;
+import course.spring.elearningplatform.service.NotificationInboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationRestController {
+
+    private final NotificationInboxService notificationInboxService;
+    private final Scheduler jdbcScheduler;
+
+    @Autowired
+    public NotificationRestController(NotificationInboxService notificationInboxService, Scheduler jdbcScheduler) {
+        this.notificationInboxService = notificationInboxService;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    @GetMapping
+    public Mono<CursorPage<InboxNotification>> getNotifications(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "50") int size,
+                                                                @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Long userId = userDetails.getUser().getId();
+        return Mono.fromCallable(() -> notificationInboxService.getNotifications(userId, cursor, size))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @GetMapping("/unread-count")
+    public Mono<Map<String, Long>> getUnreadCount(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        Long userId = userDetails.getUser().getId();
+        return Mono.fromCallable(() -> Map.of("unread", notificationInboxService.getUnreadCount(userId)))
+                .subscribeOn(jdbcScheduler);
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<?> markRead(@RequestBody Map<String, Long> payload,
+                                      @AuthenticationPrincipal CustomUserDetails userDetails) {
+        Long upToSeq = payload.get("upToSeq");
+        if (upToSeq == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "upToSeq is required"));
+        }
+        notificationInboxService.markRead(userDetails.getUser().getId(), upToSeq);
+        return ResponseEntity.ok(Map.of("message", "Notifications marked as read"));
+    }
+}
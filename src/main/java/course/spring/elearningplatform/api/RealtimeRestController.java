@@ -0,0 +1,42 @@
+package course.spring.elearningplatform.api;
+
+import course.spring.elearningplatform.entity.CustomUserDetails;
+import course.spring.elearningplatform.service.impl.RealtimeGateway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/realtime")
+@ConditionalOnProperty(name = "realtime.gateway.enabled", havingValue = "true")
+public class RealtimeRestController {
+
+    private static final int MAX_COURSES_PER_STREAM = 200;
+
+    private final RealtimeGateway realtimeGateway;
+
+    @Autowired
+    public RealtimeRestController(RealtimeGateway realtimeGateway) {
+        this.realtimeGateway = realtimeGateway;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) List<Long> courseIds,
+                             @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (courseIds == null) {
+            courseIds = List.of();
+        }
+        if (courseIds.size() > MAX_COURSES_PER_STREAM) {
+            throw new IllegalArgumentException("At most " + MAX_COURSES_PER_STREAM + " courses can be joined per stream");
+        }
+        return realtimeGateway.subscribe(userDetails.getUser().getId(), userDetails.getUser().isAdmin(), courseIds);
+    }
+}
@@ -1,13 +1,15 @@
 package course.spring.elearningplatform.api;
 
+import course.spring.elearningplatform.dto.EnrollmentCheck;
 import course.spring.elearningplatform.dto.ImageDto;
-import course.spring.elearningplatform.entity.Course;
+import course.spring.elearningplatform.entity.CustomUserDetails;
 import course.spring.elearningplatform.entity.Role;
 import course.spring.elearningplatform.entity.User;
-import course.spring.elearningplatform.repository.UserRepository;
 import course.spring.elearningplatform.service.ActivityLogService;
+import course.spring.elearningplatform.service.EnrollmentService;
 import course.spring.elearningplatform.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,15 +25,18 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/users")
 public class UserRestController {
 
+    private static final int MAX_ENROLLMENT_CHECKS = 1000;
+
     private final UserService userService;
     private final ActivityLogService activityLogService;
-    private final UserRepository userRepository;
+    private final EnrollmentService enrollmentService;
 
     @Autowired
-    public UserRestController(UserService userService, ActivityLogService activityLogService, UserRepository userRepository) {
+    public UserRestController(UserService userService, ActivityLogService activityLogService,
+                              EnrollmentService enrollmentService) {
         this.userService = userService;
         this.activityLogService = activityLogService;
-        this.userRepository = userRepository;
+        this.enrollmentService = enrollmentService;
     }
 
     @GetMapping("/profile")
@@ -131,20 +136,22 @@ public class UserRestController {
     }
 
     @GetMapping("/{userId}/enrolled-courses")
-    public ResponseEntity<List<Long>> getEnrolledCourses(@PathVariable Long userId) {
-        if (!userRepository.existsById(userId)) {
-            return ResponseEntity.notFound().build();
-        }
-        List<Course> startedCourses = userRepository.findStartedCoursesByUserId(userId);
+    public ResponseEntity<long[]> getEnrolledCourses(@PathVariable Long userId) {
+        return ResponseEntity.ok(enrollmentService.getEnrolledCourseIds(userId));
+    }
 
-        if (startedCourses == null || startedCourses.isEmpty()) {
-            return ResponseEntity.ok(List.of());
+    @PostMapping("/enrollments/validate")
+    public ResponseEntity<?> validateEnrollments(@RequestBody List<EnrollmentCheck> checks,
+                                                 @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (checks.size() > MAX_ENROLLMENT_CHECKS) {
+            throw new IllegalArgumentException("At most " + MAX_ENROLLMENT_CHECKS + " enrollments can be validated per request");
         }
-
-        List<Long> courseIds = startedCourses.stream()
-                .map(Course::getId)
-                .toList();
-
-        return ResponseEntity.ok(courseIds);
+        User user = userDetails.getUser();
+        boolean othersChecked = checks.stream().anyMatch(check -> !user.getId().equals(check.getUserId()));
+        if (othersChecked && !user.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Only admins can check other users' enrollments"));
+        }
+        return ResponseEntity.ok(enrollmentService.validate(checks));
     }
 }
\ No newline at end of file
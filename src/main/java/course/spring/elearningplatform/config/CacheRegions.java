@@ -0,0 +1,19 @@
+package course.spring.elearningplatform.config;
+
+/**
+ * Second-level cache regions. Each one is sized and given a TTL in {@code ehcache.xml}; a region
+ * used here but missing there fails startup.
+ */
+public final class CacheRegions {
+
+    public static final String FAQ = "reference.faq";
+    public static final String NEWS = "reference.news";
+    public static final String LESSON = "reference.lesson";
+    public static final String QUESTION = "reference.question";
+    public static final String COURSE = "reference.course";
+    public static final String COURSE_CATEGORIES = "reference.course.categories";
+    public static final String USER_ROLES = "reference.user.roles";
+
+    private CacheRegions() {
+    }
+}
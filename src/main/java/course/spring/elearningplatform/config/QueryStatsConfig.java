@@ -0,0 +1,56 @@
+package course.spring.elearningplatform.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Wiring for per-request query statistics. The data source is instrumented last, outside any
+ * read-replica routing, so statements against every database are counted.
+ */
+@Configuration
+public class QueryStatsConfig {
+
+    @Bean
+    public static BeanPostProcessor queryStatsDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryStatsDataSource)) {
+                    return new QueryStatsDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Replaces Boot's JSON converter with one that also times the body write.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                RequestQueryStats stats = RequestQueryStats.current();
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    if (stats != null) {
+                        stats.onSerialization(System.nanoTime() - start);
+                    }
+                }
+            }
+        };
+    }
+}
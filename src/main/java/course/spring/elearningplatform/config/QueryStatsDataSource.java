@@ -0,0 +1,98 @@
+package course.spring.elearningplatform.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts statements, execution time and rows read for the request bound to the current thread.
+ * Connections taken outside a request are handed out unwrapped, so background jobs pay nothing.
+ */
+public class QueryStatsDataSource extends DelegatingDataSource {
+
+    public QueryStatsDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    private static Connection instrument(Connection connection) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) {
+            return connection;
+        }
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return instrument(method.getReturnType(), statement, sql, stats);
+            }
+            return result;
+        });
+    }
+
+    private static Object instrument(Class<?> statementType, Statement statement, String preparedSql,
+                                     RequestQueryStats stats) {
+        return proxy(statementType, statement, (method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return method.getName().equals("getResultSet") ? countRows((ResultSet) result, stats) : result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            long start = System.nanoTime();
+            try {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet ? countRows(resultSet, stats) : result;
+            } finally {
+                stats.onStatement(sql, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static ResultSet countRows(ResultSet resultSet, RequestQueryStats stats) {
+        if (resultSet == null) {
+            return null;
+        }
+        return proxy(ResultSet.class, resultSet, (method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                stats.onRows(1);
+            }
+            return result;
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
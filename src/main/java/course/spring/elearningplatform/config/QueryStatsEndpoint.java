@@ -0,0 +1,33 @@
+package course.spring.elearningplatform.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/querystats}: request mappings ranked by total database time since startup,
+ * plus the most recent slow requests with their top SQL fingerprints.
+ */
+@Component
+@Endpoint(id = "querystats")
+public class QueryStatsEndpoint {
+
+    private final QueryStatsRegistry registry;
+
+    @Autowired
+    public QueryStatsEndpoint(QueryStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryStats() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("endpoints", registry.rankByDatabaseCost());
+        response.put("slowRequests", registry.slowRequests());
+        return response;
+    }
+}
@@ -0,0 +1,40 @@
+package course.spring.elearningplatform.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts entity loads by type for the current request, second-level cache hits included, so an
+ * association that quietly went eager shows up as a jump in loads of that type.
+ */
+@Component
+public class QueryStatsEntityLoadListener implements PostLoadEventListener {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    @Autowired
+    public QueryStatsEntityLoadListener(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @PostConstruct
+    public void register() {
+        sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.onEntityLoad(event.getPersister().getMappedClass().getSimpleName());
+        }
+    }
+}
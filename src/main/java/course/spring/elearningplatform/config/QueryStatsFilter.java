@@ -0,0 +1,62 @@
+package course.spring.elearningplatform.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Binds a {@link RequestQueryStats} to each request and records it under the matched request
+ * mapping once the response is complete. Async requests keep theirs across dispatches.
+ */
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final String STATS_ATTRIBUTE = QueryStatsFilter.class.getName() + ".stats";
+
+    private final QueryStatsRegistry registry;
+
+    @Autowired
+    public QueryStatsFilter(QueryStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = (RequestQueryStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = new RequestQueryStats();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+        RequestQueryStats.bind(stats);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.unbind();
+            if (!isAsyncStarted(request)) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    registry.record(request.getMethod() + " " + pattern, stats, isEventStream(response));
+                }
+            }
+        }
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+}
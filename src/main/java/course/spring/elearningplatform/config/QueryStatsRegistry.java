@@ -0,0 +1,206 @@
+package course.spring.elearningplatform.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Turns finished {@link RequestQueryStats} into per-endpoint Micrometer histograms, running totals
+ * for the {@code querystats} actuator endpoint, and samples of requests slower than the threshold.
+ */
+@Component
+public class QueryStatsRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatsRegistry.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST =
+            Pattern.compile("\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int FINGERPRINTS_PER_SAMPLE = 10;
+
+    public record EndpointCost(String endpoint, long requests, long statements, long rows, double jdbcMillis,
+                               double statementsPerRequest, long maxStatements) {
+    }
+
+    public record SqlFingerprint(String sql, int executions) {
+    }
+
+    public record SlowRequest(Instant at, String endpoint, double elapsedMillis, int statements, long rows,
+                              double jdbcMillis, double serializationMillis, Map<String, Integer> entityLoads,
+                              List<SqlFingerprint> topStatements) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestNanos;
+    private final int maxSlowSamples;
+    private final Map<String, EndpointMeters> endpoints = new ConcurrentHashMap<>();
+    private final Deque<SlowRequest> slowRequests = new ArrayDeque<>();
+
+    @Autowired
+    public QueryStatsRegistry(MeterRegistry meterRegistry,
+                              @Value("${querystats.slow-request-ms:500}") long slowRequestMillis,
+                              @Value("${querystats.slow-request-samples:50}") int maxSlowSamples) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestNanos = TimeUnit.MILLISECONDS.toNanos(slowRequestMillis);
+        this.maxSlowSamples = maxSlowSamples;
+    }
+
+    /**
+     * A {@code streaming} request (server-sent events) lasts as long as its client stays connected,
+     * so it still counts towards the per-endpoint totals but is never sampled as slow.
+     */
+    public void record(String endpoint, RequestQueryStats stats, boolean streaming) {
+        long elapsedNanos = System.nanoTime() - stats.getStartNanos();
+        EndpointMeters meters = endpoints.computeIfAbsent(endpoint, EndpointMeters::new);
+        int statements = stats.getStatements();
+        meters.record(statements, stats.getRows(), stats.getJdbcNanos(), stats.getSerializationNanos());
+        Map<String, Integer> entityLoads = stats.getEntityLoads();
+        entityLoads.forEach(meters::recordEntityLoads);
+
+        if (!streaming && elapsedNanos >= slowRequestNanos) {
+            SlowRequest sample = new SlowRequest(Instant.now(), endpoint, toMillis(elapsedNanos), statements,
+                    stats.getRows(), toMillis(stats.getJdbcNanos()), toMillis(stats.getSerializationNanos()),
+                    entityLoads, topFingerprints(stats.getStatementCounts()));
+            logger.debug("Slow request {}: {} ms, {} statements", endpoint, sample.elapsedMillis(), statements);
+            synchronized (slowRequests) {
+                if (slowRequests.size() >= maxSlowSamples) {
+                    slowRequests.removeFirst();
+                }
+                slowRequests.addLast(sample);
+            }
+        }
+    }
+
+    /**
+     * Endpoints ordered by total time spent in JDBC, most expensive first.
+     */
+    public List<EndpointCost> rankByDatabaseCost() {
+        return endpoints.values().stream()
+                .map(EndpointMeters::snapshot)
+                .sorted(Comparator.comparingDouble(EndpointCost::jdbcMillis).reversed())
+                .toList();
+    }
+
+    public List<SlowRequest> slowRequests() {
+        synchronized (slowRequests) {
+            List<SlowRequest> newestFirst = new ArrayList<>(slowRequests);
+            return newestFirst.reversed();
+        }
+    }
+
+    private static List<SqlFingerprint> topFingerprints(Map<String, Integer> statementCounts) {
+        Map<String, Integer> byFingerprint = new LinkedHashMap<>();
+        statementCounts.forEach((sql, count) -> byFingerprint.merge(fingerprint(sql), count, Integer::sum));
+        return byFingerprint.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(FINGERPRINTS_PER_SAMPLE)
+                .map(entry -> new SqlFingerprint(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Literals become {@code ?} and IN lists of any length become {@code IN (?+)}, so statements that
+     * differ only in their parameters share a fingerprint.
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("IN (?+)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private final class EndpointMeters {
+        private final String endpoint;
+        private final DistributionSummary statements;
+        private final DistributionSummary rows;
+        private final Timer jdbcTime;
+        private final Timer serializationTime;
+        private final Map<String, DistributionSummary> entityLoads = new ConcurrentHashMap<>();
+        private final LongAdder requestTotal = new LongAdder();
+        private final LongAdder statementTotal = new LongAdder();
+        private final LongAdder rowTotal = new LongAdder();
+        private final LongAdder jdbcNanosTotal = new LongAdder();
+        private volatile long maxStatements;
+
+        private EndpointMeters(String endpoint) {
+            this.endpoint = endpoint;
+            this.statements = DistributionSummary.builder("request.sql.statements")
+                    .description("SQL statements executed per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rows = DistributionSummary.builder("request.sql.rows")
+                    .description("Result set rows read per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.jdbcTime = Timer.builder("request.sql.time")
+                    .description("Time spent executing SQL per request")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.serializationTime = Timer.builder("request.serialization.time")
+                    .description("Time spent writing the JSON response body")
+                    .tag("endpoint", endpoint)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        private void record(int statementCount, long rowCount, long jdbcNanos, long serializationNanos) {
+            statements.record(statementCount);
+            rows.record(rowCount);
+            jdbcTime.record(jdbcNanos, TimeUnit.NANOSECONDS);
+            serializationTime.record(serializationNanos, TimeUnit.NANOSECONDS);
+            requestTotal.increment();
+            statementTotal.add(statementCount);
+            rowTotal.add(rowCount);
+            jdbcNanosTotal.add(jdbcNanos);
+            if (statementCount > maxStatements) {
+                synchronized (this) {
+                    maxStatements = Math.max(maxStatements, statementCount);
+                }
+            }
+        }
+
+        private void recordEntityLoads(String entityName, int count) {
+            entityLoads.computeIfAbsent(entityName, name -> DistributionSummary.builder("request.entity.loads")
+                            .description("Entities of one type loaded per request")
+                            .tag("endpoint", endpoint)
+                            .tag("entity", name)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry))
+                    .record(count);
+        }
+
+        private EndpointCost snapshot() {
+            long requests = requestTotal.sum();
+            long statementCount = statementTotal.sum();
+            return new EndpointCost(endpoint, requests, statementCount, rowTotal.sum(), toMillis(jdbcNanosTotal.sum()),
+                    requests == 0 ? 0 : (double) statementCount / requests, maxStatements);
+        }
+    }
+}
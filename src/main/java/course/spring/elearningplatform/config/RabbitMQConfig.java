@@ -1,21 +1,31 @@
 package course.spring.elearningplatform.config;
 
-import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * All domain events go to one topic exchange. Consumers declare and bind their own queues, e.g.
+ * {@code course.*.assignment.*} or {@code user.*.#}, so new subscribers need no change here.
+ */
 @Configuration
 public class RabbitMQConfig {
 
-    public static final String ASSIGNMENT_NOTIFICATION_QUEUE = "assignment-notifications";
+    public static final String PLATFORM_EVENTS_EXCHANGE = "platform.events";
+    public static final String INBOX_LISTENER_CONTAINER_FACTORY = "inboxListenerContainerFactory";
 
     @Bean
-    public Queue assignmentNotificationQueue() {
-        return new Queue(ASSIGNMENT_NOTIFICATION_QUEUE, true);
+    public TopicExchange platformEventsExchange() {
+        return new TopicExchange(PLATFORM_EVENTS_EXCHANGE, true, false);
     }
 
     @Bean
@@ -27,7 +37,29 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        // unroutable messages come back as returns instead of being acked and dropped
+        rabbitTemplate.setMandatory(true);
         return rabbitTemplate;
     }
-}
 
+    /**
+     * For the shared inbox queue only: a failing delivery is retried in-process, then rejected
+     * instead of requeued forever. Every other listener keeps Boot's defaults.
+     */
+    @Bean(INBOX_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory inboxListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${notification-inbox.listener.max-attempts:5}") int maxAttempts,
+            @Value("${notification-inbox.listener.initial-interval-ms:1000}") long initialIntervalMillis) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(maxAttempts)
+                .backOffOptions(initialIntervalMillis, 2.0, initialIntervalMillis * 10)
+                .recoverer(new RejectAndDontRequeueRecoverer())
+                .build());
+        return factory;
+    }
+}
@@ -0,0 +1,21 @@
+package course.spring.elearningplatform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    /**
+     * Where reactive endpoints run their JDBC calls. Capped at the connection pool size, so waiting
+     * requests queue here instead of holding a servlet thread while they wait for a connection.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                   @Value("${reactive.jdbc.queue-capacity:10000}") int queueCapacity) {
+        return Schedulers.newBoundedElastic(poolSize, queueCapacity, "jdbc");
+    }
+}
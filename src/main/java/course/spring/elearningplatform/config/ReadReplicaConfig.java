@@ -0,0 +1,78 @@
+package course.spring.elearningplatform.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Enabled by {@code datasource.replicas.urls}. Wraps the Boot-configured primary data source in a
+ * {@link ReadReplicaRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Value("${datasource.replicas.urls}") List<String> urls,
+                                               @Value("${datasource.replicas.username:${spring.datasource.username}}") String username,
+                                               @Value("${datasource.replicas.password:${spring.datasource.password}}") String password,
+                                               @Value("${datasource.replicas.pool-size:10}") int poolSize,
+                                               @Value("${datasource.replicas.max-lag-seconds:2}") long maxLagSeconds,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(urls, username, password, poolSize, maxLagSeconds, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replicas.read-your-writes-window-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    /**
+     * Ordered, so it runs before the unordered post-processors that decorate the data source
+     * (query statistics, the virtual-thread gate) and those see the routed data source.
+     */
+    @Bean
+    public static BeanPostProcessor readReplicaRouting(ObjectProvider<ReplicaLagMonitor> replicas,
+                                                       ObjectProvider<ReadYourWritesTracker> tracker) {
+        return new RoutingPostProcessor(replicas, tracker);
+    }
+
+    private record RoutingPostProcessor(ObjectProvider<ReplicaLagMonitor> replicas,
+                                        ObjectProvider<ReadYourWritesTracker> tracker)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            return new ReadReplicaRoutingDataSource(primary, replicas.getObject(), tracker.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    /**
+     * Open-in-view keeps one session per request; holding its connection until the request ends
+     * would pin every later transaction to whichever database the first statement picked.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
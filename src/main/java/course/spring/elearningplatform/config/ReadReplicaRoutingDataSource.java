@@ -0,0 +1,84 @@
+package course.spring.elearningplatform.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a read replica and everything else to the
+ * primary. The physical connection is only fetched when the first statement runs, by which time
+ * the transaction manager has marked it read-only. Reads still go to the primary while the current
+ * client is pinned by {@link ReadYourWritesTracker} or no replica is within the lag budget.
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+    public ReadReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor replicas, ReadYourWritesTracker tracker) {
+        super(new WriteTrackingDataSource(primary, tracker));
+        setReadOnlyDataSource(new ReplicaSelectingDataSource(primary, replicas, tracker));
+    }
+
+    private static final class WriteTrackingDataSource extends DelegatingDataSource {
+
+        private final ReadYourWritesTracker tracker;
+
+        private WriteTrackingDataSource(DataSource primary, ReadYourWritesTracker tracker) {
+            super(primary);
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            trackWrite();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            trackWrite();
+            return super.getConnection(username, password);
+        }
+
+        private void trackWrite() {
+            if (TransactionSynchronizationManager.isSynchronizationActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                tracker.onWriteTransaction();
+            }
+        }
+    }
+
+    private static final class ReplicaSelectingDataSource extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final ReplicaLagMonitor replicas;
+        private final ReadYourWritesTracker tracker;
+
+        private ReplicaSelectingDataSource(DataSource primary, ReplicaLagMonitor replicas, ReadYourWritesTracker tracker) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return select().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return select().getConnection(username, password);
+        }
+
+        private DataSource select() {
+            if (tracker.isCurrentRequestPinned()) {
+                return primary;
+            }
+            DataSource replica = replicas.pick();
+            return replica != null ? replica : primary;
+        }
+    }
+}
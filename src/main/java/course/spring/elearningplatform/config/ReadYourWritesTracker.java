@@ -0,0 +1,89 @@
+package course.spring.elearningplatform.config;
+
+import course.spring.elearningplatform.util.AfterCommit;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Pins a client's reads to the primary for a short window after it commits a write, so it sees its
+ * own change even though the replicas may not have it yet. The pin travels in a cookie holding the
+ * epoch millis it lasts until, so whichever node serves the next request honours it; no sticky
+ * sessions needed. A client that forges the cookie only sends its own reads to the primary.
+ */
+public class ReadYourWritesTracker {
+
+    static final String COOKIE_NAME = "rw-pin";
+    private static final String PINNED_UNTIL_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".pinnedUntil";
+
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Called when a read-write transaction touches the primary; pins the current client once it commits.
+     */
+    public void onWriteTransaction() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes != null) {
+            AfterCommit.run(() -> pin(attributes));
+        }
+    }
+
+    public boolean isCurrentRequestPinned() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        // a write earlier in this request pins it before the client ever sends the cookie back
+        long until = request.getAttribute(PINNED_UNTIL_ATTRIBUTE) instanceof Long pinned ? pinned : cookieValue(request);
+        return until > System.currentTimeMillis();
+    }
+
+    private void pin(ServletRequestAttributes attributes) {
+        long until = System.currentTimeMillis() + windowMillis;
+        attributes.getRequest().setAttribute(PINNED_UNTIL_ATTRIBUTE, until);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .maxAge(Duration.ofSeconds(Math.ceilDiv(windowMillis, 1000)))
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+    }
+
+    private static long cookieValue(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+}
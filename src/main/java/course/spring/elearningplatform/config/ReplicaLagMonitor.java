@@ -0,0 +1,123 @@
+package course.spring.elearningplatform.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the replica connection pools and keeps track of how far behind each replica is. A replica
+ * that lags more than {@code maxLagSeconds}, has replication stopped or cannot be reached is left
+ * out of {@link #pick()} until a later probe finds it current again.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String REPLICA_STATUS = "SHOW REPLICA STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+    private static final long UNKNOWN_LAG = -1;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaLagMonitor(List<String> urls, String username, String password, int poolSize,
+                             long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLagSeconds;
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(urls.get(i).trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setReadOnly(true);
+            // let the app start while a replica is down; the probe keeps it out of rotation
+            dataSource.setInitializationFailTimeout(-1);
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource);
+            replicas.add(replica);
+
+            Gauge.builder("datasource.replica.lag.seconds", replica, r -> r.lagSeconds)
+                    .description("Replication lag reported by the replica; -1 when unknown")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * A replica that is currently within the lag budget, round robin, or {@code null} when there is none.
+     */
+    public DataSource pick() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.dataSource;
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.probe-interval-ms:1000}")
+    public void probe() {
+        for (Replica replica : replicas) {
+            long lag = measureLag(replica);
+            boolean healthy = lag != UNKNOWN_LAG && lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                logger.warn("Replica {} is {} (lag {}s)", replica.name,
+                        healthy ? "back in rotation" : "out of rotation", lag);
+            }
+            replica.lagSeconds = lag;
+            replica.healthy = healthy;
+        }
+    }
+
+    private long measureLag(Replica replica) {
+        try {
+            List<Map<String, Object>> status = replica.jdbcTemplate.queryForList(REPLICA_STATUS);
+            if (status.isEmpty() || status.get(0).get(LAG_COLUMN) == null) {
+                // not configured as a replica, or the SQL thread has stopped
+                return UNKNOWN_LAG;
+            }
+            return ((Number) status.get(0).get(LAG_COLUMN)).longValue();
+        } catch (RuntimeException e) {
+            logger.debug("Lag probe failed for replica {}", replica.name, e);
+            return UNKNOWN_LAG;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile long lagSeconds = UNKNOWN_LAG;
+        private volatile boolean healthy;
+
+        private Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout(2);
+        }
+    }
+}
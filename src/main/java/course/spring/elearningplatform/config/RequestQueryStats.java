@@ -0,0 +1,86 @@
+package course.spring.elearningplatform.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What the current request has cost the database so far. Bound to the request thread by
+ * {@link QueryStatsFilter}; statements run on other threads (e.g. the reactive JDBC scheduler)
+ * are not attributed to any request.
+ */
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+    private static final int MAX_DISTINCT_STATEMENTS = 100;
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private final Map<String, Integer> entityLoads = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long jdbcNanos;
+    private long serializationNanos;
+
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestQueryStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // a request is handled by one thread at a time, so plain fields are enough; synchronized only
+    // guards against the rare handler that hands its connection to another thread
+
+    synchronized void onStatement(String sql, long elapsedNanos) {
+        statements++;
+        jdbcNanos += elapsedNanos;
+        if (sql != null && (statementCounts.size() < MAX_DISTINCT_STATEMENTS || statementCounts.containsKey(sql))) {
+            statementCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    synchronized void onRows(long count) {
+        rows += count;
+    }
+
+    synchronized void onEntityLoad(String entityName) {
+        entityLoads.merge(entityName, 1, Integer::sum);
+    }
+
+    synchronized void onSerialization(long elapsedNanos) {
+        serializationNanos += elapsedNanos;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    synchronized int getStatements() {
+        return statements;
+    }
+
+    synchronized long getRows() {
+        return rows;
+    }
+
+    synchronized long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    synchronized long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    synchronized Map<String, Integer> getStatementCounts() {
+        return new HashMap<>(statementCounts);
+    }
+
+    synchronized Map<String, Integer> getEntityLoads() {
+        return new HashMap<>(entityLoads);
+    }
+}
@@ -0,0 +1,57 @@
+package course.spring.elearningplatform.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes hit/miss counts and the hit ratio of every second-level cache region, plus the query
+ * cache, so TTLs and heap sizes in {@code ehcache.xml} can be tuned from real traffic.
+ */
+@Configuration
+public class SecondLevelCacheMetrics {
+
+    private final Statistics statistics;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void register() {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            FunctionCounter.builder("hibernate.cache.region.hits", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region)
+                    .register(meterRegistry);
+            FunctionCounter.builder("hibernate.cache.region.misses", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region)
+                    .register(meterRegistry);
+            Gauge.builder("hibernate.cache.region.hit.ratio", regionStatistics,
+                            s -> ratio(s.getHitCount(), s.getMissCount()))
+                    .tag("region", region)
+                    .register(meterRegistry);
+            Gauge.builder("hibernate.cache.region.entries", regionStatistics, CacheRegionStatistics::getElementCountInMemory)
+                    .tag("region", region)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("hibernate.cache.query.hit.ratio", statistics,
+                        s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                .register(meterRegistry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,106 @@
+package course.spring.elearningplatform.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listens to the in-process JFR stream for {@code jdk.VirtualThreadPinned}: a virtual thread that
+ * blocked while it could not unmount (inside {@code synchronized} or a native frame), so it held
+ * its carrier thread for the whole wait. Each pinning site is timed separately and logged once
+ * with its stack trace.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final int MAX_TAGGED_SITES = 100;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Counter submitFailedCounter;
+    private final Set<String> seenSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream recordingStream;
+
+    @Autowired
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.submitFailedCounter = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads that could not be scheduled on a carrier")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.enable(SUBMIT_FAILED_EVENT);
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailedCounter.increment());
+        recordingStream.startAsync();
+        logger.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = pinningSite(event.getStackTrace());
+        boolean firstTime = !seenSites.contains(site) && seenSites.size() < MAX_TAGGED_SITES && seenSites.add(site);
+        String tag = seenSites.contains(site) ? site : "other";
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .tag("site", tag)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (firstTime) {
+            logger.warn("Virtual thread pinned for {} ms at {}\n{}",
+                    event.getDuration().toMillis(), site, event.getStackTrace());
+        }
+    }
+
+    /**
+     * The innermost frame outside the JDK, which is the code that would have to change.
+     */
+    private static String pinningSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package course.spring.elearningplatform.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Extras for {@code spring.threads.virtual.enabled=true}. Spring Boot itself then runs Tomcat
+ * requests, the {@code @Async} executor and {@code @Scheduled} jobs on virtual threads; this adds
+ * the database gate those unbounded threads need.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyGate(Environment environment,
+                                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                ConcurrencyLimitedDataSource gated = new ConcurrencyLimitedDataSource(dataSource,
+                        environment.getProperty("datasource.gate.permits", Integer.class, poolSize),
+                        environment.getProperty("datasource.gate.max-waiting", Integer.class, 2000),
+                        environment.getProperty("datasource.gate.acquire-timeout-ms", Long.class, 5000L));
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("datasource.gate.available", gated, ConcurrencyLimitedDataSource::getAvailablePermits)
+                            .register(registry);
+                    Gauge.builder("datasource.gate.waiting", gated, ConcurrencyLimitedDataSource::getWaiting)
+                            .description("Callers queued for a database permit")
+                            .register(registry);
+                });
+                return gated;
+            }
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package course.spring.elearningplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentCheck {
+    private Long userId;
+    private Long courseId;
+    private boolean enrolled;
+}
@@ -0,0 +1,16 @@
+package course.spring.elearningplatform.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnnouncementPostedEvent {
+    private Long announcementId;
+    private String title;
+    private LocalDateTime expiresAt;
+}
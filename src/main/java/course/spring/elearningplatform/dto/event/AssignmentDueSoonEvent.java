@@ -0,0 +1,17 @@
+package course.spring.elearningplatform.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AssignmentDueSoonEvent {
+    private Long assignmentId;
+    private Long courseId;
+    private String assignmentTitle;
+    private LocalDateTime dueDate;
+}
@@ -0,0 +1,13 @@
+package course.spring.elearningplatform.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseCompletedEvent {
+    private Long courseId;
+    private String courseName;
+}
@@ -0,0 +1,21 @@
+package course.spring.elearningplatform.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Wire format of every platform event: {@code {"type", "v", "id", "ts", "data"}}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventEnvelope {
+    private String type;
+    private int v;
+    private String id;
+    private Instant ts;
+    private Object data;
+}
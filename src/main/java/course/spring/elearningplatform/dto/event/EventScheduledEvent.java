@@ -0,0 +1,18 @@
+package course.spring.elearningplatform.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventScheduledEvent {
+    private Long eventId;
+    private Long courseId;
+    private String title;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,51 @@
+package course.spring.elearningplatform.dto.event;
+
+/**
+ * Events published on {@code platform.events}. The routing key is {@code <scope>.<id>.<name>}, e.g.
+ * {@code course.42.assignment.created}; platform-wide events use {@code platform.<name>}. Bump
+ * {@code version} whenever the payload changes incompatibly.
+ */
+public enum PlatformEventType {
+    ASSIGNMENT_CREATED("assignment.created", 1, Scope.COURSE),
+    ASSIGNMENT_DUE_SOON("assignment.due-soon", 1, Scope.COURSE),
+    ANNOUNCEMENT_POSTED("announcement.posted", 1, Scope.PLATFORM),
+    EVENT_SCHEDULED("event.scheduled", 1, Scope.COURSE),
+    QUIZ_GRADED("quiz.graded", 1, Scope.USER),
+    COURSE_COMPLETED("course.completed", 1, Scope.USER),
+    TICKET_RESOLVED("ticket.resolved", 1, Scope.USER);
+
+    public enum Scope { COURSE, USER, PLATFORM }
+
+    private final String eventName;
+    private final int version;
+    private final Scope scope;
+
+    PlatformEventType(String eventName, int version, Scope scope) {
+        this.eventName = eventName;
+        this.version = version;
+        this.scope = scope;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Course and user scoped events fall back to {@code platform.<name>} when there is no scope id,
+     * e.g. an event that is not tied to a course.
+     */
+    public String routingKey(Long scopeId) {
+        if (scope == Scope.PLATFORM || scopeId == null) {
+            return "platform." + eventName;
+        }
+        return scope.name().toLowerCase() + "." + scopeId + "." + eventName;
+    }
+}
@@ -0,0 +1,16 @@
+package course.spring.elearningplatform.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuizGradedEvent {
+    private Long quizId;
+    private Long courseId;
+    private int score;
+    private int totalQuestions;
+    private int percentage;
+}
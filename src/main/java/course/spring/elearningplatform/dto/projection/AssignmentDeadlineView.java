@@ -0,0 +1,13 @@
+package course.spring.elearningplatform.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of an assignment to schedule its reminders.
+ */
+public interface AssignmentDeadlineView {
+    Long getId();
+    Long getCourseId();
+    String getTitle();
+    LocalDateTime getDueDate();
+}
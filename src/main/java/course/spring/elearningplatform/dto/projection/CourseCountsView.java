@@ -0,0 +1,11 @@
+package course.spring.elearningplatform.dto.projection;
+
+/**
+ * Collection sizes shown on course cards, computed in SQL instead of by initializing the collections.
+ */
+public interface CourseCountsView {
+    Long getCourseId();
+    Integer getParticipantCount();
+    Integer getCompletedCount();
+    Integer getLessonCount();
+}
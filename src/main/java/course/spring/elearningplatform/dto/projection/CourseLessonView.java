@@ -0,0 +1,10 @@
+package course.spring.elearningplatform.dto.projection;
+
+/**
+ * A lesson's id and title together with the course listing it, for course cards.
+ */
+public interface CourseLessonView {
+    Long getCourseId();
+    Long getLessonId();
+    String getTitle();
+}
@@ -0,0 +1,11 @@
+package course.spring.elearningplatform.dto.projection;
+
+/**
+ * Column-only view of a user for member lists; never initializes the user's associations.
+ */
+public interface UserSummaryView {
+    Long getId();
+    String getUsername();
+    String getFirstName();
+    String getLastName();
+}
@@ -0,0 +1,39 @@
+package course.spring.elearningplatform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long approximateTotal;
+
+    /**
+     * Builds a page from a result fetched with one extra look-ahead row ({@code size + 1}).
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<T> items = hasNext ? new ArrayList<>(fetched.subList(0, size)) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasNext, null);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext, approximateTotal);
+    }
+}
@@ -0,0 +1,19 @@
+package course.spring.elearningplatform.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class InboxNotification {
+    private Long seq;
+    private String type;
+    @JsonRawValue
+    private String data;
+    private LocalDateTime createdAt;
+}
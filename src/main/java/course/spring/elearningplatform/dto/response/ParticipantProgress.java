@@ -0,0 +1,17 @@
+package course.spring.elearningplatform.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ParticipantProgress {
+    private Long userId;
+    private String username;
+    private String fullName;
+    private long completedLessons;
+    private long totalLessons;
+    private double progressWidth;
+}
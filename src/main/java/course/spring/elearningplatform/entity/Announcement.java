@@ -4,6 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -13,6 +15,7 @@ import java.time.LocalDateTime;
 
 
 @Entity
+@Table(indexes = @Index(name = "idx_announcement_expires_at", columnList = "expiresAt"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
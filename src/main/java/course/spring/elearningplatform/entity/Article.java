@@ -2,11 +2,14 @@ package course.spring.elearningplatform.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -15,6 +18,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_article_group_created", columnList = "group_id, createdAt DESC, id DESC"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
@@ -25,7 +29,7 @@ public class Article {
     @EqualsAndHashCode.Include
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id")
     @JsonIgnoreProperties({"groups", "startedCourses", "completedCourses", "completedLessons", "solutions", "courses", "tickets", "certificates", "password"})
     private User author;
@@ -34,7 +38,7 @@ public class Article {
 
     private String content;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "group_id")
     @JsonIgnoreProperties({"articles", "members"})
     private Group group;
@@ -11,6 +11,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_assignment_due_date", columnList = "dueDate"))
 public class Assignment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,7 +24,7 @@ public class Assignment {
 
     private LocalDateTime dueDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     private Course course;
 
@@ -1,8 +1,12 @@
 package course.spring.elearningplatform.entity;
 
+import course.spring.elearningplatform.config.CacheRegions;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -13,12 +17,32 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
+@NamedEntityGraph(name = Course.CATALOG_GRAPH, attributeNodes = {
+        @NamedAttributeNode("categories"),
+        @NamedAttributeNode("image"),
+        @NamedAttributeNode("createdBy")
+})
+@NamedEntityGraph(name = Course.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("categories"),
+        @NamedAttributeNode("image"),
+        @NamedAttributeNode("createdBy"),
+        @NamedAttributeNode("quiz"),
+        @NamedAttributeNode("analytics")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COURSE)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Course {
 
+    /** What a course card shows. */
+    public static final String CATALOG_GRAPH = "Course.catalog";
+    /** The course card plus the quiz and analytics of the course page. */
+    public static final String DETAIL_GRAPH = "Course.detail";
+
     @Id
     @EqualsAndHashCode.Include
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,15 +52,16 @@ public class Course {
     private String name;
     private String description;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COURSE_CATEGORIES)
     private List<String> categories;
 
     @JsonIgnore
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private User createdBy;
     private Date createdOn;
 
-    @OneToOne(fetch = FetchType.EAGER, cascade = CascadeType.PERSIST)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @JoinColumn(name = "image_id")
     private Image image;
 
@@ -59,7 +84,7 @@ public class Course {
     @JsonIgnore
     private List<Question> questions;
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private Quiz quiz;
 
@@ -73,7 +98,7 @@ public class Course {
     @JsonIgnore
     private List<Assignment> assignments = new ArrayList<>();
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     private CourseAnalytics analytics;
 
     public void addTicket(Ticket ticket) {
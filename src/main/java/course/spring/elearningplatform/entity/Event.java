@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@NamedEntityGraph(name = Event.WITH_IMAGE_GRAPH, attributeNodes = @NamedAttributeNode("image"))
 public class Event {
+    public static final String WITH_IMAGE_GRAPH = "Event.withImage";
+
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,7 +23,7 @@ public class Event {
     private LocalDateTime startTime;
     private LocalDateTime endTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     @JsonIgnore
     private Course course;
@@ -28,7 +31,7 @@ public class Event {
     @JsonIgnore
     private String instructor;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "image_id")
     private Image image;
 
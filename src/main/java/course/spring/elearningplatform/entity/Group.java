@@ -1,5 +1,6 @@
 package course.spring.elearningplatform.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -15,29 +16,42 @@ import java.util.Set;
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
 @Table(name = "learning_groups")
+@NamedEntityGraph(name = Group.WITH_IMAGE_GRAPH, attributeNodes = @NamedAttributeNode("image"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Group {
+  public static final String WITH_IMAGE_GRAPH = "Group.withImage";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
   @EqualsAndHashCode.Include
   private String name;
 
-  @OneToOne(fetch = FetchType.EAGER)
+  @OneToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "image_id")
   private Image image;
 
   @Transient
   private String imageBase64;
 
+  @Transient
+  private Long memberCount;
+
   private String description;
 
-  @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
-  @JsonIgnoreProperties({"groups", "startedCourses", "completedCourses", "completedLessons", "solutions", "courses", "tickets", "certificates", "password"})
+  @JsonIgnore
+  @ManyToMany(fetch = FetchType.LAZY)
+  @JoinTable(
+          name = "learning_groups_members",
+          joinColumns = @JoinColumn(name = "group_id"),
+          inverseJoinColumns = @JoinColumn(name = "members_id")
+  )
   private Set<User> members;
 
-  @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+  @JsonIgnore
+  @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
   private List<Article> articles;
 
   public void addMember(User user) {
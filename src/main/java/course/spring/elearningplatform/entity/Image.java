@@ -1,5 +1,6 @@
 package course.spring.elearningplatform.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -18,6 +19,7 @@ import java.util.Base64;
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
 @Table(name = "images")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 public class Image {
   @Id
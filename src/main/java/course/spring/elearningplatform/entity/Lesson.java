@@ -1,7 +1,10 @@
 package course.spring.elearningplatform.entity;
 
+import course.spring.elearningplatform.config.CacheRegions;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -10,6 +13,10 @@ import lombok.NoArgsConstructor;
 import java.util.Date;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_lesson_course_ordinal",
+        columnNames = {"related_course_id", "lesson_ordinal"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.LESSON)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
@@ -28,7 +35,10 @@ public class Lesson {
     @JsonIgnore
     private Date createdOn;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @Column(name = "lesson_ordinal")
+    private Integer ordinal;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
     private Course relatedCourse;
 }
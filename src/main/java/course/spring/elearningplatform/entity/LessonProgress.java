@@ -0,0 +1,44 @@
+package course.spring.elearningplatform.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Completed lessons of one user in one course, as a bitset indexed by {@link Lesson#getOrdinal()}.
+ */
+@Entity
+@IdClass(LessonProgressId.class)
+@Table(name = "lesson_progress", indexes = @Index(name = "idx_lesson_progress_course", columnList = "course_id"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class LessonProgress {
+    @Id
+    @Column(name = "user_id")
+    @EqualsAndHashCode.Include
+    private Long userId;
+
+    @Id
+    @Column(name = "course_id")
+    @EqualsAndHashCode.Include
+    private Long courseId;
+
+    @Column(name = "completed_bits", columnDefinition = "VARBINARY(1024)", nullable = false)
+    private byte[] completedBits;
+
+    @Column(nullable = false)
+    private int completedCount;
+
+    private LocalDateTime updatedAt;
+}
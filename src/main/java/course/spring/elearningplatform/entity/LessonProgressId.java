@@ -0,0 +1,15 @@
+package course.spring.elearningplatform.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LessonProgressId implements Serializable {
+    private Long userId;
+    private Long courseId;
+}
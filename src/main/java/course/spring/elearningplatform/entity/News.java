@@ -1,15 +1,21 @@
 package course.spring.elearningplatform.entity;
 
+import course.spring.elearningplatform.config.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.NEWS)
 public class News {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
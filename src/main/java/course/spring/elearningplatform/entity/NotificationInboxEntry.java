@@ -0,0 +1,54 @@
+package course.spring.elearningplatform.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One delivered event in a user's inbox. The primary key clusters a user's rows in {@code seq}
+ * order, so replaying everything after a cursor is a single range scan. {@code seq} is global and
+ * increasing, which makes it usable as the user's cursor as is.
+ */
+@Entity
+@IdClass(NotificationInboxEntryId.class)
+@Table(name = "notification_inbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notification_inbox_event", columnNames = {"user_id", "event_id"}),
+        indexes = @Index(name = "idx_notification_inbox_created", columnList = "created_at"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class NotificationInboxEntry {
+    @Id
+    @Column(name = "user_id")
+    @EqualsAndHashCode.Include
+    private Long userId;
+
+    @Id
+    @Column(name = "seq")
+    @EqualsAndHashCode.Include
+    private Long seq;
+
+    @Column(name = "event_id", columnDefinition = "BINARY(16)", nullable = false)
+    private byte[] eventId;
+
+    @Column(name = "event_type", length = 64, nullable = false)
+    private String eventType;
+
+    // the event's data object only; the envelope is not repeated per recipient
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
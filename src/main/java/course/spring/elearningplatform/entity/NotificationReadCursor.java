@@ -0,0 +1,26 @@
+package course.spring.elearningplatform.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Highest inbox {@code seq} the user has read; everything above it is unread.
+ */
+@Entity
+@Table(name = "notification_read_cursor")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationReadCursor {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "last_read_seq", nullable = false)
+    private long lastReadSeq;
+}
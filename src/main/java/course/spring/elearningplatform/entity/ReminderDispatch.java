@@ -0,0 +1,42 @@
+package course.spring.elearningplatform.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claim on one reminder of one assignment. Every node holds every deadline in its wheel; the node
+ * whose insert of this row succeeds is the one that sends the reminder.
+ */
+@Entity
+@IdClass(ReminderDispatchId.class)
+@Table(name = "reminder_dispatch")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(force = true)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class ReminderDispatch {
+    @Id
+    @Column(name = "assignment_id")
+    @EqualsAndHashCode.Include
+    private Long assignmentId;
+
+    @Id
+    @Column(name = "reminder_kind", length = 16)
+    @EqualsAndHashCode.Include
+    private String reminderKind;
+
+    @Column(name = "claimed_by", nullable = false)
+    private String claimedBy;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+}
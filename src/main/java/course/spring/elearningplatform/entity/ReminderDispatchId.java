@@ -0,0 +1,15 @@
+package course.spring.elearningplatform.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReminderDispatchId implements Serializable {
+    private Long assignmentId;
+    private String reminderKind;
+}
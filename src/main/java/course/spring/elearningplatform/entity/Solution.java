@@ -9,7 +9,8 @@ import lombok.*;
 @AllArgsConstructor
 public class Solution {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solution_seq")
+    @SequenceGenerator(name = "solution_seq", sequenceName = "solution_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -7,6 +7,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -17,22 +19,28 @@ import lombok.NonNull;
 import java.util.Date;
 
 @Entity
+@NamedEntityGraph(name = Ticket.PARTICIPANTS_GRAPH, attributeNodes = {
+    @NamedAttributeNode("issuer"),
+    @NamedAttributeNode("forCourse")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Ticket {
+  public static final String PARTICIPANTS_GRAPH = "Ticket.participants";
+
   @Id
   @EqualsAndHashCode.Include
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
   @NonNull
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   private User issuer;
 
   @NonNull
-  @ManyToOne(fetch = FetchType.EAGER)
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "course_id")
   private Course forCourse;
 
@@ -1,9 +1,13 @@
 package course.spring.elearningplatform.entity;
 
+import course.spring.elearningplatform.config.CacheRegions;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.util.HashSet;
@@ -12,8 +16,21 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_user_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_user_first_name", columnList = "firstName"),
+        @Index(name = "idx_user_last_name", columnList = "lastName")
+})
+@NamedEntityGraph(name = User.LOGIN_GRAPH, attributeNodes = @NamedAttributeNode("roles"))
+@NamedEntityGraph(name = User.PROFILE_GRAPH, attributeNodes = {
+        @NamedAttributeNode("roles"),
+        @NamedAttributeNode("profilePicture")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
-@ToString(exclude = {"solutions", "startedCourses", "completedCourses", "completedLessons", "groups", "profilePicture", "courses", "tickets", "certificates"})
+@ToString(exclude = {"solutions", "startedCourses", "completedCourses", "groups", "profilePicture", "courses", "tickets", "certificates"})
 @AllArgsConstructor
 @NoArgsConstructor(force = true)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
@@ -24,6 +41,10 @@ public class User {
     public static final String ROLE_ADMIN = "ADMIN";
     public static final String ROLE_UNREGISTERED = "UNREGISTERED";
 
+    /** Roles only: what authentication needs, since the principal outlives its session. */
+    public static final String LOGIN_GRAPH = "User.login";
+    public static final String PROFILE_GRAPH = "User.profile";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,7 +59,7 @@ public class User {
     @OneToMany(mappedBy = "user")
     private List<Solution> solutions;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "profile_picture_id")
     private Image profilePicture;
 
@@ -47,7 +68,8 @@ public class User {
 
     @NonNull
     @NotEmpty
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER_ROLES)
     private Set<String> roles;
 
 
@@ -56,7 +78,7 @@ public class User {
     }
 
     @JsonIgnore
-    @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.DETACH, CascadeType.MERGE, CascadeType.PERSIST, CascadeType.REFRESH})
+    @ManyToMany(mappedBy = "members", fetch = FetchType.LAZY)
     private Set<Group> groups;
 
     @JsonIgnore
@@ -84,14 +106,6 @@ public class User {
     @JsonIgnore
     private List<Ticket> tickets;
 
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(
-            name = "user_completed_lessons",
-            joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "lesson_id")
-    )
-    private Set<Lesson> completedLessons = new HashSet<>();
-
     @OneToMany(mappedBy = "issuedTo", cascade = CascadeType.ALL)
     @JsonIgnore
     private List<Certificate> certificates;
@@ -0,0 +1,53 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.ActivityLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Plain JDBC access used by the write-behind activity log writer. Ids come from the same
+ * {@code activity_log_seq} table Hibernate uses for {@link ActivityLog}, reserved one block
+ * per batch so the inserts can be sent as a single rewritten multi-row statement.
+ */
+@Repository
+public class ActivityLogBatchRepository {
+
+    private static final String INSERT_LOG =
+            "INSERT INTO activity_log (id, action, username, timestamp) VALUES (?, ?, ?, ?)";
+    private static final String RESERVE_IDS =
+            "UPDATE activity_log_seq SET next_val = LAST_INSERT_ID(next_val + ?)";
+    private static final String LAST_RESERVED = "SELECT LAST_INSERT_ID()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ActivityLogBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void insertBatch(List<ActivityLog> logs) {
+        long firstId = reserveIds(logs.size());
+        for (int i = 0; i < logs.size(); i++) {
+            logs.get(i).setId(firstId + i);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LOG, logs, logs.size(), (ps, log) -> {
+            ps.setLong(1, log.getId());
+            ps.setString(2, log.getAction());
+            ps.setString(3, log.getUsername());
+            ps.setTimestamp(4, Timestamp.valueOf(log.getTimestamp()));
+        });
+    }
+
+    private long reserveIds(int count) {
+        jdbcTemplate.update(RESERVE_IDS, count);
+        Long upperBound = jdbcTemplate.queryForObject(LAST_RESERVED, Long.class);
+        return upperBound - count;
+    }
+}
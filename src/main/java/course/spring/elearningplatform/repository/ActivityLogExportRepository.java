@@ -0,0 +1,65 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.ActivityLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtered activity log export, read one keyset page at a time (newest first) so no query or
+ * connection stays open while a slow client downloads the file.
+ */
+@Repository
+public class ActivityLogExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ActivityLogExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns up to {@code limit} matching rows older than {@code after}, or the newest ones when it is {@code null}.
+     */
+    public List<ActivityLog> findPage(String username, String action, LocalDateTime from, LocalDateTime to,
+                                      ActivityLog after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, action, username, timestamp FROM activity_log WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (username != null && !username.isBlank()) {
+            sql.append(" AND username = ?");
+            params.add(username);
+        }
+        if (action != null && !action.isBlank()) {
+            sql.append(" AND action = ?");
+            params.add(action);
+        }
+        if (from != null) {
+            sql.append(" AND timestamp >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND timestamp < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        if (after != null) {
+            sql.append(" AND (timestamp < ? OR (timestamp = ? AND id < ?))");
+            params.add(Timestamp.valueOf(after.getTimestamp()));
+            params.add(Timestamp.valueOf(after.getTimestamp()));
+            params.add(after.getId());
+        }
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+        params.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new ActivityLog(
+                rs.getLong("id"),
+                rs.getString("action"),
+                rs.getString("username"),
+                rs.getTimestamp("timestamp").toLocalDateTime()), params.toArray());
+    }
+}
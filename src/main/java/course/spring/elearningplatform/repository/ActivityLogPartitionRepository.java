@@ -0,0 +1,117 @@
+package course.spring.elearningplatform.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * DDL for the daily RANGE partitions of {@code activity_log}, which the V4 migration set up.
+ * Partition {@code pYYYYMMDD} holds the rows of that day; {@code p_future} is a catch-all that new
+ * days are split off from.
+ */
+@Repository
+public class ActivityLogPartitionRepository {
+
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String MAINTENANCE_LOCK = "activity_log_partitions";
+    private static final String PARTITIONS_QUERY =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'activity_log' AND PARTITION_NAME IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ActivityLogPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Partition name to exclusive upper bound day, ordered by name (and therefore by day).
+     */
+    public Map<String, LocalDate> findDailyPartitions() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(PARTITIONS_QUERY);
+        return rows.stream()
+                .filter(row -> !FUTURE_PARTITION.equals(row.get("PARTITION_NAME")))
+                .collect(Collectors.toMap(
+                        row -> (String) row.get("PARTITION_NAME"),
+                        row -> fromToDays(Long.parseLong((String) row.get("PARTITION_DESCRIPTION"))),
+                        (a, b) -> a,
+                        TreeMap::new));
+    }
+
+    /**
+     * Runs {@code maintenance} while holding a MySQL named lock, so only one node reorganizes the
+     * partitions at a time. Returns {@code false} without running it when another node holds the lock.
+     */
+    public boolean withMaintenanceLock(Runnable maintenance) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!namedLock(connection, "SELECT GET_LOCK(?, 0)")) {
+                return false;
+            }
+            try {
+                maintenance.run();
+                return true;
+            } finally {
+                namedLock(connection, "SELECT RELEASE_LOCK(?)");
+            }
+        }));
+    }
+
+    /**
+     * Splits the given days off the catch-all partition.
+     */
+    public void addDays(List<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        StringBuilder ddl = new StringBuilder("ALTER TABLE activity_log REORGANIZE PARTITION ")
+                .append(FUTURE_PARTITION).append(" INTO (");
+        for (LocalDate day : days) {
+            ddl.append(partitionDefinition(partitionName(day), day.plusDays(1))).append(", ");
+        }
+        ddl.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        jdbcTemplate.execute(ddl.toString());
+    }
+
+    public void dropPartitions(List<String> partitionNames) {
+        if (!partitionNames.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE activity_log DROP PARTITION " + String.join(", ", partitionNames));
+        }
+    }
+
+    public static String partitionName(LocalDate day) {
+        return "p" + day.format(PARTITION_DAY);
+    }
+
+    private static String partitionDefinition(String name, LocalDate exclusiveUpperBound) {
+        return "PARTITION " + name + " VALUES LESS THAN (TO_DAYS('" + exclusiveUpperBound + "'))";
+    }
+
+    private static boolean namedLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, MAINTENANCE_LOCK);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    // MySQL TO_DAYS counts from year 0; 719528 is TO_DAYS('1970-01-01')
+    private static LocalDate fromToDays(long toDays) {
+        return LocalDate.ofEpochDay(toDays - 719528);
+    }
+}
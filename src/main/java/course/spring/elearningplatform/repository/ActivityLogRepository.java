@@ -1,10 +1,22 @@
 package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.ActivityLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
 
+    @Query("SELECT a FROM ActivityLog a ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLog> findLatest(Limit limit);
+
+    @Query("SELECT a FROM ActivityLog a WHERE a.timestamp < :timestamp " +
+            "OR (a.timestamp = :timestamp AND a.id < :id) ORDER BY a.timestamp DESC, a.id DESC")
+    List<ActivityLog> findLatestBefore(@Param("timestamp") LocalDateTime timestamp, @Param("id") Long id, Limit limit);
 }
@@ -2,6 +2,19 @@ package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.Announcement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface AnnouncementRepository extends JpaRepository<Announcement, Long> {
+    List<Announcement> findByExpiresAtAfterOrderByExpiresAt(LocalDateTime now);
+
+    long countByExpiresAtAfter(LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM Announcement a WHERE a.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
 }
@@ -1,10 +1,23 @@
 package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.Article;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ArticleRepository extends JpaRepository<Article, Long> {
-  List<Article> findByGroupId(Long groupId);
+
+  @Query("SELECT a FROM Article a JOIN FETCH a.author au LEFT JOIN FETCH au.profilePicture " +
+          "WHERE a.group.id = :groupId ORDER BY a.createdAt DESC, a.id DESC")
+  List<Article> findFeed(@Param("groupId") Long groupId, Limit limit);
+
+  @Query("SELECT a FROM Article a JOIN FETCH a.author au LEFT JOIN FETCH au.profilePicture " +
+          "WHERE a.group.id = :groupId AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id)) " +
+          "ORDER BY a.createdAt DESC, a.id DESC")
+  List<Article> findFeedBefore(@Param("groupId") Long groupId, @Param("createdAt") LocalDateTime createdAt,
+                               @Param("id") Long id, Limit limit);
 }
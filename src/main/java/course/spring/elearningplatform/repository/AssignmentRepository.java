@@ -1,10 +1,21 @@
 package course.spring.elearningplatform.repository;
 
+import course.spring.elearningplatform.dto.projection.AssignmentDeadlineView;
 import course.spring.elearningplatform.entity.Assignment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByCourseId(Long courseId);
+
+    List<Assignment> findByDueDateAfterOrderByDueDate(LocalDateTime after, Limit limit);
+
+    @Query("SELECT a.id AS id, a.course.id AS courseId, a.title AS title, a.dueDate AS dueDate " +
+            "FROM Assignment a WHERE a.dueDate > :after AND a.course IS NOT NULL")
+    List<AssignmentDeadlineView> findUpcomingDeadlines(@Param("after") LocalDateTime after);
 }
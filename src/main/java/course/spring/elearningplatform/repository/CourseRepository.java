@@ -1,17 +1,72 @@
 package course.spring.elearningplatform.repository;
 
+import course.spring.elearningplatform.dto.projection.CourseCountsView;
+import course.spring.elearningplatform.dto.projection.CourseLessonView;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByName(String name);
+
+    @Override
+    @EntityGraph(Course.CATALOG_GRAPH)
+    List<Course> findAll();
+
+    @Override
+    @EntityGraph(Course.DETAIL_GRAPH)
+    Optional<Course> findById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :courseId")
+    Optional<Course> findByIdForUpdate(@Param("courseId") Long courseId);
+
+    @EntityGraph(Course.CATALOG_GRAPH)
     @Query("SELECT c FROM Course c JOIN c.categories cat WHERE cat = :category")
     List<Course> findAllByCategory(String category);
+
+    @EntityGraph(Course.CATALOG_GRAPH)
     List<Course> findAllByCreatedBy(User user);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_started_courses"))
+    @Query(value = "INSERT INTO user_started_courses (user_id, course_id) VALUES (:userId, :courseId) " +
+            "ON DUPLICATE KEY UPDATE course_id = course_id", nativeQuery = true)
+    int enroll(@Param("userId") Long userId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("UPDATE Course c SET c.createdBy = :newCreator WHERE c.createdBy = :oldCreator")
+    int reassignCreator(@Param("oldCreator") User oldCreator, @Param("newCreator") User newCreator);
+
+    @Query("SELECT c.createdBy.id FROM Course c WHERE c.id = :courseId")
+    Long findCreatorId(@Param("courseId") Long courseId);
+
+    @EntityGraph(Course.CATALOG_GRAPH)
+    @Query("SELECT c FROM Course c WHERE c.id > :afterId ORDER BY c.id")
+    List<Course> findPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT c.id AS courseId, SIZE(c.participants) AS participantCount, " +
+            "SIZE(c.studentsCompletedCourse) AS completedCount, SIZE(c.lessons) AS lessonCount " +
+            "FROM Course c WHERE c.id IN :courseIds")
+    List<CourseCountsView> findCounts(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT c.id AS courseId, l.id AS lessonId, l.title AS title " +
+            "FROM Course c JOIN c.lessons l WHERE c.id IN :courseIds ORDER BY l.id")
+    List<CourseLessonView> findLessonSummaries(@Param("courseIds") Collection<Long> courseIds);
 }
@@ -0,0 +1,32 @@
+package course.spring.elearningplatform.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Id-only reads of {@code user_started_courses} for the in-memory enrollment index.
+ */
+@Repository
+public class EnrollmentRepository {
+
+    private static final String ALL_ENROLLMENTS = "SELECT user_id, course_id FROM user_started_courses";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EnrollmentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Streams every (userId, courseId) pair to the consumer without materializing the table.
+     */
+    public void forEachEnrollment(BiConsumer<Long, Long> consumer) {
+        jdbcTemplate.query(ALL_ENROLLMENTS, rs -> {
+            consumer.accept(rs.getLong(1), rs.getLong(2));
+        });
+    }
+}
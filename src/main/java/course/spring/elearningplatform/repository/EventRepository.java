@@ -2,11 +2,23 @@ package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.Event;
 import course.spring.elearningplatform.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
     boolean existsByTitle(String title);
+
+    @EntityGraph(Event.WITH_IMAGE_GRAPH)
     List<Event> findByInstructor(String instructor);
+
+    @Override
+    @EntityGraph(Event.WITH_IMAGE_GRAPH)
+    List<Event> findAll();
+
+    @Override
+    @EntityGraph(Event.WITH_IMAGE_GRAPH)
+    Optional<Event> findById(Long id);
 }
@@ -1,7 +1,16 @@
 package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.FAQ;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface FAQRepository extends JpaRepository<FAQ, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<FAQ> findAll();
 }
@@ -1,8 +1,58 @@
 package course.spring.elearningplatform.repository;
 
+import course.spring.elearningplatform.dto.projection.UserSummaryView;
 import course.spring.elearningplatform.entity.Group;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface GroupRepository extends JpaRepository<Group, Long> {
     boolean existsByName(String name);
+
+    @Override
+    @EntityGraph(Group.WITH_IMAGE_GRAPH)
+    List<Group> findAll();
+
+    @Override
+    @EntityGraph(Group.WITH_IMAGE_GRAPH)
+    Optional<Group> findById(Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "learning_groups_members"))
+    @Query(value = "INSERT IGNORE INTO learning_groups_members (group_id, members_id) " +
+            "SELECT :groupId, u.id FROM user u WHERE u.username IN (:usernames)", nativeQuery = true)
+    int addMembersByUsername(@Param("groupId") Long groupId, @Param("usernames") Collection<String> usernames);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "learning_groups_members"))
+    @Query(value = "INSERT IGNORE INTO learning_groups_members (group_id, members_id) " +
+            "SELECT :groupId, u.id FROM user u WHERE u.id IN (:userIds)", nativeQuery = true)
+    int addMembersById(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "learning_groups_members"))
+    @Query(value = "DELETE FROM learning_groups_members WHERE group_id = :groupId AND members_id IN (:userIds)",
+            nativeQuery = true)
+    int removeMembersById(@Param("groupId") Long groupId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT m.id AS id, m.username AS username, m.firstName AS firstName, m.lastName AS lastName " +
+            "FROM Group g JOIN g.members m WHERE g.id = :groupId AND m.id > :afterId ORDER BY m.id")
+    List<UserSummaryView> findMembersPageAfter(@Param("groupId") Long groupId, @Param("afterId") Long afterId,
+                                               Limit limit);
+
+    @Query("SELECT COUNT(m) > 0 FROM Group g JOIN g.members m WHERE g.id = :groupId AND m.username = :username")
+    boolean isMember(@Param("groupId") Long groupId, @Param("username") String username);
+
+    @Query("SELECT g.id, COUNT(m) FROM Group g LEFT JOIN g.members m WHERE g.id IN (:groupIds) GROUP BY g.id")
+    List<Object[]> countMembers(@Param("groupIds") Collection<Long> groupIds);
 }
@@ -0,0 +1,49 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.LessonProgress;
+import course.spring.elearningplatform.entity.LessonProgressId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LessonProgressRepository extends JpaRepository<LessonProgress, LessonProgressId> {
+    List<LessonProgress> findByCourseId(Long courseId);
+
+    /**
+     * ORs {@code bits} into the stored bitset in one statement. Both sides are left-padded to the same
+     * length first because MySQL only applies {@code |} to binary strings of equal length. The new
+     * completed count is stored alongside and handed back through {@code LAST_INSERT_ID(expr)}, so
+     * {@link #lastMergedCount()} reads it without touching the row again. The count is assigned
+     * before the bits, so both are computed from the old value.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "lesson_progress"))
+    @Query(value = "INSERT INTO lesson_progress (user_id, course_id, completed_bits, completed_count, updated_at) " +
+            "VALUES (:userId, :courseId, :bits, LAST_INSERT_ID(BIT_COUNT(:bits)), NOW(6)) AS incoming " +
+            "ON DUPLICATE KEY UPDATE " +
+            "completed_count = LAST_INSERT_ID(BIT_COUNT(LPAD(lesson_progress.completed_bits, " +
+            "GREATEST(LENGTH(lesson_progress.completed_bits), LENGTH(incoming.completed_bits)), 0x00) " +
+            "| LPAD(incoming.completed_bits, " +
+            "GREATEST(LENGTH(lesson_progress.completed_bits), LENGTH(incoming.completed_bits)), 0x00))), " +
+            "completed_bits = LPAD(lesson_progress.completed_bits, " +
+            "GREATEST(LENGTH(lesson_progress.completed_bits), LENGTH(incoming.completed_bits)), 0x00) " +
+            "| LPAD(incoming.completed_bits, " +
+            "GREATEST(LENGTH(lesson_progress.completed_bits), LENGTH(incoming.completed_bits)), 0x00), " +
+            "updated_at = NOW(6)", nativeQuery = true)
+    int mergeCompletedBits(@Param("userId") Long userId, @Param("courseId") Long courseId, @Param("bits") byte[] bits);
+
+    /**
+     * Completed count set by the last {@link #mergeCompletedBits} on this connection; call it in the
+     * same transaction.
+     */
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    long lastMergedCount();
+}
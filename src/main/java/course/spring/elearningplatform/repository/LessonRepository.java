@@ -2,8 +2,15 @@ package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
-}
\ No newline at end of file
+
+    long countByRelatedCourseId(Long courseId);
+
+    @Query("SELECT COALESCE(MAX(l.ordinal) + 1, 0) FROM Lesson l WHERE l.relatedCourse.id = :courseId")
+    int findNextOrdinal(@Param("courseId") Long courseId);
+}
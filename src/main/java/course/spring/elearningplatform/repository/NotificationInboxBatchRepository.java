@@ -0,0 +1,76 @@
+package course.spring.elearningplatform.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fan-out writes of one event into many inboxes. Sequence numbers are reserved one block per batch
+ * from {@code notification_inbox_seq} (created by the V2 migration), the same way activity log ids
+ * are. Redelivered events hit the (user_id, event_id) unique key and are skipped; the reserved
+ * numbers just stay unused.
+ */
+@Repository
+public class NotificationInboxBatchRepository {
+
+    private static final String RESERVE_SEQS =
+            "UPDATE notification_inbox_seq SET next_val = LAST_INSERT_ID(next_val + ?)";
+    private static final String LAST_RESERVED = "SELECT LAST_INSERT_ID()";
+    private static final String INSERT_ENTRY =
+            "INSERT IGNORE INTO notification_inbox (user_id, seq, event_id, event_type, payload, created_at) " +
+                    "VALUES (?, ?, UUID_TO_BIN(?), ?, ?, ?)";
+    // rewritten batches report no per-row counts, so the rows that went in are found by their reserved seq
+    private static final String INSERTED_USERS =
+            "SELECT user_id FROM notification_inbox WHERE user_id IN (:userIds) AND event_id = UUID_TO_BIN(:eventId) " +
+                    "AND seq >= :firstSeq AND seq < :endSeq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public NotificationInboxBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Returns the users the event was actually added for; users who already had it are left out.
+     */
+    @Transactional
+    public List<Long> insertBatch(List<Long> userIds, String eventId, String eventType, String payload, LocalDateTime createdAt) {
+        jdbcTemplate.update(RESERVE_SEQS, userIds.size());
+        long firstSeq = jdbcTemplate.queryForObject(LAST_RESERVED, Long.class) - userIds.size();
+        Timestamp created = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, userIds.get(i));
+                ps.setLong(2, firstSeq + i);
+                ps.setString(3, eventId);
+                ps.setString(4, eventType);
+                ps.setString(5, payload);
+                ps.setTimestamp(6, created);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return userIds.size();
+            }
+        });
+        return namedParameterJdbcTemplate.queryForList(INSERTED_USERS, Map.of(
+                "userIds", userIds,
+                "eventId", eventId,
+                "firstSeq", firstSeq,
+                "endSeq", firstSeq + userIds.size()), Long.class);
+    }
+}
@@ -0,0 +1,31 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.NotificationInboxEntry;
+import course.spring.elearningplatform.entity.NotificationInboxEntryId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationInboxRepository extends JpaRepository<NotificationInboxEntry, NotificationInboxEntryId> {
+    List<NotificationInboxEntry> findByUserIdAndSeqGreaterThanOrderBySeq(Long userId, Long afterSeq, Limit limit);
+
+    long countByUserIdAndSeqGreaterThan(Long userId, Long afterSeq);
+
+    /**
+     * Deletes one chunk of expired rows; callers repeat until fewer than {@code limit} rows go.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_inbox"))
+    @Query(value = "DELETE FROM notification_inbox WHERE created_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
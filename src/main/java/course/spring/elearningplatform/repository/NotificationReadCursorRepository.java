@@ -0,0 +1,25 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.NotificationReadCursor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationReadCursorRepository extends JpaRepository<NotificationReadCursor, Long> {
+
+    /**
+     * Moves the read cursor forward only, so a stale client can never mark notifications unread again.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "notification_read_cursor"))
+    @Query(value = "INSERT INTO notification_read_cursor (user_id, last_read_seq) VALUES (:userId, :seq) AS incoming " +
+            "ON DUPLICATE KEY UPDATE last_read_seq = GREATEST(notification_read_cursor.last_read_seq, incoming.last_read_seq)",
+            nativeQuery = true)
+    int advance(@Param("userId") Long userId, @Param("seq") long seq);
+}
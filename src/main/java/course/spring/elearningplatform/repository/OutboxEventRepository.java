@@ -0,0 +1,52 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next due events. Rows another relay instance already holds are skipped rather than
+     * waited on, so several instances can drain the outbox side by side.
+     */
+    @Query(value = "SELECT * FROM outbox_event WHERE next_attempt_at <= :now AND attempts < :maxAttempts " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDueBatch(@Param("now") LocalDateTime now,
+                                   @Param("maxAttempts") int maxAttempts,
+                                   @Param("limit") int limit);
+
+    /**
+     * Pushes claimed events out of the due window until {@code leaseUntil}; the lease time doubles as
+     * the claim token the relay checks when it records a failed attempt.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.nextAttemptAt = :leaseUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Records a failed attempt unless the claim expired and another relay took the event over.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError " +
+            "WHERE e.id = :id AND e.nextAttemptAt = :leaseUntil")
+    int recordFailure(@Param("id") Long id,
+                      @Param("leaseUntil") LocalDateTime leaseUntil,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                      @Param("lastError") String lastError);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.attempts < :maxAttempts")
+    LocalDateTime findOldestPendingCreatedAt(@Param("maxAttempts") int maxAttempts);
+
+    long countByAttemptsLessThan(int maxAttempts);
+
+    long countByAttemptsGreaterThanEqual(int maxAttempts);
+}
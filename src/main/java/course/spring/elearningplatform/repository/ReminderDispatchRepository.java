@@ -0,0 +1,37 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.ReminderDispatch;
+import course.spring.elearningplatform.entity.ReminderDispatchId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReminderDispatchRepository extends JpaRepository<ReminderDispatch, ReminderDispatchId> {
+
+    /**
+     * Returns 1 for the node that claimed the reminder and 0 for everyone after it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminder_dispatch"))
+    @Query(value = "INSERT IGNORE INTO reminder_dispatch (assignment_id, reminder_kind, claimed_by, claimed_at) " +
+            "VALUES (:assignmentId, :kind, :node, NOW(6))", nativeQuery = true)
+    int claim(@Param("assignmentId") Long assignmentId, @Param("kind") String kind, @Param("node") String node);
+
+    /**
+     * Removes the claims of assignments whose deadline is not after {@code now}, was cleared, or that
+     * no longer exist.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "reminder_dispatch"))
+    @Query(value = "DELETE rd FROM reminder_dispatch rd LEFT JOIN assignment a ON a.id = rd.assignment_id " +
+            "WHERE a.id IS NULL OR a.due_date IS NULL OR a.due_date <= :now", nativeQuery = true)
+    int deleteForPastDeadlines(@Param("now") LocalDateTime now);
+}
@@ -2,13 +2,21 @@ package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.Solution;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface SolutionRepository extends JpaRepository<Solution, Long> {
     List<Solution> findByAssignmentId(Long assignmentId);
 
     boolean existsByUserIdAndAssignmentId(Long userId, Long assignmentId);
+
+    @Query("SELECT s.assignment.id FROM Solution s WHERE s.user.id = :userId AND s.assignment.id IN :assignmentIds")
+    Set<Long> findSubmittedAssignmentIds(@Param("userId") Long userId,
+                                         @Param("assignmentIds") Collection<Long> assignmentIds);
 }
@@ -0,0 +1,32 @@
+package course.spring.elearningplatform.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class TableStatisticsRepository {
+
+    private static final String APPROXIMATE_ROWS_QUERY =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public TableStatisticsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Row estimate kept by InnoDB statistics; answered from metadata instead of a {@code COUNT(*)} scan.
+     */
+    public long approximateRowCount(String tableName) {
+        try {
+            Long rows = jdbcTemplate.queryForObject(APPROXIMATE_ROWS_QUERY, Long.class, tableName);
+            return rows != null ? rows : 0L;
+        } catch (EmptyResultDataAccessException e) {
+            return 0L;
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package course.spring.elearningplatform.repository;
 
 import course.spring.elearningplatform.entity.Ticket;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
+
+    @Override
+    @EntityGraph(Ticket.PARTICIPANTS_GRAPH)
+    List<Ticket> findAll();
+
+    @Override
+    @EntityGraph(Ticket.PARTICIPANTS_GRAPH)
+    Optional<Ticket> findById(Long id);
 }
@@ -1,9 +1,10 @@
 package course.spring.elearningplatform.repository;
 
+import course.spring.elearningplatform.dto.projection.UserSummaryView;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,30 +18,58 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 
+    @EntityGraph(User.LOGIN_GRAPH)
     Optional<User> findByUsername(String username);
+
+    @EntityGraph(User.PROFILE_GRAPH)
+    Optional<User> findProfileById(Long id);
+
     List<User> findAllByUsernameNotIn(List<String> usernames);
 
+    @EntityGraph(User.LOGIN_GRAPH)
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r = :role")
     List<User> findByRole(@Param("role") String role);
 
-    Page<User> findAllByUsernameNotIn(List<String> usernames, Pageable pageable);
+    @Query("SELECT u FROM User u WHERE u.id > :afterId AND u.username NOT IN (:excludedUsernames) ORDER BY u.id")
+    List<User> findPageAfter(@Param("afterId") Long afterId,
+                             @Param("excludedUsernames") List<String> excludedUsernames, Limit limit);
 
-    @Query("SELECT u FROM User u WHERE (LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) " +
+    @Query("SELECT u FROM User u WHERE u.id > :afterId " +
+            "AND (LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :query, '%')) " +
             "OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-            "AND u.username NOT IN (:excludedUsernames)")
-    Page<User> searchUsersExcluding(@Param("query") String query, @Param("excludedUsernames") List<String> excludedUsernames, Pageable pageable);
+            "AND u.username NOT IN (:excludedUsernames) ORDER BY u.id")
+    List<User> searchPageAfter(@Param("query") String query, @Param("afterId") Long afterId,
+                               @Param("excludedUsernames") List<String> excludedUsernames, Limit limit);
+
+    @Query("SELECT u FROM User u WHERE u.id > :afterId " +
+            "AND LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) " +
+            "AND LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%')) " +
+            "AND u.username NOT IN (:excludedUsernames) ORDER BY u.id")
+    List<User> searchByFullNamePageAfter(@Param("firstName") String firstName, @Param("lastName") String lastName,
+                                         @Param("afterId") Long afterId,
+                                         @Param("excludedUsernames") List<String> excludedUsernames, Limit limit);
 
-    Page<User> findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCaseAndUsernameNotIn(
-            String firstNameQuery, String lastNameQuery, List<String> excludedUsernames, Pageable pageable);
+    @Query("SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName " +
+            "FROM User u WHERE (u.username LIKE :prefix OR u.firstName LIKE :prefix OR u.lastName LIKE :prefix) " +
+            "AND u.username NOT IN (:excludedUsernames) " +
+            "AND NOT EXISTS (SELECT 1 FROM Group g JOIN g.members m WHERE g.id = :groupId AND m.id = u.id) " +
+            "ORDER BY u.username")
+    List<UserSummaryView> findNonMembersByPrefix(@Param("groupId") Long groupId, @Param("prefix") String prefix,
+                                                 @Param("excludedUsernames") List<String> excludedUsernames,
+                                                 Limit limit);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.completedLessons WHERE u.id = :userId")
-    Optional<User> findByIdWithCompletedLessons(@Param("userId") Long userId);
+    @Query("SELECT u.id AS id, u.username AS username, u.firstName AS firstName, u.lastName AS lastName " +
+            "FROM User u JOIN u.startedCourses c WHERE c.id = :courseId AND u.id > :afterId ORDER BY u.id")
+    List<UserSummaryView> findParticipantsPageAfter(@Param("courseId") Long courseId, @Param("afterId") Long afterId,
+                                                    Limit limit);
 
-    @Query("SELECT u.startedCourses FROM User u WHERE u.id = :userId")
+    @EntityGraph(Course.CATALOG_GRAPH)
+    @Query("SELECT c FROM User u JOIN u.startedCourses c WHERE u.id = :userId")
     List<Course> findStartedCoursesByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT u.completedCourses FROM User u WHERE u.id = :userId")
+    @EntityGraph(Course.CATALOG_GRAPH)
+    @Query("SELECT c FROM User u JOIN u.completedCourses c WHERE u.id = :userId")
     List<Course> findCompletedCoursesByUserId(@Param("userId") Long userId);
 }
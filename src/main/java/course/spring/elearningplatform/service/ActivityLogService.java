@@ -1,10 +1,17 @@
 package course.spring.elearningplatform.service;
 
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.ActivityLog;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 
 public interface ActivityLogService {
-    Map<ActivityLog, String> getAllLogs();
+    enum ExportFormat { NDJSON, CSV }
+
+    CursorPage<ActivityLog> getLogs(String cursor, int size, boolean withTotal);
     void logActivity(String action, String username);
+    void exportLogs(ExportFormat format, String username, String action, LocalDateTime from, LocalDateTime to,
+                    OutputStream outputStream) throws IOException;
 }
@@ -1,12 +1,11 @@
 package course.spring.elearningplatform.service;
 
 import course.spring.elearningplatform.dto.ArticleDto;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Article;
 
-import java.util.List;
-
 public interface ArticleService {
   Article createArticle(Long groupId, ArticleDto article);
-  List<Article> getAllArticlesForAGroup(Long groupId);
+  CursorPage<Article> getArticleFeed(Long groupId, String cursor, int size);
   Article deleteArticleById(Long id);
 }
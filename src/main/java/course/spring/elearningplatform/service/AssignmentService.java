@@ -7,6 +7,7 @@ import java.util.List;
 public interface AssignmentService {
     List<AssignmentDto> getAllAssignments();
     List<AssignmentDto> getAssignmentsByCourseId(Long courseId);
+    List<AssignmentDto> getUpcomingAssignments(int limit);
     AssignmentDto getAssignmentById(Long id);
     AssignmentDto saveAssignment(AssignmentDto assignmentDto);
     void deleteAssignment(Long id);
@@ -0,0 +1,22 @@
+package course.spring.elearningplatform.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries second-level cache invalidations between nodes. Every node receives every message,
+ * its own included.
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * {@code collectionRole} is set when a cached collection changed, e.g. {@code User.roles} of an
+     * entity that is not cached itself; {@code id} is then the owner's id. {@code id} is
+     * {@code null} when the whole region should go.
+     */
+    record CacheInvalidation(String node, String entityName, String collectionRole, Long id) {
+    }
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> handler);
+}
@@ -1,10 +1,14 @@
 package course.spring.elearningplatform.service;
 
-import course.spring.elearningplatform.entity.User;
-import course.spring.elearningplatform.service.impl.CourseDashboardServiceImpl;
-
-import java.util.Map;
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.ParticipantProgress;
 
 public interface CourseDashboardService {
-    public Map<User, CourseDashboardServiceImpl.ProgressInfo> getUserProgressInCourse(Long courseId);
+    CursorPage<ParticipantProgress> getParticipantProgress(Long courseId, String cursor, int size);
+
+    boolean isCourseCreator(Long courseId, Long userId);
+
+    void recordProgress(Long courseId, Long userId, int completedLessons);
+
+    void recordLessonAdded(Long courseId);
 }
@@ -1,6 +1,9 @@
 package course.spring.elearningplatform.service;
 
 import course.spring.elearningplatform.dto.CourseDto;
+import course.spring.elearningplatform.dto.projection.CourseCountsView;
+import course.spring.elearningplatform.dto.projection.CourseLessonView;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.Question;
 import course.spring.elearningplatform.entity.Quiz;
@@ -11,6 +14,7 @@ import course.spring.elearningplatform.dto.QuestionDto;
 import course.spring.elearningplatform.entity.QuestionWrapper;
 import jakarta.transaction.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,9 +51,11 @@ public interface CourseService {
 
     List<Course> getAllCourses();
 
+    CursorPage<Course> getCoursesPage(String cursor, int size, boolean withTotal);
+
     Course findById(Long courseId);
 
-    Course startCourse(Long courseId, User user);
+    void startCourse(Long courseId, Long userId);
 
     Course completeCourse(Course course, User user);
 
@@ -60,5 +66,12 @@ public interface CourseService {
     Course updateCourseDetails(Long id, String detail, Object value);
 
     List<Course> findCompletedCoursesByUserId(Long id);
+
+    Map<Long, CourseCountsView> getCourseCounts(Collection<Long> courseIds);
+
+    /**
+     * Lesson ids and titles per course, in lesson id order; courses without lessons are absent.
+     */
+    Map<Long, List<CourseLessonView>> getLessonSummaries(Collection<Long> courseIds);
 }
 
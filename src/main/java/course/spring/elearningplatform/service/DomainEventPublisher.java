@@ -0,0 +1,12 @@
+package course.spring.elearningplatform.service;
+
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+
+public interface DomainEventPublisher {
+    /**
+     * Writes the event to the outbox in the current transaction, or in its own one when there is none.
+     *
+     * @param scopeId the course or user id the event is routed by, ignored for platform-wide events
+     */
+    void publish(PlatformEventType type, Long scopeId, Object data);
+}
@@ -0,0 +1,22 @@
+package course.spring.elearningplatform.service;
+
+import course.spring.elearningplatform.dto.EnrollmentCheck;
+
+import java.util.List;
+
+public interface EnrollmentService {
+    long[] getEnrolledCourseIds(Long userId);
+
+    long[] getEnrolledUserIds(Long courseId);
+
+    boolean isEnrolled(Long userId, Long courseId);
+
+    /**
+     * Answers every (userId, courseId) pair from the index and fills in {@code enrolled}.
+     */
+    List<EnrollmentCheck> validate(List<EnrollmentCheck> checks);
+
+    void enrolled(Long userId, Long courseId);
+
+    void unenrolled(Long userId, Long courseId);
+}
@@ -1,9 +1,11 @@
 package course.spring.elearningplatform.service;
 
 import course.spring.elearningplatform.dto.GroupDto;
+import course.spring.elearningplatform.dto.projection.UserSummaryView;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Group;
-import course.spring.elearningplatform.entity.User;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GroupService {
@@ -11,6 +13,10 @@ public interface GroupService {
   Group getGroupById(Long id);
   Group createGroup(GroupDto groupDto);
   Group deleteGroup(Long id);
-  Group addMember(Long id, String username);
-  Group removeMember(Long id, User user);
+  int addMembers(Long id, Collection<String> usernames);
+  int addMembersById(Long id, Collection<Long> userIds);
+  int removeMembers(Long id, Collection<Long> userIds);
+  boolean isMember(Long id, String username);
+  CursorPage<UserSummaryView> getMembers(Long id, String cursor, int size);
+  List<UserSummaryView> suggestNewMembers(Long id, String query, int limit);
 }
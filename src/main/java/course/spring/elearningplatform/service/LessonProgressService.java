@@ -0,0 +1,21 @@
+package course.spring.elearningplatform.service;
+
+import java.util.BitSet;
+
+public interface LessonProgressService {
+    BitSet getCompletedLessons(Long userId, Long courseId);
+
+    /**
+     * Idempotently marks the lesson completed and returns how many lessons the user has now completed.
+     */
+    int markCompleted(Long userId, Long courseId, int lessonOrdinal);
+
+    boolean areAllLessonsCompleted(Long userId, Long courseId, int totalLessons);
+
+    double getProgressPercentage(Long userId, Long courseId, int totalLessons);
+
+    /**
+     * Ordinal of the first lesson the user has not completed, or {@code -1} when the course is done.
+     */
+    int getNextLessonOrdinal(Long userId, Long courseId, int totalLessons);
+}
@@ -9,6 +9,8 @@ public interface LessonService {
 
     Lesson getLessonById(Long lessonId);
 
+    long countLessons(Long courseId);
+
     Lesson updateLessonDetails(Course course, Long id, String detail, Object value);
 
     Lesson save(Lesson lesson);
@@ -0,0 +1,20 @@
+package course.spring.elearningplatform.service;
+
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.InboxNotification;
+
+public interface NotificationInboxService {
+    /**
+     * Appends the event to every given inbox. Delivering the same event id twice is a no-op per user.
+     */
+    void deliver(String eventId, String eventType, String payload, long[] userIds);
+
+    /**
+     * Entries after the cursor in delivery order; pass the last page's {@code nextCursor} to get only newer ones.
+     */
+    CursorPage<InboxNotification> getNotifications(Long userId, String cursor, int size);
+
+    long getUnreadCount(Long userId);
+
+    void markRead(Long userId, long upToSeq);
+}
@@ -3,6 +3,9 @@ package course.spring.elearningplatform.service;
 import course.spring.elearningplatform.dto.AssignmentNotificationDto;
 
 public interface NotificationService {
+    /**
+     * Queues the notification in the caller's transaction; it is published only if that transaction commits.
+     */
     void sendAssignmentNotification(AssignmentNotificationDto notification);
 }
 
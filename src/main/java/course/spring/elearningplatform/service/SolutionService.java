@@ -5,12 +5,15 @@ import course.spring.elearningplatform.entity.User;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface SolutionService {
     Solution saveSolution(Solution solution);
     List<Solution> getSolutionsByAssignmentId(Long assignmentId);
     void deleteSolution(Long id);
     boolean hasUserUploadedSolution(Long userId, Long assignmentId) ;
+    Set<Long> getSubmittedAssignmentIds(Long userId, Collection<Long> assignmentIds);
     void handleSolutionUpload(User user, Long assignmentId, MultipartFile file) throws IOException;
 }
@@ -1,10 +1,10 @@
 package course.spring.elearningplatform.service;
 
 import course.spring.elearningplatform.dto.UserDto;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.Role;
 import course.spring.elearningplatform.entity.User;
-import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -18,11 +18,9 @@ public interface UserService {
     List<User> getAllUsersExcept(List<String> users);
     List<User> getAllUsersByRole(Role role);
     User updateUserDetails(Long id, String detail, Object value);
-    User addStartedCourse(User user, Course course);
     User addCompletedCourse(User user, Course course);
-    User findByIdWithCompletedLessons(Long id);
 
     void save(User user);
-    Page<User> getAllUsers(int page, int size, String loggedInUsername);
-    Page<User> searchUsers(String searchQuery, int page, int size, String loggedInUsername);
+    CursorPage<User> getUsersPage(String cursor, int size, String loggedInUsername, boolean withTotal);
+    CursorPage<User> searchUsersPage(String searchQuery, String cursor, int size, String loggedInUsername);
 }
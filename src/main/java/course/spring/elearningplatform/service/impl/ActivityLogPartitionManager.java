@@ -0,0 +1,75 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.repository.ActivityLogPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the daily partitions of {@code activity_log}: creates partitions ahead of time and
+ * enforces retention by dropping whole partitions, which is a metadata operation instead of a
+ * row-by-row delete. The table itself is partitioned by the V4 migration. Every node may run this;
+ * a MySQL named lock lets one of them do the DDL and the others skip the round.
+ */
+@Component
+@ConditionalOnProperty(name = "activity-log.partitioning.enabled", havingValue = "true")
+public class ActivityLogPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogPartitionManager.class);
+
+    private final ActivityLogPartitionRepository partitionRepository;
+    private final int retentionDays;
+    private final int aheadDays;
+
+    @Autowired
+    public ActivityLogPartitionManager(ActivityLogPartitionRepository partitionRepository,
+                                       @Value("${activity-log.partitioning.retention-days:90}") int retentionDays,
+                                       @Value("${activity-log.partitioning.ahead-days:7}") int aheadDays) {
+        this.partitionRepository = partitionRepository;
+        this.retentionDays = retentionDays;
+        this.aheadDays = aheadDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${activity-log.partitioning.cron:0 15 0 * * *}")
+    public synchronized void maintainPartitions() {
+        if (!partitionRepository.withMaintenanceLock(this::reorganize)) {
+            logger.debug("activity_log partitions are being maintained by another node");
+        }
+    }
+
+    private void reorganize() {
+        LocalDate today = LocalDate.now();
+        Map<String, LocalDate> partitions = partitionRepository.findDailyPartitions();
+
+        LocalDate nextDay = partitions.values().stream()
+                .max(LocalDate::compareTo)
+                .orElse(today);
+        List<LocalDate> missingDays = new ArrayList<>();
+        for (LocalDate day = nextDay; !day.isAfter(today.plusDays(aheadDays)); day = day.plusDays(1)) {
+            missingDays.add(day);
+        }
+        partitionRepository.addDays(missingDays);
+
+        LocalDate cutoff = today.minusDays(retentionDays);
+        List<String> expired = partitions.entrySet().stream()
+                .filter(partition -> !partition.getValue().isAfter(cutoff))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!expired.isEmpty()) {
+            logger.info("Dropping expired activity_log partitions {}", expired);
+            partitionRepository.dropPartitions(expired);
+        }
+    }
+}
@@ -1,40 +1,81 @@
 package course.spring.elearningplatform.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.ActivityLog;
-import course.spring.elearningplatform.entity.Article;
+import course.spring.elearningplatform.repository.ActivityLogExportRepository;
 import course.spring.elearningplatform.repository.ActivityLogRepository;
+import course.spring.elearningplatform.repository.TableStatisticsRepository;
 import course.spring.elearningplatform.service.ActivityLogService;
+import course.spring.elearningplatform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class ActivityLogServiceImpl implements ActivityLogService {
+    private static final int EXPORT_PAGE_SIZE = 1000;
+
     private final ActivityLogRepository activityLogRepository;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final ActivityLogWriter activityLogWriter;
+    private final ActivityLogExportRepository activityLogExportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
-    public ActivityLogServiceImpl(ActivityLogRepository activityLogRepository) {
+    public ActivityLogServiceImpl(ActivityLogRepository activityLogRepository,
+                                  TableStatisticsRepository tableStatisticsRepository,
+                                  ActivityLogWriter activityLogWriter,
+                                  ActivityLogExportRepository activityLogExportRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
         this.activityLogRepository = activityLogRepository;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.activityLogWriter = activityLogWriter;
+        this.activityLogExportRepository = activityLogExportRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
-    public Map<ActivityLog, String> getAllLogs() {
-        List<ActivityLog> logs = activityLogRepository.findAll(Sort.by(Sort.Order.desc("timestamp")));
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy h:mm a");
-        Map<ActivityLog, String> logsMap = new HashMap<>();
-
-        for (ActivityLog log : logs) {
-            String formattedDate = log.getTimestamp().format(formatter);
-            logsMap.put(log, formattedDate);
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityLog> getLogs(String cursor, int size, boolean withTotal) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<ActivityLog> fetched;
+
+        if (cursor == null || cursor.isBlank()) {
+            fetched = activityLogRepository.findLatest(limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (position.timestamp() == null) {
+                throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+            }
+            fetched = activityLogRepository.findLatestBefore(position.timestamp(), position.id(), limit);
         }
 
-        return logsMap;
+        CursorPage<ActivityLog> page = CursorPage.of(fetched, pageSize,
+                log -> KeysetCursor.encode(log.getTimestamp(), log.getId()));
+        if (withTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("activity_log"));
+        }
+        return page;
     }
 
     @Override
@@ -43,6 +84,60 @@ public class ActivityLogServiceImpl implements ActivityLogService {
         log.setAction(action);
         log.setUsername(username);
         log.setTimestamp(LocalDateTime.now());
-        activityLogRepository.save(log);
+        activityLogWriter.enqueue(log);
+    }
+
+    /**
+     * Each page is read in its own short read-only transaction and written out before the next one
+     * is fetched, so the download never holds a connection while it waits on the client.
+     */
+    @Override
+    public void exportLogs(ExportFormat format, String username, String action, LocalDateTime from, LocalDateTime to,
+                           OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write("id,action,username,timestamp\n");
+        }
+
+        ActivityLog last = null;
+        List<ActivityLog> page;
+        do {
+            ActivityLog after = last;
+            page = readOnlyTransaction.execute(status ->
+                    activityLogExportRepository.findPage(username, action, from, to, after, EXPORT_PAGE_SIZE));
+            for (ActivityLog log : page) {
+                writer.write(format == ExportFormat.CSV ? toCsvLine(log) : toJsonLine(log));
+            }
+            writer.flush();
+            last = page.isEmpty() ? last : page.get(page.size() - 1);
+        } while (page.size() == EXPORT_PAGE_SIZE);
+    }
+
+    private String toJsonLine(ActivityLog log) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("id", log.getId());
+        line.put("action", log.getAction());
+        line.put("username", log.getUsername());
+        line.put("timestamp", log.getTimestamp());
+        return objectMapper.writeValueAsString(line) + "\n";
+    }
+
+    private static String toCsvLine(ActivityLog log) {
+        return log.getId() + "," + csvField(log.getAction()) + "," + csvField(log.getUsername()) + ","
+                + log.getTimestamp() + "\n";
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        String escaped = value;
+        if (!escaped.isEmpty() && "=+-@".indexOf(escaped.charAt(0)) >= 0) {
+            escaped = "'" + escaped;
+        }
+        if (escaped.contains(",") || escaped.contains("\"") || escaped.contains("\n") || escaped.contains("\r")) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
     }
 }
@@ -0,0 +1,134 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.ActivityLog;
+import course.spring.elearningplatform.repository.ActivityLogBatchRepository;
+import course.spring.elearningplatform.util.BoundedRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind sink for activity logs. Request threads only enqueue into a lock-free ring
+ * buffer; a single background thread drains it and writes JDBC batches.
+ */
+@Component
+public class ActivityLogWriter {
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private final ActivityLogBatchRepository batchRepository;
+    private final BoundedRingBuffer<ActivityLog> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutMillis;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    @Autowired
+    public ActivityLogWriter(ActivityLogBatchRepository batchRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${activity-log.buffer.capacity:8192}") int capacity,
+                             @Value("${activity-log.buffer.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                             @Value("${activity-log.buffer.block-timeout-ms:50}") long blockTimeoutMillis,
+                             @Value("${activity-log.writer.batch-size:500}") int batchSize,
+                             @Value("${activity-log.writer.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.batchRepository = batchRepository;
+        this.buffer = new BoundedRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMillis = blockTimeoutMillis;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+        Gauge.builder("activity.log.buffer.depth", buffer, BoundedRingBuffer::size)
+                .description("Activity log entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("activity.log.buffer.capacity", buffer, BoundedRingBuffer::capacity)
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("activity.log.dropped")
+                .description("Activity log entries dropped because the buffer was full")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("activity.log.written").register(meterRegistry);
+        this.failedCounter = Counter.builder("activity.log.write.failures")
+                .description("Activity log entries lost to failed batch inserts")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "activity-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Returns {@code false} when the entry was dropped because the buffer stayed full.
+     */
+    public boolean enqueue(ActivityLog log) {
+        boolean accepted = overflowPolicy == OverflowPolicy.BLOCK
+                ? buffer.offer(log, blockTimeoutMillis, TimeUnit.MILLISECONDS)
+                : buffer.offer(log);
+        if (!accepted) {
+            droppedCounter.increment();
+            return false;
+        }
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    private void run() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (buffer.drainTo(batch, batchSize) == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            write(batch);
+        }
+    }
+
+    private void write(List<ActivityLog> batch) {
+        try {
+            batchRepository.insertBatch(batch);
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            logger.error("Failed to write {} activity log entries", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+}
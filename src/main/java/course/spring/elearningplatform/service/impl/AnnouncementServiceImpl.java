@@ -1,81 +1,101 @@
 package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.AnnouncementDto;
+import course.spring.elearningplatform.dto.event.AnnouncementPostedEvent;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
 import course.spring.elearningplatform.dto.mapper.AnnouncementDtoToAnnouncementMapper;
 import course.spring.elearningplatform.entity.Announcement;
 import course.spring.elearningplatform.exception.MaximumAnnouncementsException;
 import course.spring.elearningplatform.repository.AnnouncementRepository;
 import course.spring.elearningplatform.service.AnnouncementService;
+import course.spring.elearningplatform.service.DomainEventPublisher;
+import course.spring.elearningplatform.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+/**
+ * Active announcements are read from an immutable snapshot ordered by {@code expiresAt}; reads
+ * skip the already expired head of the list and never touch the database. Writes and the
+ * scheduled purge replace the snapshot wholesale after they commit.
+ */
 @Service
 public class AnnouncementServiceImpl implements AnnouncementService {
 
   private static final int MAX_ANNOUNCEMENTS = 5;
+  private static final DateTimeFormatter EXPIRY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 
   private final AnnouncementRepository announcementRepository;
+  private final DomainEventPublisher domainEventPublisher;
+  private volatile List<Announcement> snapshot = List.of();
 
   @Autowired
-  public AnnouncementServiceImpl(AnnouncementRepository announcementRepository) {
+  public AnnouncementServiceImpl(AnnouncementRepository announcementRepository,
+                                 DomainEventPublisher domainEventPublisher) {
     this.announcementRepository = announcementRepository;
+    this.domainEventPublisher = domainEventPublisher;
   }
 
+  @PostConstruct
+  public void refreshSnapshot() {
+    snapshot = List.copyOf(announcementRepository.findByExpiresAtAfterOrderByExpiresAt(LocalDateTime.now()));
+  }
 
   @Override
-  @SuppressWarnings("unchecked")
   public List<String> getAllActiveAnnouncementsAsStrings() {
-    return (List<String>) getAllActiveAnnouncements(true);
+    return getAllActiveAnnouncements().stream()
+            .map(announcement -> String.format("%s: %s! Available until: %s!", announcement.getTitle(),
+                    announcement.getContent(), announcement.getExpiresAt().format(EXPIRY_FORMAT)))
+            .toList();
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public List<Announcement> getAllActiveAnnouncements() {
-    return (List<Announcement>) getAllActiveAnnouncements(false);
+    List<Announcement> current = snapshot;
+    LocalDateTime now = LocalDateTime.now();
+    int firstActive = 0;
+    while (firstActive < current.size() && !current.get(firstActive).getExpiresAt().isAfter(now)) {
+      firstActive++;
+    }
+    return current.subList(firstActive, current.size());
   }
 
   @Override
+  @Transactional
   public Announcement addAnnouncement(AnnouncementDto announcement) {
-    List<Announcement> allAnnouncements = announcementRepository.findAll();
-    List<Announcement> activeAnnouncements = allAnnouncements.stream()
-            .filter(Announcement::isActive)
-            .toList();
-
-    allAnnouncements.removeAll(activeAnnouncements);
-    announcementRepository.deleteAll(allAnnouncements);
-
-    if (activeAnnouncements.size() >= MAX_ANNOUNCEMENTS) {
+    if (announcementRepository.countByExpiresAtAfter(LocalDateTime.now()) >= MAX_ANNOUNCEMENTS) {
       throw new MaximumAnnouncementsException("Maximum announcements reached! You can add up to 5 announcements!");
     }
 
     Announcement announcementToAdd = AnnouncementDtoToAnnouncementMapper.mapArticleDtoToArticle(announcement);
-    return announcementRepository.save(announcementToAdd);
+    Announcement savedAnnouncement = announcementRepository.save(announcementToAdd);
+    domainEventPublisher.publish(PlatformEventType.ANNOUNCEMENT_POSTED, null, new AnnouncementPostedEvent(
+            savedAnnouncement.getId(), savedAnnouncement.getTitle(), savedAnnouncement.getExpiresAt()));
+    AfterCommit.run(this::refreshSnapshot);
+    return savedAnnouncement;
   }
 
   @Override
+  @Transactional
   public void deleteAnnouncement(Long id) {
     announcementRepository.deleteById(id);
+    AfterCommit.run(this::refreshSnapshot);
   }
 
-  private List<?> getAllActiveAnnouncements(boolean asStrings) {
-    List<Announcement> allAnnouncements = announcementRepository.findAll();
-    List<Announcement> activeAnnouncements = allAnnouncements.stream()
-            .filter(Announcement::isActive)
-            .toList();
-
-    allAnnouncements.removeAll(activeAnnouncements);
-    announcementRepository.deleteAll(allAnnouncements);
-
-    if (asStrings) {
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-      return activeAnnouncements.stream().map(announcement ->
-              String.format("%s: %s! Available until: %s!", announcement.getTitle(), announcement.getContent(), announcement.getExpiresAt().format(formatter)))
-              .toList();
-    } else {
-      return activeAnnouncements;
-    }
+  /**
+   * Drops expired rows with one indexed delete and reloads the snapshot, which also picks up
+   * announcements added or removed on other nodes.
+   */
+  @Scheduled(fixedDelayString = "${announcements.purge-interval-ms:60000}")
+  @Transactional
+  public void purgeExpired() {
+    announcementRepository.deleteExpired(LocalDateTime.now());
+    AfterCommit.run(this::refreshSnapshot);
   }
 }
@@ -2,6 +2,7 @@ package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.ArticleDto;
 import course.spring.elearningplatform.dto.mapper.ArticleDtoToArticleMapper;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Article;
 import course.spring.elearningplatform.entity.Group;
 import course.spring.elearningplatform.entity.Image;
@@ -11,7 +12,9 @@ import course.spring.elearningplatform.repository.ArticleRepository;
 import course.spring.elearningplatform.service.ArticleService;
 import course.spring.elearningplatform.service.GroupService;
 import course.spring.elearningplatform.service.UserService;
+import course.spring.elearningplatform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -43,15 +46,29 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
-    public List<Article> getAllArticlesForAGroup(Long groupId) {
-        List<Article> articles = articleRepository.findByGroupId(groupId) != null ? articleRepository.findByGroupId(groupId) : List.of();
-        return articles.stream().peek(article -> {
+    public CursorPage<Article> getArticleFeed(Long groupId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Article> fetched;
+
+        if (cursor == null || cursor.isBlank()) {
+            fetched = articleRepository.findFeed(groupId, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            if (position.timestamp() == null) {
+                throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+            }
+            fetched = articleRepository.findFeedBefore(groupId, position.timestamp(), position.id(), limit);
+        }
+
+        fetched.forEach(article -> {
             User author = article.getAuthor();
             Image profilePicture = author.getProfilePicture();
             if (profilePicture != null) {
                 author.setProfilePictureBase64(profilePicture.parseImage());
             }
-        }).toList();
+        });
+        return CursorPage.of(fetched, pageSize, article -> KeysetCursor.encode(article.getCreatedAt(), article.getId()));
     }
 
     @Transactional
@@ -9,8 +9,11 @@ import course.spring.elearningplatform.repository.AssignmentRepository;
 import course.spring.elearningplatform.repository.CourseRepository;
 import course.spring.elearningplatform.service.AssignmentService;
 import course.spring.elearningplatform.service.NotificationService;
+import course.spring.elearningplatform.util.AfterCommit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,14 +24,17 @@ public class AssignmentServiceImpl implements AssignmentService {
     private final AssignmentRepository assignmentRepository;
     private final CourseRepository courseRepository;
     private final NotificationService notificationService;
+    private final DeadlineReminderScheduler deadlineReminderScheduler;
 
     @Autowired
     public AssignmentServiceImpl(AssignmentRepository assignmentRepository,
                                   CourseRepository courseRepository,
-                                  NotificationService notificationService) {
+                                  NotificationService notificationService,
+                                  DeadlineReminderScheduler deadlineReminderScheduler) {
         this.assignmentRepository = assignmentRepository;
         this.courseRepository = courseRepository;
         this.notificationService = notificationService;
+        this.deadlineReminderScheduler = deadlineReminderScheduler;
     }
 
     @Override
@@ -45,6 +51,14 @@ public class AssignmentServiceImpl implements AssignmentService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AssignmentDto> getUpcomingAssignments(int limit) {
+        return assignmentRepository.findByDueDateAfterOrderByDueDate(LocalDateTime.now(), Limit.of(limit)).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public AssignmentDto getAssignmentById(Long id) {
         return assignmentRepository.findById(id)
@@ -53,6 +67,7 @@ public class AssignmentServiceImpl implements AssignmentService {
     }
 
     @Override
+    @Transactional
     public AssignmentDto saveAssignment(AssignmentDto assignmentDto) {
         Assignment assignment = new Assignment();
         assignment.setTitle(assignmentDto.getTitle());
@@ -80,14 +95,18 @@ public class AssignmentServiceImpl implements AssignmentService {
                     LocalDateTime.now()
             );
             notificationService.sendAssignmentNotification(notification);
+            AfterCommit.run(() -> deadlineReminderScheduler.schedule(savedAssignment.getId(),
+                    savedAssignment.getCourse().getId(), savedAssignment.getTitle(), savedAssignment.getDueDate()));
         }
 
         return mapToDto(savedAssignment);
     }
 
     @Override
+    @Transactional
     public void deleteAssignment(Long id) {
         assignmentRepository.deleteById(id);
+        AfterCommit.run(() -> deadlineReminderScheduler.cancel(id));
     }
 
     private AssignmentDto mapToDto(Assignment assignment) {
@@ -1,86 +1,71 @@
 package course.spring.elearningplatform.service.impl;
 
-import course.spring.elearningplatform.entity.Course;
-import course.spring.elearningplatform.entity.Lesson;
-import course.spring.elearningplatform.entity.User;
+import course.spring.elearningplatform.dto.projection.UserSummaryView;
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.ParticipantProgress;
+import course.spring.elearningplatform.exception.EntityNotFoundException;
 import course.spring.elearningplatform.repository.CourseRepository;
 import course.spring.elearningplatform.repository.UserRepository;
 import course.spring.elearningplatform.service.CourseDashboardService;
+import course.spring.elearningplatform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 public class CourseDashboardServiceImpl implements CourseDashboardService {
 
-    @Autowired
-    private CourseRepository courseRepository;
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final CourseProgressCache courseProgressCache;
 
     @Autowired
-    private UserRepository userRepository;
-
-    public Map<User, ProgressInfo> getUserProgressInCourse(Long courseId) {
-       
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new IllegalArgumentException("Course not found"));
-        List<Lesson> lessons = course.getLessons();
-        long totalLessons = lessons.size();
-
-        Map<User, ProgressInfo> userProgress = new HashMap<>();
-
-       
-        for (User student : course.getParticipants()) {
-            Set<Lesson> studentLessons = student.getCompletedLessons();
-
-           
-            List<Lesson> courseLessons = studentLessons.stream()
-                    .filter(lesson -> lesson.getRelatedCourse() != null && lesson.getRelatedCourse().getId().equals(courseId))
-                    .collect(Collectors.toList());
-
-           
-            long completedLessons = courseLessons.size();
-
-           
-            double progressPercentage = totalLessons > 0 ? (completedLessons * 100.0) / totalLessons : 0;
-
-           
-            double roundedProgressPercentage = Math.round(progressPercentage * 100.0) / 100.0;
-
-
-           
-            userProgress.put(student, new ProgressInfo(completedLessons, totalLessons, roundedProgressPercentage));
-        }
-
-        return userProgress;
+    public CourseDashboardServiceImpl(CourseRepository courseRepository, UserRepository userRepository,
+                                      CourseProgressCache courseProgressCache) {
+        this.courseRepository = courseRepository;
+        this.userRepository = userRepository;
+        this.courseProgressCache = courseProgressCache;
     }
 
-   
-    public static class ProgressInfo {
-        private final long completedLessons;
-        private final long totalLessons;
-        private final double progressWidth;
-
-        public ProgressInfo(long completedLessons, long totalLessons, double progressWidth) {
-            this.completedLessons = completedLessons;
-            this.totalLessons = totalLessons;
-            this.progressWidth = progressWidth;
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ParticipantProgress> getParticipantProgress(Long courseId, String cursor, int size) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException("Course not found");
         }
+        int pageSize = CursorPage.clampSize(size);
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor).id();
+        List<UserSummaryView> participants =
+                userRepository.findParticipantsPageAfter(courseId, afterId, Limit.of(pageSize + 1));
+
+        CourseProgressCache.CourseCounters counters = courseProgressCache.get(courseId);
+        long totalLessons = counters.getTotalLessons();
+        return CursorPage.of(participants, pageSize, participant -> KeysetCursor.encode(participant.getId()))
+                .map(participant -> {
+                    long completedLessons = counters.getCompletedLessons(participant.getId());
+                    double progressPercentage = totalLessons > 0 ? (completedLessons * 100.0) / totalLessons : 0;
+                    double roundedProgressPercentage = Math.round(progressPercentage * 100.0) / 100.0;
+                    return new ParticipantProgress(participant.getId(), participant.getUsername(),
+                            participant.getFirstName() + " " + participant.getLastName(),
+                            completedLessons, totalLessons, roundedProgressPercentage);
+                });
+    }
 
-        public long getCompletedLessons() {
-            return completedLessons;
-        }
+    @Override
+    public boolean isCourseCreator(Long courseId, Long userId) {
+        return userId != null && userId.equals(courseRepository.findCreatorId(courseId));
+    }
 
-        public long getTotalLessons() {
-            return totalLessons;
-        }
+    @Override
+    public void recordProgress(Long courseId, Long userId, int completedLessons) {
+        courseProgressCache.progressChanged(courseId, userId, completedLessons);
+    }
 
-        public double getProgressWidth() {
-            return progressWidth;
-        }
+    @Override
+    public void recordLessonAdded(Long courseId) {
+        courseProgressCache.lessonAdded(courseId);
     }
 }
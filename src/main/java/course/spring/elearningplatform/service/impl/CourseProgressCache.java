@@ -0,0 +1,103 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.LessonProgress;
+import course.spring.elearningplatform.repository.LessonProgressRepository;
+import course.spring.elearningplatform.repository.LessonRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-course completion counters. A course is loaded from its {@code lesson_progress} counts the first
+ * time it is asked for and is then kept current by lesson completions on this node instead of being
+ * recomputed. Completions and new lessons on other nodes are not seen until the entry is reloaded,
+ * so entries live for a short TTL and the least recently used courses are dropped past a bound.
+ */
+@Component
+public class CourseProgressCache {
+
+    private final LessonRepository lessonRepository;
+    private final LessonProgressRepository lessonProgressRepository;
+    private final Map<Long, CourseCounters> courses;
+    private final long ttlMillis;
+
+    @Autowired
+    public CourseProgressCache(LessonRepository lessonRepository,
+                               LessonProgressRepository lessonProgressRepository,
+                               @Value("${course-progress.cache.max-entries:1000}") int maxEntries,
+                               @Value("${course-progress.cache.ttl-ms:60000}") long ttlMillis) {
+        this.lessonRepository = lessonRepository;
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.ttlMillis = ttlMillis;
+        this.courses = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CourseCounters> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public CourseCounters get(Long courseId) {
+        CourseCounters counters = courses.get(courseId);
+        if (counters == null || System.currentTimeMillis() - counters.loadedAt > ttlMillis) {
+            counters = load(courseId);
+            courses.put(courseId, counters);
+        }
+        return counters;
+    }
+
+    /**
+     * Records a user's completed lesson count. Counts only grow, so an out-of-order update never lowers it.
+     */
+    public void progressChanged(Long courseId, Long userId, int completedLessons) {
+        CourseCounters counters = courses.get(courseId);
+        if (counters != null) {
+            counters.completedByUser.computeIfAbsent(userId, id -> new AtomicInteger())
+                    .accumulateAndGet(completedLessons, Math::max);
+        }
+    }
+
+    public void lessonAdded(Long courseId) {
+        CourseCounters counters = courses.get(courseId);
+        if (counters != null) {
+            counters.totalLessons.incrementAndGet();
+        }
+    }
+
+    public void evict(Long courseId) {
+        courses.remove(courseId);
+    }
+
+    private CourseCounters load(Long courseId) {
+        CourseCounters counters = new CourseCounters((int) lessonRepository.countByRelatedCourseId(courseId));
+        for (LessonProgress progress : lessonProgressRepository.findByCourseId(courseId)) {
+            counters.completedByUser.put(progress.getUserId(), new AtomicInteger(progress.getCompletedCount()));
+        }
+        return counters;
+    }
+
+    public static class CourseCounters {
+        private final AtomicInteger totalLessons;
+        private final Map<Long, AtomicInteger> completedByUser = new ConcurrentHashMap<>();
+        private final long loadedAt = System.currentTimeMillis();
+
+        CourseCounters(int totalLessons) {
+            this.totalLessons = new AtomicInteger(totalLessons);
+        }
+
+        public int getTotalLessons() {
+            return totalLessons.get();
+        }
+
+        public int getCompletedLessons(Long userId) {
+            AtomicInteger completed = completedByUser.get(userId);
+            return completed != null ? Math.min(completed.get(), getTotalLessons()) : 0;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.mapper.EntityMapper;
 import course.spring.elearningplatform.dto.QuestionDto;
+import course.spring.elearningplatform.dto.projection.CourseCountsView;
+import course.spring.elearningplatform.dto.projection.CourseLessonView;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.*;
 import course.spring.elearningplatform.exception.EntityNotFoundException;
 import course.spring.elearningplatform.repository.CourseRepository;
@@ -10,18 +13,24 @@ import course.spring.elearningplatform.dto.CourseDto;
 import course.spring.elearningplatform.dto.mapper.CourseDtoToCourseMapper;
 import course.spring.elearningplatform.exception.DuplicatedEntityException;
 import course.spring.elearningplatform.repository.StudentResultRepository;
+import course.spring.elearningplatform.repository.TableStatisticsRepository;
 import course.spring.elearningplatform.repository.UserRepository;
 import course.spring.elearningplatform.service.CourseService;
+import course.spring.elearningplatform.service.EnrollmentService;
 import course.spring.elearningplatform.service.ImageService;
+import course.spring.elearningplatform.service.LessonProgressService;
 import course.spring.elearningplatform.service.UserService;
+import course.spring.elearningplatform.util.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.AbstractMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +47,9 @@ public class CourseServiceImpl implements CourseService {
     private final EntityManager entityManager;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final LessonProgressService lessonProgressService;
+    private final EnrollmentService enrollmentService;
 
 
     @Autowired
@@ -47,7 +59,10 @@ public class CourseServiceImpl implements CourseService {
                              CertificateService certificateService,
                              StudentResultRepository studentResultRepository,
                              AnalyticsService analyticsService,
-                             EntityManager entityManager, UserRepository userRepository, UserService userService) {
+                             EntityManager entityManager, UserRepository userRepository, UserService userService,
+                             TableStatisticsRepository tableStatisticsRepository,
+                             LessonProgressService lessonProgressService,
+                             EnrollmentService enrollmentService) {
         this.courseRepository = courseRepository;
         this.questionRepository = questionRepository;
         this.imageService = imageService;
@@ -57,6 +72,9 @@ public class CourseServiceImpl implements CourseService {
         this.entityManager = entityManager;
         this.userRepository = userRepository;
         this.userService = userService;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.lessonProgressService = lessonProgressService;
+        this.enrollmentService = enrollmentService;
     }
 
 
@@ -74,6 +92,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Map<String, Set<Course>> getCoursesGroupedByCategory() {
         List<Course> allCourses = courseRepository.findAll();
         allCourses = allCourses.stream().peek(course -> {
@@ -97,6 +116,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByCategory(String category) {
         List<Course> courses = courseRepository.findAllByCategory(category);
         return courses.stream().peek(course -> {
@@ -123,6 +143,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getAllCoursesByUser(User user) {
         return courseRepository.findAllByCreatedBy(user).stream().peek(course -> {
                     Image image = course.getImage();
@@ -146,16 +167,7 @@ public class CourseServiceImpl implements CourseService {
 
     @Override
     public boolean areAllLessonsCompletedByUser(User user, Course course) {
-        Set<Lesson> completedLessons = user.getCompletedLessons();
-        List<Lesson> courseLessons = course.getLessons();
-
-        for (Lesson lesson : courseLessons) {
-            if (!completedLessons.contains(lesson)) {
-                return false;
-            }
-        }
-
-        return true;
+        return lessonProgressService.areAllLessonsCompleted(user.getId(), course.getId(), course.getLessons().size());
     }
 
     @Override
@@ -237,6 +249,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll().stream()
                 .peek(course -> {
@@ -247,6 +260,26 @@ public class CourseServiceImpl implements CourseService {
                 }).toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Course> getCoursesPage(String cursor, int size, boolean withTotal) {
+        int pageSize = CursorPage.clampSize(size);
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor).id();
+        List<Course> fetched = courseRepository.findPageAfter(afterId, Limit.of(pageSize + 1));
+        fetched.forEach(course -> {
+            Image image = course.getImage();
+            if (image != null) {
+                course.setImageBase64(image.parseImage());
+            }
+        });
+
+        CursorPage<Course> page = CursorPage.of(fetched, pageSize, course -> KeysetCursor.encode(course.getId()));
+        if (withTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("course"));
+        }
+        return page;
+    }
+
     @Override
     public Course findById(Long courseId) {
         return courseRepository.findById(courseId)
@@ -263,8 +296,7 @@ public class CourseServiceImpl implements CourseService {
             certificateService.issueCertificate(username, course, percentage);
             course.addStudentCompletedCourse(user);
             Course savedCourse = save(course);
-            user.addCompletedCourse(savedCourse);
-            userService.save(user);
+            userService.addCompletedCourse(user, savedCourse);
         }
         var highScores = course.getHighScores();
         if (highScores.stream().filter(score -> score.getUsername().equals(username)).count() == 0) {
@@ -307,6 +339,7 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<StudentResult> getHighScoresForCourse(Long courseId) {
         Course course = getCourseById(courseId);
         return course.getHighScores().stream()
@@ -332,10 +365,27 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
-    public Course startCourse(Long courseId, User user) {
-        Course course = getCourseById(courseId);
-        course.addParticipant(user);
-        return courseRepository.save(course);
+    @Transactional(readOnly = true)
+    public Map<Long, CourseCountsView> getCourseCounts(Collection<Long> courseIds) {
+        return courseRepository.findCounts(courseIds).stream()
+                .collect(Collectors.toMap(CourseCountsView::getCourseId, counts -> counts));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<CourseLessonView>> getLessonSummaries(Collection<Long> courseIds) {
+        return courseRepository.findLessonSummaries(courseIds).stream()
+                .collect(Collectors.groupingBy(CourseLessonView::getCourseId));
+    }
+
+    @Override
+    @Transactional
+    public void startCourse(Long courseId, Long userId) {
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException("There is no such course!");
+        }
+        courseRepository.enroll(userId, courseId);
+        enrollmentService.enrolled(userId, courseId);
     }
 
     @Override
@@ -0,0 +1,216 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.dto.event.AssignmentDueSoonEvent;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.dto.projection.AssignmentDeadlineView;
+import course.spring.elearningplatform.repository.AssignmentRepository;
+import course.spring.elearningplatform.repository.ReminderDispatchRepository;
+import course.spring.elearningplatform.service.DomainEventPublisher;
+import course.spring.elearningplatform.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends "due in 24h" and "due in 1h" reminders for assignments. Every upcoming deadline lives in a
+ * {@link HierarchicalTimingWheel} driven by a dedicated one-second ticker, filled at startup and
+ * kept current by assignment create/delete plus a periodic resync for changes made on other nodes.
+ * Every node may fire the same reminder; a {@code reminder_dispatch} row inserted in the same
+ * transaction as the outbox event decides which one actually sends it.
+ */
+@Component
+public class DeadlineReminderScheduler {
+
+    enum ReminderKind {
+        DUE_IN_24H(Duration.ofHours(24)),
+        DUE_IN_1H(Duration.ofHours(1));
+
+        private final Duration before;
+
+        ReminderKind(Duration before) {
+            this.before = before;
+        }
+    }
+
+    private record Reminder(Long assignmentId, Long courseId, String title, LocalDateTime dueDate, ReminderKind kind) {
+    }
+
+    private record ScheduledDeadline(LocalDateTime dueDate, List<HierarchicalTimingWheel.Timer<Reminder>> timers) {
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineReminderScheduler.class);
+    // 1 s ticks: a minute, an hour, a day and 64 days per level
+    private static final int[] WHEEL_SIZES = {60, 60, 24, 64};
+
+    private final AssignmentRepository assignmentRepository;
+    private final ReminderDispatchRepository reminderDispatchRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final HierarchicalTimingWheel<Reminder> wheel =
+            new HierarchicalTimingWheel<>(1000, WHEEL_SIZES, System.currentTimeMillis());
+    private final Map<Long, ScheduledDeadline> deadlines = new ConcurrentHashMap<>();
+    private final String nodeName = ManagementFactory.getRuntimeMXBean().getName();
+    private final Counter sentCounter;
+    private final Counter skippedCounter;
+
+    private ScheduledExecutorService ticker;
+
+    @Autowired
+    public DeadlineReminderScheduler(AssignmentRepository assignmentRepository,
+                                     ReminderDispatchRepository reminderDispatchRepository,
+                                     DomainEventPublisher domainEventPublisher,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.assignmentRepository = assignmentRepository;
+        this.reminderDispatchRepository = reminderDispatchRepository;
+        this.domainEventPublisher = domainEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("deadline.reminders.pending", wheel, HierarchicalTimingWheel::size)
+                .description("Reminders waiting in the timing wheel")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("deadline.reminders.sent").register(meterRegistry);
+        this.skippedCounter = Counter.builder("deadline.reminders.skipped")
+                .description("Reminders already claimed by another node or for deleted assignments")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        resync();
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deadline-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Replaces any reminders already scheduled for the assignment.
+     */
+    public void schedule(Long assignmentId, Long courseId, String title, LocalDateTime dueDate) {
+        deadlines.compute(assignmentId, (id, previous) -> {
+            cancelTimers(previous);
+            return dueDate == null || courseId == null ? null : scheduleTimers(assignmentId, courseId, title, dueDate);
+        });
+    }
+
+    public void cancel(Long assignmentId) {
+        deadlines.computeIfPresent(assignmentId, (id, previous) -> {
+            cancelTimers(previous);
+            return null;
+        });
+    }
+
+    /**
+     * Reconciles the wheel with the table: picks up assignments created or deleted on other nodes,
+     * and drops dispatch claims whose deadline has passed, since nothing can fire for them again.
+     */
+    @Scheduled(fixedDelayString = "${deadline-reminders.resync-interval-ms:600000}",
+            initialDelayString = "${deadline-reminders.resync-interval-ms:600000}")
+    public void resync() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> upcoming = new HashSet<>();
+        for (AssignmentDeadlineView deadline : assignmentRepository.findUpcomingDeadlines(now)) {
+            upcoming.add(deadline.getId());
+            ScheduledDeadline scheduled = deadlines.get(deadline.getId());
+            if (scheduled == null || !scheduled.dueDate().equals(deadline.getDueDate())) {
+                schedule(deadline.getId(), deadline.getCourseId(), deadline.getTitle(), deadline.getDueDate());
+            }
+        }
+        for (Long assignmentId : deadlines.keySet()) {
+            if (!upcoming.contains(assignmentId)) {
+                cancel(assignmentId);
+            }
+        }
+        Integer purged = transactionTemplate.execute(status -> reminderDispatchRepository.deleteForPastDeadlines(now));
+        logger.info("Deadline reminders resynced: {} assignments, {} timers, {} past claims purged in {} ms",
+                upcoming.size(), wheel.size(), purged, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void tick() {
+        try {
+            wheel.advanceTo(System.currentTimeMillis(), this::fire);
+        } catch (RuntimeException e) {
+            logger.error("Deadline reminder tick failed", e);
+        }
+    }
+
+    private ScheduledDeadline scheduleTimers(Long assignmentId, Long courseId, String title, LocalDateTime dueDate) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!dueDate.isAfter(now)) {
+            return null;
+        }
+        List<HierarchicalTimingWheel.Timer<Reminder>> timers = new ArrayList<>(2);
+        for (ReminderKind kind : ReminderKind.values()) {
+            LocalDateTime fireAt = dueDate.minus(kind.before);
+            // a deadline already inside the 1h window only gets the 1h reminder, sent right away
+            if (kind == ReminderKind.DUE_IN_24H && !dueDate.minus(ReminderKind.DUE_IN_1H.before).isAfter(now)) {
+                continue;
+            }
+            Reminder reminder = new Reminder(assignmentId, courseId, title, dueDate, kind);
+            timers.add(wheel.schedule(reminder, fireAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        }
+        return new ScheduledDeadline(dueDate, timers);
+    }
+
+    private static void cancelTimers(ScheduledDeadline scheduled) {
+        if (scheduled != null) {
+            scheduled.timers().forEach(HierarchicalTimingWheel.Timer::cancel);
+        }
+    }
+
+    private void fire(Reminder reminder) {
+        if (reminder.kind() == ReminderKind.DUE_IN_1H) {
+            deadlines.computeIfPresent(reminder.assignmentId(),
+                    (id, scheduled) -> scheduled.dueDate().equals(reminder.dueDate()) ? null : scheduled);
+        }
+        try {
+            Boolean sent = transactionTemplate.execute(status -> {
+                if (!assignmentRepository.existsById(reminder.assignmentId())
+                        || reminderDispatchRepository.claim(reminder.assignmentId(), reminder.kind().name(), nodeName) == 0) {
+                    return false;
+                }
+                domainEventPublisher.publish(PlatformEventType.ASSIGNMENT_DUE_SOON, reminder.courseId(),
+                        new AssignmentDueSoonEvent(reminder.assignmentId(), reminder.courseId(), reminder.title(), reminder.dueDate()));
+                return true;
+            });
+            (Boolean.TRUE.equals(sent) ? sentCounter : skippedCounter).increment();
+        } catch (RuntimeException e) {
+            logger.error("Could not send {} reminder for assignment {}", reminder.kind(), reminder.assignmentId(), e);
+        }
+    }
+}
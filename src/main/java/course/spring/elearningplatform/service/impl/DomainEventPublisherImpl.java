@@ -0,0 +1,49 @@
+package course.spring.elearningplatform.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import course.spring.elearningplatform.config.RabbitMQConfig;
+import course.spring.elearningplatform.dto.event.EventEnvelope;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.entity.OutboxEvent;
+import course.spring.elearningplatform.repository.OutboxEventRepository;
+import course.spring.elearningplatform.service.DomainEventPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Service
+public class DomainEventPublisherImpl implements DomainEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public DomainEventPublisherImpl(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional
+    public void publish(PlatformEventType type, Long scopeId, Object data) {
+        EventEnvelope envelope = new EventEnvelope(
+                type.getEventName(), type.getVersion(), UUID.randomUUID().toString(), Instant.now(), data);
+        outboxEventRepository.save(new OutboxEvent(
+                RabbitMQConfig.PLATFORM_EVENTS_EXCHANGE,
+                type.routingKey(scopeId),
+                type.getEventName(),
+                toJson(envelope)));
+    }
+
+    private String toJson(EventEnvelope envelope) {
+        try {
+            return objectMapper.writeValueAsString(envelope);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + envelope.getType() + " event", e);
+        }
+    }
+}
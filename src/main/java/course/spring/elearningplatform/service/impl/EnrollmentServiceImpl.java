@@ -0,0 +1,182 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.dto.EnrollmentCheck;
+import course.spring.elearningplatform.repository.EnrollmentRepository;
+import course.spring.elearningplatform.service.EnrollmentService;
+import course.spring.elearningplatform.util.AfterCommit;
+import course.spring.elearningplatform.util.SortedLongArrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory view of {@code user_started_courses} in both directions, kept as sorted {@code long[]}
+ * sets so lookups never touch the database or hydrate entities. Enrollment changes are applied after
+ * their transaction commits; a periodic rebuild picks up anything written around the service.
+ */
+@Service
+public class EnrollmentServiceImpl implements EnrollmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentServiceImpl.class);
+
+    private final EnrollmentRepository enrollmentRepository;
+    // rebuilds take the write lock so no update can land between the table scan and the swap
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Index index;
+
+    @Autowired
+    public EnrollmentServiceImpl(EnrollmentRepository enrollmentRepository) {
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        loadedIndex();
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment-index.rebuild-interval-ms:900000}",
+            initialDelayString = "${enrollment-index.rebuild-interval-ms:900000}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            index = load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public long[] getEnrolledCourseIds(Long userId) {
+        return orEmpty(loadedIndex().coursesByUser.get(userId));
+    }
+
+    @Override
+    public long[] getEnrolledUserIds(Long courseId) {
+        return orEmpty(loadedIndex().usersByCourse.get(courseId));
+    }
+
+    @Override
+    public boolean isEnrolled(Long userId, Long courseId) {
+        if (userId == null || courseId == null) {
+            return false;
+        }
+        return SortedLongArrays.contains(loadedIndex().coursesByUser.get(userId), courseId);
+    }
+
+    @Override
+    public List<EnrollmentCheck> validate(List<EnrollmentCheck> checks) {
+        Index current = loadedIndex();
+        for (EnrollmentCheck check : checks) {
+            check.setEnrolled(check.getUserId() != null && check.getCourseId() != null
+                    && SortedLongArrays.contains(current.coursesByUser.get(check.getUserId()), check.getCourseId()));
+        }
+        return checks;
+    }
+
+    @Override
+    public void enrolled(Long userId, Long courseId) {
+        AfterCommit.run(() -> update(current -> {
+            current.coursesByUser.compute(userId, (id, courses) -> SortedLongArrays.add(courses, courseId));
+            current.usersByCourse.compute(courseId, (id, users) -> SortedLongArrays.add(users, userId));
+        }));
+    }
+
+    @Override
+    public void unenrolled(Long userId, Long courseId) {
+        AfterCommit.run(() -> update(current -> {
+            current.coursesByUser.computeIfPresent(userId, (id, courses) -> SortedLongArrays.remove(courses, courseId));
+            current.usersByCourse.computeIfPresent(courseId, (id, users) -> SortedLongArrays.remove(users, userId));
+        }));
+    }
+
+    private void update(Consumer<Index> change) {
+        lock.readLock().lock();
+        try {
+            // nothing to patch before the first load; the load itself will read the committed row
+            if (index != null) {
+                change.accept(index);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Index loadedIndex() {
+        Index current = index;
+        if (current != null) {
+            return current;
+        }
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                index = load();
+            }
+            return index;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Index load() {
+        long start = System.nanoTime();
+        Map<Long, LongBuffer> coursesByUser = new HashMap<>();
+        Map<Long, LongBuffer> usersByCourse = new HashMap<>();
+        enrollmentRepository.forEachEnrollment((userId, courseId) -> {
+            coursesByUser.computeIfAbsent(userId, id -> new LongBuffer()).add(courseId);
+            usersByCourse.computeIfAbsent(courseId, id -> new LongBuffer()).add(userId);
+        });
+
+        Index loaded = new Index();
+        coursesByUser.forEach((userId, courses) -> loaded.coursesByUser.put(userId, courses.toSortedSet()));
+        usersByCourse.forEach((courseId, users) -> loaded.usersByCourse.put(courseId, users.toSortedSet()));
+        logger.info("Loaded enrollment index for {} users and {} courses in {} ms",
+                loaded.coursesByUser.size(), loaded.usersByCourse.size(), (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+
+    private static long[] orEmpty(long[] ids) {
+        return ids == null ? SortedLongArrays.EMPTY : ids.clone();
+    }
+
+    private static class Index {
+        private final Map<Long, long[]> coursesByUser = new ConcurrentHashMap<>();
+        private final Map<Long, long[]> usersByCourse = new ConcurrentHashMap<>();
+    }
+
+    private static class LongBuffer {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedSet() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
@@ -2,10 +2,13 @@ package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.EventDto;
 import course.spring.elearningplatform.dto.ImageDto;
+import course.spring.elearningplatform.dto.event.EventScheduledEvent;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
 import course.spring.elearningplatform.entity.Event;
 import course.spring.elearningplatform.entity.Image;
 import course.spring.elearningplatform.exception.DuplicatedEntityException;
 import course.spring.elearningplatform.repository.EventRepository;
+import course.spring.elearningplatform.service.DomainEventPublisher;
 import course.spring.elearningplatform.service.EventService;
 import course.spring.elearningplatform.service.ImageService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,14 +24,17 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
     private final ImageService imageService;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Autowired
-    EventServiceImpl(EventRepository eventRepository, ImageService imageService) {
+    EventServiceImpl(EventRepository eventRepository, ImageService imageService,
+                     DomainEventPublisher domainEventPublisher) {
         this.imageService = imageService;
         this.eventRepository = eventRepository;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<Event> getAllEvents() {
         List<Event> allEvents = eventRepository.findAll();
@@ -60,13 +66,18 @@ public class EventServiceImpl implements EventService {
     }
 
 
+    @Transactional
     @Override
     public Event saveEvent(EventDto eventDto) {
         Event eventForCreate = buildEvent(eventDto);
         if (eventRepository.existsByTitle(eventForCreate.getTitle())) {
             throw new DuplicatedEntityException(String.format("Event with title %s already exists", eventForCreate.getTitle()));
         }
-        return eventRepository.save(eventForCreate);
+        Event savedEvent = eventRepository.save(eventForCreate);
+        Long courseId = savedEvent.getCourse() != null ? savedEvent.getCourse().getId() : null;
+        domainEventPublisher.publish(PlatformEventType.EVENT_SCHEDULED, courseId, new EventScheduledEvent(
+                savedEvent.getId(), courseId, savedEvent.getTitle(), savedEvent.getStartTime(), savedEvent.getEndTime()));
+        return savedEvent;
     }
 
     @Override
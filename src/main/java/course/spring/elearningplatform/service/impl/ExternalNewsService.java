@@ -1,65 +1,190 @@
 package course.spring.elearningplatform.service.impl;
 
+import course.spring.elearningplatform.util.CircuitBreaker;
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
+/**
+ * NewsAPI results cached per page-size bucket. Fresh entries are served directly, stale ones are
+ * served while a background refresh runs (stale-while-revalidate), and only a cold bucket makes a
+ * request wait for upstream. Concurrent refreshes of one bucket share a single upstream call, which
+ * is further guarded by a timeout, a circuit breaker and a concurrency limit.
+ */
 @Service
 public class ExternalNewsService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExternalNewsService.class);
+    private static final int[] PAGE_SIZE_BUCKETS = {6, 12, 24, 50, 100};
+
     private final WebClient webClient;
-    
-    @Value("${newsapi.key}")
-    private String apiKey;
+    private final String apiKey;
+    private final long freshMillis;
+    private final long maxStaleMillis;
+    private final Duration upstreamTimeout;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Map<Integer, CachedNews> cache = new ConcurrentHashMap<>();
+    private final Map<Integer, CompletableFuture<CachedNews>> inFlight = new ConcurrentHashMap<>();
 
-    public ExternalNewsService(@Value("${newsapi.base-url}") String baseUrl) {
+    public ExternalNewsService(@Value("${newsapi.base-url}") String baseUrl,
+                               @Value("${newsapi.key}") String apiKey,
+                               @Value("${newsapi.cache.fresh-ms:300000}") long freshMillis,
+                               @Value("${newsapi.cache.max-stale-ms:86400000}") long maxStaleMillis,
+                               @Value("${newsapi.timeout.connect-ms:2000}") int connectTimeoutMillis,
+                               @Value("${newsapi.timeout.response-ms:5000}") long responseTimeoutMillis,
+                               @Value("${newsapi.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${newsapi.circuit-breaker.open-ms:60000}") long openMillis,
+                               @Value("${newsapi.bulkhead.max-concurrent:2}") int maxConcurrent) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
         this.webClient = WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
+        this.apiKey = apiKey;
+        this.freshMillis = freshMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        this.upstreamTimeout = Duration.ofMillis(connectTimeoutMillis + responseTimeoutMillis);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+        this.bulkhead = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Never blocks: cached entries complete immediately and a cold bucket completes when the shared
+     * upstream call does. Cancelling the returned Mono does not cancel that shared call.
+     */
+    public Mono<Map<String, Object>> getEducationalNews(int pageSize) {
+        int bucket = bucketFor(pageSize);
+        CachedNews cached = cache.get(bucket);
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now - cached.fetchedAt < freshMillis) {
+            return Mono.just(cached.page(pageSize, false));
+        }
+        if (cached != null && now - cached.fetchedAt < maxStaleMillis) {
+            refresh(bucket);
+            return Mono.just(cached.page(pageSize, true));
+        }
+
+        return Mono.fromFuture(refresh(bucket), true)
+                .timeout(upstreamTimeout)
+                .map(news -> news.page(pageSize, false))
+                .onErrorResume(e -> Mono.just(Map.<String, Object>of(
+                        "articles", List.of(), "totalResults", 0, "error", String.valueOf(e.getMessage()))));
+    }
+
+    /**
+     * Keeps every bucket that has been asked for warm, so readers rarely see even a stale entry.
+     */
+    @Scheduled(fixedDelayString = "${newsapi.cache.refresh-interval-ms:240000}")
+    public void refreshRequestedBuckets() {
+        cache.keySet().forEach(this::refresh);
+    }
+
+    private CompletableFuture<CachedNews> refresh(int bucket) {
+        CompletableFuture<CachedNews> created = new CompletableFuture<>();
+        CompletableFuture<CachedNews> existing = inFlight.putIfAbsent(bucket, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        fetch(bucket).whenComplete((news, error) -> {
+            inFlight.remove(bucket, created);
+            if (error != null) {
+                logger.warn("News refresh for page size {} failed: {}", bucket, error.getMessage());
+                created.completeExceptionally(error);
+            } else {
+                cache.put(bucket, news);
+                created.complete(news);
+            }
+        });
+        return created;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<CachedNews> fetch(int bucket) {
+        if (!bulkhead.tryAcquire()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Too many concurrent news requests"));
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(new IllegalStateException("News service temporarily unavailable"));
+        }
+
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/everything")
+                        .queryParam("q", "education OR learning OR university OR online courses")
+                        .queryParam("language", "en")
+                        .queryParam("sortBy", "publishedAt")
+                        .queryParam("pageSize", bucket)
+                        .queryParam("apiKey", apiKey)
+                        .build())
+                .retrieve()
+                .bodyToMono(Map.class)
+                .timeout(upstreamTimeout)
+                .toFuture()
+                .thenApply(response -> toCachedNews((Map<String, Object>) response))
+                .whenComplete((news, error) -> {
+                    bulkhead.release();
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        circuitBreaker.onFailure();
+                    }
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CachedNews toCachedNews(Map<String, Object> response) {
+        if (response == null || !"ok".equals(response.get("status"))) {
+            throw new IllegalStateException("NewsAPI returned " + (response == null ? "no body" : response.get("status")));
+        }
+        List<Map<String, Object>> articles = (List<Map<String, Object>>) response.get("articles");
+        List<Map<String, Object>> validArticles = articles.stream()
+                .filter(article -> {
+                    String title = (String) article.get("title");
+                    return title != null && !title.contains("[Removed]");
+                })
+                .toList();
+        return new CachedNews(validArticles, System.currentTimeMillis());
     }
 
-    public Map<String, Object> getEducationalNews(int pageSize) {
-        try {
-            Map<String, Object> response = webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/everything")
-                            .queryParam("q", "education OR learning OR university OR online courses")
-                            .queryParam("language", "en")
-                            .queryParam("sortBy", "publishedAt")
-                            .queryParam("pageSize", pageSize)
-                            .queryParam("apiKey", apiKey)
-                            .build())
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-
-            if (response != null && "ok".equals(response.get("status"))) {
-                List<Map<String, Object>> articles = (List<Map<String, Object>>) response.get("articles");
-                
-
-                List<Map<String, Object>> validArticles = articles.stream()
-                        .filter(article -> {
-                            String title = (String) article.get("title");
-                            return title != null && !title.contains("[Removed]");
-                        })
-                        .limit(pageSize)
-                        .toList();
-
-                Map<String, Object> result = new HashMap<>();
-                result.put("articles", validArticles);
-                result.put("totalResults", validArticles.size());
-                return result;
+    private static int bucketFor(int pageSize) {
+        for (int bucket : PAGE_SIZE_BUCKETS) {
+            if (pageSize <= bucket) {
+                return bucket;
             }
+        }
+        return PAGE_SIZE_BUCKETS[PAGE_SIZE_BUCKETS.length - 1];
+    }
 
-            return Map.of("articles", List.of(), "totalResults", 0);
-        } catch (Exception e) {
+    private record CachedNews(List<Map<String, Object>> articles, long fetchedAt) {
 
-            return Map.of("articles", List.of(), "totalResults", 0, "error", e.getMessage());
+        Map<String, Object> page(int pageSize, boolean stale) {
+            List<Map<String, Object>> page = articles.stream().limit(Math.max(pageSize, 0)).toList();
+            Map<String, Object> result = new HashMap<>();
+            result.put("articles", page);
+            result.put("totalResults", page.size());
+            result.put("stale", stale);
+            return result;
         }
     }
-}
\ No newline at end of file
+}
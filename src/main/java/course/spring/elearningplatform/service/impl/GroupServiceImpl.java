@@ -2,37 +2,42 @@ package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.GroupDto;
 import course.spring.elearningplatform.dto.ImageDto;
+import course.spring.elearningplatform.dto.projection.UserSummaryView;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Group;
 import course.spring.elearningplatform.entity.Image;
-import course.spring.elearningplatform.entity.User;
 import course.spring.elearningplatform.exception.DuplicatedEntityException;
 import course.spring.elearningplatform.exception.EntityNotFoundException;
 import course.spring.elearningplatform.repository.GroupRepository;
 import course.spring.elearningplatform.repository.UserRepository;
 import course.spring.elearningplatform.service.GroupService;
 import course.spring.elearningplatform.service.ImageService;
-import course.spring.elearningplatform.service.UserService;
+import course.spring.elearningplatform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class GroupServiceImpl implements GroupService {
 
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final GroupRepository groupRepository;
-    private final UserService userService;
     private final ImageService imageService;
     private final UserRepository userRepository;
 
     @Autowired
-    public GroupServiceImpl(GroupRepository groupRepository, UserService userService, ImageService imageService, UserRepository userRepository) {
+    public GroupServiceImpl(GroupRepository groupRepository, ImageService imageService, UserRepository userRepository) {
         this.groupRepository = groupRepository;
-        this.userService = userService;
         this.imageService = imageService;
         this.userRepository = userRepository;
     }
@@ -41,11 +46,13 @@ public class GroupServiceImpl implements GroupService {
     @Override
     public List<Group> getAllGroups() {
         List<Group> allGroups = groupRepository.findAll();
+        Map<Long, Long> memberCounts = countMembers(allGroups.stream().map(Group::getId).toList());
       return allGroups.stream().peek(group -> {
           Image image = group.getImage();
           if (image != null) {
               group.setImageBase64(image.parseImage());
           }
+          group.setMemberCount(memberCounts.getOrDefault(group.getId(), 0L));
               })
               .toList();
     }
@@ -59,16 +66,27 @@ public class GroupServiceImpl implements GroupService {
         if (image != null) {
             group.setImageBase64(image.parseImage());
         }
+        group.setMemberCount(countMembers(List.of(id)).getOrDefault(id, 0L));
         return group;
     }
 
+    @Transactional
     @Override
     public Group createGroup(GroupDto groupDto) {
         Group groupForCreate = buildGroup(groupDto);
         if (groupRepository.existsByName(groupForCreate.getName())) {
             throw new DuplicatedEntityException(String.format("Group with name %s already exists", groupForCreate.getName()));
         }
-        return groupRepository.save(groupForCreate);
+        Group createdGroup = groupRepository.save(groupForCreate);
+
+        Set<String> usernames = memberUsernames(groupDto);
+        if (!usernames.isEmpty()) {
+            int added = groupRepository.addMembersByUsername(createdGroup.getId(), usernames);
+            if (added != usernames.size()) {
+                throw new EntityNotFoundException("One or more group members do not exist", "redirect:/groups");
+            }
+        }
+        return createdGroup;
     }
 
     @Transactional
@@ -76,33 +94,14 @@ public class GroupServiceImpl implements GroupService {
     public Group deleteGroup(Long id) {
         Group group = groupRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(String.format("Group with id %s not found", id), "redirect:/groups"));
-
-        if (group.getMembers() != null && !group.getMembers().isEmpty()) {
-            for (User user : group.getMembers()) {
-                if (user.getGroups() != null) {
-                    user.getGroups().remove(group);
-                }
-            }
-            userRepository.saveAll(group.getMembers());
-        }
-
-        groupRepository.deleteById(id);
+        groupRepository.delete(group);
         return group;
     }
 
     private Group buildGroup(GroupDto groupDto) {
         Group group = new Group();
         group.setName(groupDto.getName());
-
-        Set<User> members = new HashSet<>();
-        if (groupDto.getMembers() != null && !groupDto.getMembers().isEmpty()) {
-            groupDto.getMembers().removeAll(List.of(""));
-            members = groupDto.getMembers().stream()
-                    .filter(username -> username != null && !username.trim().isEmpty())
-                    .map(userService::getUserByUsername)
-                    .collect(Collectors.toCollection(HashSet::new));
-        }
-        group.setMembers(members);
+        group.setMembers(new HashSet<>());
         group.setArticles(groupDto.getArticles());
         group.setDescription(groupDto.getDescription());
 
@@ -115,24 +114,77 @@ public class GroupServiceImpl implements GroupService {
         return group;
     }
 
+    private Set<String> memberUsernames(GroupDto groupDto) {
+        if (groupDto.getMembers() == null) {
+            return Set.of();
+        }
+        return groupDto.getMembers().stream()
+                .filter(username -> username != null && !username.trim().isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Transactional
     @Override
-    public Group addMember(Long id, String username) {
-        Group group = groupRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format("Group with id %s not found", id), "redirect:/groups/" + id));
-        User user = userService.getUserByUsername(username);
-        group.addMember(user);
-        user.getGroups().add(group);
-        userRepository.save(user);
-        return groupRepository.save(group);
+    public int addMembers(Long id, Collection<String> usernames) {
+        requireGroup(id);
+        return usernames.isEmpty() ? 0 : groupRepository.addMembersByUsername(id, usernames);
     }
 
+    @Transactional
     @Override
-    public Group removeMember(Long id, User user) {
-        Group group = groupRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format("Group with id %s not found", id), "redirect:/groups/" + id));
-        group.removeMember(user);
-        user.getGroups().remove(group);
-        userRepository.save(user);
-        return groupRepository.save(group);
+    public int addMembersById(Long id, Collection<Long> userIds) {
+        requireGroup(id);
+        return userIds.isEmpty() ? 0 : groupRepository.addMembersById(id, userIds);
+    }
+
+    @Transactional
+    @Override
+    public int removeMembers(Long id, Collection<Long> userIds) {
+        requireGroup(id);
+        return userIds.isEmpty() ? 0 : groupRepository.removeMembersById(id, userIds);
+    }
+
+    @Override
+    public boolean isMember(Long id, String username) {
+        return groupRepository.isMember(id, username);
+    }
+
+    @Override
+    public CursorPage<UserSummaryView> getMembers(Long id, String cursor, int size) {
+        requireGroup(id);
+        int pageSize = CursorPage.clampSize(size);
+        Long afterId = cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor).id();
+        List<UserSummaryView> fetched = groupRepository.findMembersPageAfter(id, afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(fetched, pageSize, member -> KeysetCursor.encode(member.getId()));
+    }
+
+    @Override
+    public List<UserSummaryView> suggestNewMembers(Long id, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String prefix = query.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        int suggestions = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return userRepository.findNonMembersByPrefix(id, prefix, List.of("deletedUser", "admin"), Limit.of(suggestions));
+    }
+
+    private void requireGroup(Long id) {
+        if (!groupRepository.existsById(id)) {
+            throw new EntityNotFoundException(String.format("Group with id %s not found", id), "redirect:/groups/" + id);
+        }
+    }
+
+    private Map<Long, Long> countMembers(List<Long> groupIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (groupIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : groupRepository.countMembers(groupIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
     }
 }
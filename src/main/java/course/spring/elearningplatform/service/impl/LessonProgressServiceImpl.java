@@ -0,0 +1,92 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.LessonProgressId;
+import course.spring.elearningplatform.repository.LessonProgressRepository;
+import course.spring.elearningplatform.service.LessonProgressService;
+import course.spring.elearningplatform.util.AfterCommit;
+import course.spring.elearningplatform.util.LessonBitSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class LessonProgressServiceImpl implements LessonProgressService {
+
+    private final LessonProgressRepository lessonProgressRepository;
+    private final Map<LessonProgressId, long[]> activeProgress;
+
+    @Autowired
+    public LessonProgressServiceImpl(LessonProgressRepository lessonProgressRepository,
+                                     @Value("${lesson-progress.cache.max-entries:10000}") int maxEntries) {
+        this.lessonProgressRepository = lessonProgressRepository;
+        this.activeProgress = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LessonProgressId, long[]> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public BitSet getCompletedLessons(Long userId, Long courseId) {
+        LessonProgressId id = new LessonProgressId(userId, courseId);
+        long[] words = activeProgress.get(id);
+        if (words == null) {
+            words = lessonProgressRepository.findById(id)
+                    .map(progress -> LessonBitSet.fromBytes(progress.getCompletedBits()).toLongArray())
+                    .orElse(new long[0]);
+            activeProgress.put(id, words);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    @Transactional
+    @Override
+    public int markCompleted(Long userId, Long courseId, int lessonOrdinal) {
+        BitSet lesson = new BitSet();
+        lesson.set(lessonOrdinal);
+        lessonProgressRepository.mergeCompletedBits(userId, courseId, LessonBitSet.toBytes(lesson));
+        int completed = (int) lessonProgressRepository.lastMergedCount();
+
+        AfterCommit.run(() -> activeProgress.computeIfPresent(new LessonProgressId(userId, courseId), (id, words) -> {
+            long[] merged = union(words, lesson.toLongArray());
+            // a count that does not match means lessons were completed elsewhere; reload on the next read
+            return BitSet.valueOf(merged).cardinality() == completed ? merged : null;
+        }));
+        return completed;
+    }
+
+    @Override
+    public boolean areAllLessonsCompleted(Long userId, Long courseId, int totalLessons) {
+        return getCompletedLessons(userId, courseId).nextClearBit(0) >= totalLessons;
+    }
+
+    @Override
+    public double getProgressPercentage(Long userId, Long courseId, int totalLessons) {
+        if (totalLessons == 0) {
+            return 0;
+        }
+        BitSet completed = getCompletedLessons(userId, courseId);
+        int completedLessons = completed.get(0, totalLessons).cardinality();
+        return Math.round(completedLessons * 10000.0 / totalLessons) / 100.0;
+    }
+
+    @Override
+    public int getNextLessonOrdinal(Long userId, Long courseId, int totalLessons) {
+        int next = getCompletedLessons(userId, courseId).nextClearBit(0);
+        return next < totalLessons ? next : -1;
+    }
+
+    // completion bits are only ever added, so merging two snapshots never loses progress
+    private static long[] union(long[] current, long[] incoming) {
+        BitSet bits = BitSet.valueOf(current);
+        bits.or(BitSet.valueOf(incoming));
+        return bits.toLongArray();
+    }
+}
@@ -10,8 +10,7 @@ import course.spring.elearningplatform.repository.LessonRepository;
 import course.spring.elearningplatform.service.LessonService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class LessonServiceImpl implements LessonService {
@@ -24,14 +23,18 @@ public class LessonServiceImpl implements LessonService {
         this.courseRepository = courseRepository;
     }
 
+    /**
+     * Locks the course row first, so concurrent additions to one course take the next ordinal in turn.
+     */
     @Override
+    @Transactional
     public Lesson addLesson(LessonDto lessonDto, Course course) {
-        Lesson lesson = LessonDtoToLessonMapper.mapLessonDtoToLesson(lessonDto, course);
-        List<Lesson> lessons = course.getLessons();
-        lessons.add(lesson);
-        course.setLessons(lessons);
+        Course lockedCourse = courseRepository.findByIdForUpdate(course.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Course not found"));
+        Lesson lesson = LessonDtoToLessonMapper.mapLessonDtoToLesson(lessonDto, lockedCourse);
+        lesson.setOrdinal(lessonRepository.findNextOrdinal(lockedCourse.getId()));
         Lesson savedLesson = lessonRepository.save(lesson);
-        courseRepository.save(course);
+        lockedCourse.getLessons().add(savedLesson);
         return savedLesson;
     }
 
@@ -40,6 +43,11 @@ public class LessonServiceImpl implements LessonService {
         return lessonRepository.findById(lessonId).orElseThrow(() -> new EntityNotFoundException("Lesson not found"));
     }
 
+    @Override
+    public long countLessons(Long courseId) {
+        return lessonRepository.countByRelatedCourseId(courseId);
+    }
+
     @Override
     public Lesson updateLessonDetails(Course course, Long id, String detail, Object value) {
         Lesson existingLesson = course.getLessonById(id);
@@ -0,0 +1,39 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.service.CacheInvalidationTransport;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM stand-in for the broker. Subscribers are shared by every application context in the
+ * JVM, so a test can start several contexts as separate nodes and watch invalidations cross.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "local", matchIfMissing = true)
+public class LocalCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final List<Consumer<CacheInvalidation>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<CacheInvalidation>> ownSubscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        SUBSCRIBERS.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> handler) {
+        ownSubscribers.add(handler);
+        SUBSCRIBERS.add(handler);
+    }
+
+    @PreDestroy
+    public void close() {
+        SUBSCRIBERS.removeAll(ownSubscribers);
+    }
+}
@@ -0,0 +1,69 @@
+package course.spring.elearningplatform.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import course.spring.elearningplatform.config.RabbitMQConfig;
+import course.spring.elearningplatform.service.EnrollmentService;
+import course.spring.elearningplatform.service.NotificationInboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes course and user events into the recipients' inboxes. The queue is durable and shared by
+ * all instances, so each event is stored once and survives while no instance is running. Course
+ * events go to the course's current participants; platform-wide events are not stored per user.
+ */
+@Component
+public class NotificationInboxListener {
+
+    public static final String INBOX_QUEUE = "notification-inbox";
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationInboxListener.class);
+
+    private final NotificationInboxService notificationInboxService;
+    private final EnrollmentService enrollmentService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public NotificationInboxListener(NotificationInboxService notificationInboxService,
+                                     EnrollmentService enrollmentService,
+                                     ObjectMapper objectMapper) {
+        this.notificationInboxService = notificationInboxService;
+        this.enrollmentService = enrollmentService;
+        this.objectMapper = objectMapper;
+    }
+
+    @RabbitListener(containerFactory = RabbitMQConfig.INBOX_LISTENER_CONTAINER_FACTORY, bindings = @QueueBinding(
+            value = @Queue(name = INBOX_QUEUE, durable = "true"),
+            exchange = @Exchange(name = RabbitMQConfig.PLATFORM_EVENTS_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {"course.*.#", "user.*.#"}))
+    public void onEvent(Message message) throws IOException {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        JsonNode envelope = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (!envelope.hasNonNull("id") || !envelope.hasNonNull("type")) {
+            logger.warn("Skipping event without envelope on {}", routingKey);
+            return;
+        }
+
+        String[] parts = routingKey.split("\\.", 3);
+        Long scopeId = Long.valueOf(parts[1]);
+        long[] recipients = "course".equals(parts[0])
+                ? enrollmentService.getEnrolledUserIds(scopeId)
+                : new long[]{scopeId};
+        if (recipients.length > 0) {
+            notificationInboxService.deliver(envelope.get("id").asText(), envelope.get("type").asText(),
+                    envelope.path("data").toString(), recipients);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.InboxNotification;
+import course.spring.elearningplatform.entity.NotificationReadCursor;
+import course.spring.elearningplatform.repository.NotificationInboxBatchRepository;
+import course.spring.elearningplatform.repository.NotificationInboxRepository;
+import course.spring.elearningplatform.repository.NotificationReadCursorRepository;
+import course.spring.elearningplatform.service.NotificationInboxService;
+import course.spring.elearningplatform.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread counts are served from memory: loaded with one count query the first time a user asks,
+ * bumped on every delivery and dropped when the user reads. Entries expire after a while so
+ * deliveries handled by another instance are picked up.
+ */
+@Service
+public class NotificationInboxServiceImpl implements NotificationInboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationInboxServiceImpl.class);
+    private static final int DELIVERY_CHUNK = 1000;
+    private static final int COMPACTION_CHUNK = 5000;
+
+    private final NotificationInboxRepository inboxRepository;
+    private final NotificationInboxBatchRepository inboxBatchRepository;
+    private final NotificationReadCursorRepository readCursorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long unreadTtlMillis;
+    private final int retentionDays;
+    private final Map<Long, UnreadCounter> unreadCounters;
+
+    @Autowired
+    public NotificationInboxServiceImpl(NotificationInboxRepository inboxRepository,
+                                        NotificationInboxBatchRepository inboxBatchRepository,
+                                        NotificationReadCursorRepository readCursorRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${notification-inbox.unread-cache.max-entries:50000}") int maxEntries,
+                                        @Value("${notification-inbox.unread-cache.ttl-ms:60000}") long unreadTtlMillis,
+                                        @Value("${notification-inbox.retention-days:30}") int retentionDays) {
+        this.inboxRepository = inboxRepository;
+        this.inboxBatchRepository = inboxBatchRepository;
+        this.readCursorRepository = readCursorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unreadTtlMillis = unreadTtlMillis;
+        this.retentionDays = retentionDays;
+        this.unreadCounters = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UnreadCounter> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public void deliver(String eventId, String eventType, String payload, long[] userIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < userIds.length; from += DELIVERY_CHUNK) {
+            List<Long> chunk = new ArrayList<>(Math.min(DELIVERY_CHUNK, userIds.length - from));
+            for (int i = from; i < Math.min(from + DELIVERY_CHUNK, userIds.length); i++) {
+                chunk.add(userIds[i]);
+            }
+            List<Long> inserted = inboxBatchRepository.insertBatch(chunk, eventId, eventType, payload, now);
+            for (Long userId : inserted) {
+                UnreadCounter counter = unreadCounters.get(userId);
+                if (counter != null) {
+                    counter.unread.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Override
+    public CursorPage<InboxNotification> getNotifications(Long userId, String cursor, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        long afterSeq = cursor == null ? 0 : KeysetCursor.decode(cursor).id();
+        List<InboxNotification> fetched = inboxRepository
+                .findByUserIdAndSeqGreaterThanOrderBySeq(userId, afterSeq, Limit.of(pageSize + 1)).stream()
+                .map(entry -> new InboxNotification(entry.getSeq(), entry.getEventType(), entry.getPayload(), entry.getCreatedAt()))
+                .toList();
+        return CursorPage.of(fetched, pageSize, notification -> KeysetCursor.encode(notification.getSeq()));
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        UnreadCounter counter = unreadCounters.get(userId);
+        if (counter == null || System.currentTimeMillis() - counter.loadedAt > unreadTtlMillis) {
+            long lastRead = readCursorRepository.findById(userId)
+                    .map(NotificationReadCursor::getLastReadSeq)
+                    .orElse(0L);
+            counter = new UnreadCounter(inboxRepository.countByUserIdAndSeqGreaterThan(userId, lastRead));
+            unreadCounters.put(userId, counter);
+        }
+        return counter.unread.get();
+    }
+
+    @Transactional
+    @Override
+    public void markRead(Long userId, long upToSeq) {
+        readCursorRepository.advance(userId, upToSeq);
+        unreadCounters.remove(userId);
+    }
+
+    @Scheduled(cron = "${notification-inbox.compaction-cron:0 30 0 * * *}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long removed = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> inboxRepository.deleteExpired(cutoff, COMPACTION_CHUNK));
+            removed += deleted;
+        } while (deleted == COMPACTION_CHUNK);
+        logger.info("Removed {} inbox entries older than {}", removed, cutoff);
+    }
+
+    private static final class UnreadCounter {
+        private final AtomicLong unread;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private UnreadCounter(long unread) {
+            this.unread = new AtomicLong(unread);
+        }
+    }
+}
@@ -1,34 +1,31 @@
 package course.spring.elearningplatform.service.impl;
 
-import course.spring.elearningplatform.config.RabbitMQConfig;
 import course.spring.elearningplatform.dto.AssignmentNotificationDto;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.service.DomainEventPublisher;
 import course.spring.elearningplatform.service.NotificationService;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Notifications are only written to the outbox here; {@link OutboxRelay} publishes them once the
+ * surrounding transaction has committed.
+ */
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Autowired
-    public NotificationServiceImpl(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public NotificationServiceImpl(DomainEventPublisher domainEventPublisher) {
+        this.domainEventPublisher = domainEventPublisher;
     }
 
     @Override
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendAssignmentNotification(AssignmentNotificationDto notification) {
-        try {
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.ASSIGNMENT_NOTIFICATION_QUEUE,
-                    notification
-            );
-            System.out.println("Notification sent to RabbitMQ: " + notification.getAssignmentTitle());
-        } catch (Exception e) {
-            System.err.println("Failed to send notification: " + e.getMessage());
-            e.printStackTrace();
-        }
+        domainEventPublisher.publish(PlatformEventType.ASSIGNMENT_CREATED, notification.getCourseId(), notification);
     }
 }
-
@@ -0,0 +1,243 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.OutboxEvent;
+import course.spring.elearningplatform.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes {@link OutboxEvent}s. Each batch is claimed in a short transaction that moves the due
+ * rows out of the due window for a lease period, so no lock is held while the broker is slow. All
+ * claimed events are sent before waiting on any publisher confirm; a second short transaction then
+ * deletes the acknowledged rows and reschedules the rest with exponential backoff. A relay that dies
+ * mid-batch loses nothing: its rows fall due again when the lease runs out and are republished.
+ * Events that exhaust their attempts stay in the table for inspection.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long claimLeaseMillis;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter unroutableCounter;
+    private final Timer deliveryDelay;
+    private final Timer batchTimer;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong dead = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.confirm-timeout-ms:5000}") long confirmTimeoutMillis,
+                       @Value("${outbox.relay.max-attempts:20}") int maxAttempts,
+                       @Value("${outbox.relay.initial-backoff-ms:1000}") long initialBackoffMillis,
+                       @Value("${outbox.relay.max-backoff-ms:300000}") long maxBackoffMillis,
+                       @Value("${outbox.relay.claim-lease-ms:30000}") long claimLeaseMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.claimLeaseMillis = Math.max(claimLeaseMillis, confirmTimeoutMillis);
+
+        this.publishedCounter = Counter.builder("outbox.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.publish.failures")
+                .description("Publish attempts that were nacked, returned, timed out or threw")
+                .register(meterRegistry);
+        this.unroutableCounter = Counter.builder("outbox.unroutable")
+                .description("Confirmed events that no queue was bound for")
+                .register(meterRegistry);
+        this.deliveryDelay = Timer.builder("outbox.delivery.delay")
+                .description("Time from outbox insert to broker confirm")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch").register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead", dead, AtomicLong::get)
+                .description("Outbox events that exhausted their publish attempts")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            int processed;
+            do {
+                long start = System.nanoTime();
+                processed = relayBatch();
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } while (processed == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay run failed", e);
+        }
+        refreshGauges();
+    }
+
+    private int relayBatch() {
+        // DATETIME(6) keeps microseconds, so the lease is compared back at that precision
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(Duration.ofMillis(claimLeaseMillis)).truncatedTo(ChronoUnit.MICROS);
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch(leaseUntil));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> confirms = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(event.getId()));
+            try {
+                rabbitTemplate.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlation);
+            } catch (AmqpException e) {
+                correlation.getFuture().completeExceptionally(e);
+            }
+            confirms.add(correlation);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMillis);
+        List<Long> published = new ArrayList<>(events.size());
+        Map<OutboxEvent, String> failed = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            String failure = awaitConfirm(event, confirms.get(i), deadline);
+            if (failure == null) {
+                published.add(event.getId());
+                deliveryDelay.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            } else {
+                failed.put(event, failure);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!published.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(published);
+            }
+            failed.forEach((event, failure) -> reschedule(event, failure, leaseUntil));
+        });
+        publishedCounter.increment(published.size());
+        return events.size();
+    }
+
+    private List<OutboxEvent> claimBatch(LocalDateTime leaseUntil) {
+        List<OutboxEvent> events = outboxEventRepository.lockDueBatch(LocalDateTime.now(), maxAttempts, batchSize);
+        if (!events.isEmpty()) {
+            outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(), leaseUntil);
+        }
+        return events;
+    }
+
+    /**
+     * Returns {@code null} when the broker acknowledged the message, otherwise the reason. A message
+     * sent straight to a queue must also have been routed; on a topic exchange having no subscriber
+     * for a key is normal and only counted.
+     */
+    private String awaitConfirm(OutboxEvent event, CorrelationData correlation, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                return "Nacked: " + confirm.getReason();
+            }
+            if (correlation.getReturned() != null) {
+                if (event.getExchange().isEmpty()) {
+                    return "Returned: " + correlation.getReturned().getReplyText();
+                }
+                unroutableCounter.increment();
+            }
+            return null;
+        } catch (TimeoutException e) {
+            return "No publisher confirm within " + confirmTimeoutMillis + " ms";
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted while waiting for publisher confirm";
+        }
+    }
+
+    private void reschedule(OutboxEvent event, String failure, LocalDateTime leaseUntil) {
+        int attempts = event.getAttempts() + 1;
+        long backoff = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempts - 1, 20));
+        failedCounter.increment();
+        if (outboxEventRepository.recordFailure(event.getId(), leaseUntil, attempts,
+                LocalDateTime.now().plus(Duration.ofMillis(backoff)),
+                failure.length() > 1000 ? failure.substring(0, 1000) : failure) == 0) {
+            logger.warn("Outbox event {} failed after its claim expired; left to the relay that took it over: {}",
+                    event.getId(), failure);
+            return;
+        }
+        if (attempts >= maxAttempts) {
+            logger.error("Outbox event {} gave up after {} attempts: {}", event.getId(), attempts, failure);
+        } else {
+            logger.warn("Outbox event {} failed attempt {}, retrying in {} ms: {}", event.getId(), attempts, backoff, failure);
+        }
+    }
+
+    private void refreshGauges() {
+        try {
+            pending.set(outboxEventRepository.countByAttemptsLessThan(maxAttempts));
+            dead.set(outboxEventRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+            LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt(maxAttempts);
+            lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds()));
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh outbox metrics", e);
+        }
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId("outbox-" + event.getId());
+        properties.setType(event.getEventType());
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -1,5 +1,7 @@
 package course.spring.elearningplatform.service.impl;
 
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.dto.event.QuizGradedEvent;
 import course.spring.elearningplatform.entity.Certificate;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.Question;
@@ -14,6 +16,7 @@ import course.spring.elearningplatform.repository.CourseRepository;
 import course.spring.elearningplatform.repository.QuizRepository;
 import course.spring.elearningplatform.repository.StudentResultRepository;
 import course.spring.elearningplatform.service.CourseService;
+import course.spring.elearningplatform.service.DomainEventPublisher;
 import course.spring.elearningplatform.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -37,15 +40,18 @@ public class QuizzesService {
     private final QuizRepository quizRepository;
     private final UserService userService;
     private final CourseService courseService;
+    private final DomainEventPublisher domainEventPublisher;
 
 
     @Autowired
     public QuizzesService(QuizRepository quizRepository,
                           UserService userService,
-                          CourseService courseService) {
+                          CourseService courseService,
+                          DomainEventPublisher domainEventPublisher) {
         this.quizRepository = quizRepository;
         this.userService = userService;
         this.courseService = courseService;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
 
@@ -138,13 +144,14 @@ public class QuizzesService {
 
         User user = userService.getUserByUsername(username);
         Course course = courseService.getCourseById(courseId);
+        domainEventPublisher.publish(PlatformEventType.QUIZ_GRADED, user.getId(),
+                new QuizGradedEvent(quizId, courseId, rightAnswers, questionsDB.size(), percentage));
 
         boolean isAlreadyCompleted = user.getCompletedCourses().stream()
                 .anyMatch(c -> c.getId().equals(courseId));
 
         if (!isAlreadyCompleted) {
-            user.addCompletedCourse(course);
-            userService.save(user);
+            userService.addCompletedCourse(user, course);
         }
 
         return ResponseEntity.ok(result);
@@ -165,9 +172,7 @@ public class QuizzesService {
         course.removeParticipant(user);
         course.addStudentCompletedCourse(user);
         Course savedCourse = courseService.save(course);
-        user.addCompletedCourse(savedCourse);
-
-        userService.save(user);
+        userService.addCompletedCourse(user, savedCourse);
     }
 
     public void deleteQuestionFromQuiz(long quizId, Question question) {
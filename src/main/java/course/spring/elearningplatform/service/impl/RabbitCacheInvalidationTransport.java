@@ -0,0 +1,52 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.service.CacheInvalidationTransport;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Fans invalidations out to every node; each node listens on its own auto-delete queue. Delivery
+ * is best effort: a lost message leaves a stale entry until its region TTL expires it.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.transport", havingValue = "rabbit")
+public class RabbitCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    public static final String CACHE_INVALIDATION_EXCHANGE = "platform.cache-invalidation";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<Consumer<CacheInvalidation>> handlers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public RabbitCacheInvalidationTransport(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        rabbitTemplate.convertAndSend(CACHE_INVALIDATION_EXCHANGE, "", invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> handler) {
+        handlers.add(handler);
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue,
+            exchange = @Exchange(name = CACHE_INVALIDATION_EXCHANGE, type = ExchangeTypes.FANOUT)))
+    public void onInvalidation(CacheInvalidation invalidation) {
+        handlers.forEach(handler -> handler.accept(invalidation));
+    }
+}
@@ -0,0 +1,319 @@
+package course.spring.elearningplatform.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import course.spring.elearningplatform.config.RabbitMQConfig;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.service.CourseDashboardService;
+import course.spring.elearningplatform.service.EnrollmentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process replacement for the Node notification service. Browsers hold one SSE stream each;
+ * course joins are authorized against the local {@link EnrollmentService} index (course creators
+ * and admins may join without enrolling), and events are consumed from {@code platform.events}
+ * through a queue private to this instance, so every instance sees every event and delivers it to
+ * its own connections. A {@code course.completed} event ends the user's enrollment, so it closes
+ * their streams joined to that course.
+ * <p>
+ * An idle stream costs no thread. Each stream has its own queue drained by at most one virtual
+ * thread at a time: events reach a client in the order they were consumed, and one slow client
+ * never holds up the rest of a broadcast. A client that falls {@code max-pending-events} behind
+ * is disconnected.
+ */
+@Component
+@ConditionalOnProperty(name = "realtime.gateway.enabled", havingValue = "true")
+public class RealtimeGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeGateway.class);
+
+    private final EnrollmentService enrollmentService;
+    private final CourseDashboardService courseDashboardService;
+    private final ObjectMapper objectMapper;
+    private final long streamTimeoutMillis;
+    private final int maxPendingEvents;
+    private final ExecutorService deliveryExecutor;
+    private final Map<Long, Set<Subscriber>> subscribersByCourse = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Timer broadcastLatency;
+    private final Counter deliveryFailures;
+
+    @Autowired
+    public RealtimeGateway(EnrollmentService enrollmentService,
+                           CourseDashboardService courseDashboardService,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${realtime.gateway.stream-timeout-ms:1800000}") long streamTimeoutMillis,
+                           @Value("${realtime.gateway.max-pending-events:1000}") int maxPendingEvents) {
+        this(enrollmentService, courseDashboardService, objectMapper, meterRegistry, streamTimeoutMillis,
+                maxPendingEvents, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    RealtimeGateway(EnrollmentService enrollmentService,
+                    CourseDashboardService courseDashboardService,
+                    ObjectMapper objectMapper,
+                    MeterRegistry meterRegistry,
+                    long streamTimeoutMillis,
+                    int maxPendingEvents,
+                    ExecutorService deliveryExecutor) {
+        this.enrollmentService = enrollmentService;
+        this.courseDashboardService = courseDashboardService;
+        this.objectMapper = objectMapper;
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.maxPendingEvents = maxPendingEvents;
+        this.deliveryExecutor = deliveryExecutor;
+
+        Gauge.builder("realtime.connections", subscribers, Set::size)
+                .description("Open realtime streams on this instance")
+                .register(meterRegistry);
+        this.broadcastLatency = Timer.builder("realtime.broadcast.latency")
+                .description("Time from event creation to delivery on a stream")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.deliveryFailures = Counter.builder("realtime.delivery.failures").register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user joined to every requested course they are enrolled in or created;
+     * admins join any course. The first event reports which courses were joined and which were rejected.
+     */
+    public SseEmitter subscribe(Long userId, boolean admin, List<Long> requestedCourseIds) {
+        List<Long> joined = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        for (Long courseId : requestedCourseIds) {
+            boolean allowed = admin || enrollmentService.isEnrolled(userId, courseId)
+                    || courseDashboardService.isCourseCreator(courseId, userId);
+            (allowed ? joined : rejected).add(courseId);
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, joined, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        // queued before the subscriber is visible to broadcasts, so it is always the first event
+        enqueue(subscriber, new Delivery(SseEmitter.event().name("courses-joined")
+                .data(toJson(Map.of("enrolledCourses", joined, "rejectedCourses", rejected))), null, false));
+        register(subscriber);
+        return emitter;
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue,
+            exchange = @Exchange(name = RabbitMQConfig.PLATFORM_EVENTS_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = {"course.*.#", "user.*.#", "platform.#"}))
+    public void onEvent(Message message) {
+        String routingKey = message.getMessageProperties().getReceivedRoutingKey();
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String type;
+        Instant createdAt;
+        Set<Subscriber> targets;
+        Long completedCourseId;
+        try {
+            JsonNode envelope = objectMapper.readTree(body);
+            type = envelope.path("type").asText(routingKey);
+            createdAt = envelope.hasNonNull("ts") ? Instant.parse(envelope.get("ts").asText()) : null;
+            targets = targetsOf(routingKey);
+            completedCourseId = PlatformEventType.COURSE_COMPLETED.getEventName().equals(type)
+                    ? envelope.path("data").path("courseId").asLong() : null;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Dropping unreadable event on {}", routingKey, e);
+            return;
+        }
+
+        for (Subscriber subscriber : targets) {
+            boolean leavesCourse = completedCourseId != null && subscriber.courseIds.contains(completedCourseId);
+            enqueue(subscriber, new Delivery(SseEmitter.event().name(type).data(body), createdAt, leavesCourse));
+        }
+    }
+
+    /**
+     * Comment frames keep proxies from closing idle streams and surface dead connections.
+     */
+    @Scheduled(fixedDelayString = "${realtime.gateway.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, new Delivery(SseEmitter.event().comment("ping"), null, false));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        deliveryExecutor.shutdown();
+    }
+
+    private Set<Subscriber> targetsOf(String routingKey) {
+        String[] parts = routingKey.split("\\.", 3);
+        return switch (parts[0]) {
+            case "course" -> subscribersByCourse.getOrDefault(Long.valueOf(parts[1]), Set.of());
+            case "user" -> subscribersByUser.getOrDefault(Long.valueOf(parts[1]), Set.of());
+            default -> subscribers;
+        };
+    }
+
+    private void enqueue(Subscriber subscriber, Delivery delivery) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.pendingCount.incrementAndGet() > maxPendingEvents) {
+            disconnect(subscriber, new IllegalStateException("Realtime client fell too far behind"));
+            return;
+        }
+        subscriber.pending.add(delivery);
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            deliveryExecutor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Delivery delivery;
+        while ((delivery = subscriber.pending.poll()) != null) {
+            subscriber.pendingCount.decrementAndGet();
+            send(subscriber, delivery);
+        }
+        subscriber.draining.set(false);
+        // an event queued between the last poll and the flag reset would otherwise wait for the next one
+        if (!subscriber.pending.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Delivery delivery) {
+        if (subscriber.closed) {
+            return;
+        }
+        try {
+            subscriber.emitter.send(delivery.event);
+            if (delivery.createdAt != null) {
+                broadcastLatency.record(Duration.between(delivery.createdAt, Instant.now()));
+            }
+            if (delivery.closeAfter) {
+                disconnect(subscriber, null);
+            }
+        } catch (IOException | IllegalStateException e) {
+            disconnect(subscriber, e);
+        }
+    }
+
+    /**
+     * Closes the stream once: later events and the emitter's own completion callbacks find the
+     * subscriber already gone.
+     */
+    private void disconnect(Subscriber subscriber, Throwable error) {
+        if (!unregister(subscriber)) {
+            return;
+        }
+        if (error == null) {
+            subscriber.emitter.complete();
+        } else {
+            deliveryFailures.increment();
+            subscriber.emitter.completeWithError(error);
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        addTo(subscribersByUser, subscriber.userId, subscriber);
+        for (Long courseId : subscriber.courseIds) {
+            addTo(subscribersByCourse, courseId, subscriber);
+        }
+    }
+
+    private boolean unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriber.closed = true;
+        subscriber.pending.clear();
+        removeFrom(subscribersByUser, subscriber.userId, subscriber);
+        for (Long courseId : subscriber.courseIds) {
+            removeFrom(subscribersByCourse, courseId, subscriber);
+        }
+        return true;
+    }
+
+    // add and remove both go through compute so a set is never dropped while a subscriber is joining it
+    private static void addTo(Map<Long, Set<Subscriber>> registry, Long key, Subscriber subscriber) {
+        registry.compute(key, (id, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+    }
+
+    private static void removeFrom(Map<Long, Set<Subscriber>> registry, Long key, Subscriber subscriber) {
+        registry.computeIfPresent(key, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize realtime payload", e);
+        }
+    }
+
+    private record Delivery(SseEmitter.SseEventBuilder event, Instant createdAt, boolean closeAfter) {
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final List<Long> courseIds;
+        private final SseEmitter emitter;
+        private final Queue<Delivery> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long userId, List<Long> courseIds, SseEmitter emitter) {
+            this.userId = userId;
+            this.courseIds = courseIds;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.dto.projection.CourseCountsView;
+import course.spring.elearningplatform.dto.projection.CourseLessonView;
+import course.spring.elearningplatform.service.CourseService;
+import course.spring.elearningplatform.service.SolutionService;
+import course.spring.elearningplatform.util.BatchLoader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link BatchLoader}s of the current request. Controllers prime the keys of everything they
+ * are about to render and then load per item, so a list costs one query per kind of data instead
+ * of one per item.
+ */
+@Component
+@RequestScope
+public class RequestBatchLoaders {
+
+    private final SolutionService solutionService;
+    private final CourseService courseService;
+    private final Map<Long, BatchLoader<Long, Boolean>> submittedSolutionsByUser = new HashMap<>();
+
+    private BatchLoader<Long, CourseCountsView> courseCounts;
+    private BatchLoader<Long, List<CourseLessonView>> courseLessons;
+
+    @Autowired
+    public RequestBatchLoaders(SolutionService solutionService, CourseService courseService) {
+        this.solutionService = solutionService;
+        this.courseService = courseService;
+    }
+
+    /**
+     * Assignment id to whether the user has uploaded a solution for it.
+     */
+    public BatchLoader<Long, Boolean> submittedSolutions(Long userId) {
+        return submittedSolutionsByUser.computeIfAbsent(userId, id -> new BatchLoader<>(
+                assignmentIds -> solutionService.getSubmittedAssignmentIds(id, assignmentIds).stream()
+                        .collect(Collectors.toMap(Function.identity(), assignmentId -> true)),
+                false));
+    }
+
+    /**
+     * Course id to its participant, completion and lesson counts; {@code null} for unknown courses.
+     */
+    public BatchLoader<Long, CourseCountsView> courseCounts() {
+        if (courseCounts == null) {
+            courseCounts = new BatchLoader<>(courseService::getCourseCounts, null);
+        }
+        return courseCounts;
+    }
+
+    public BatchLoader<Long, List<CourseLessonView>> courseLessons() {
+        if (courseLessons == null) {
+            courseLessons = new BatchLoader<>(courseService::getLessonSummaries, List.of());
+        }
+        return courseLessons;
+    }
+}
@@ -0,0 +1,179 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.service.CacheInvalidationTransport;
+import course.spring.elearningplatform.service.CacheInvalidationTransport.CacheInvalidation;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Keeps the second-level caches of all nodes coherent. Each committed insert, update or delete of
+ * a cached entity is broadcast; the other nodes evict that entity, the collections it owns and
+ * their query results, since their update-timestamps region never saw the write. Changes to a
+ * cached collection are broadcast on their own, because its owner need not be cached.
+ */
+@Component
+public class SecondLevelCacheInvalidator implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheInvalidator.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationTransport transport;
+    private final String node = UUID.randomUUID().toString();
+
+    @Autowired
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, CacheInvalidationTransport transport) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.transport = transport;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, (PostCommitInsertEventListener) this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, (PostCommitUpdateEventListener) this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, (PostCommitDeleteEventListener) this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, (PostCollectionRecreateEventListener) this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, (PostCollectionUpdateEventListener) this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, (PostCollectionRemoveEventListener) this);
+        transport.subscribe(this::apply);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        broadcast(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        broadcast(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        broadcast(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        broadcastAfterCommit(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        broadcastAfterCommit(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        broadcastAfterCommit(event);
+    }
+
+    /**
+     * Collection events fire while the session flushes, so the broadcast waits for the transaction
+     * to commit and is dropped when it rolls back.
+     */
+    private void broadcastAfterCommit(AbstractCollectionEvent event) {
+        String role = event.getCollection().getRole();
+        if (role == null || !sessionFactory.getMappingMetamodel().getCollectionDescriptor(role).hasCache()) {
+            return;
+        }
+        String ownerEntityName = event.getAffectedOwnerEntityName();
+        Long ownerId = toLong(event.getAffectedOwnerIdOrNull());
+        event.getSession().getActionQueue().registerProcess((success, session) -> {
+            if (success) {
+                publish(new CacheInvalidation(node, ownerEntityName, role, ownerId));
+            }
+        });
+    }
+
+    private void broadcast(EntityPersister persister, Object id) {
+        publish(new CacheInvalidation(node, persister.getEntityName(), null, toLong(id)));
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        try {
+            transport.publish(invalidation);
+        } catch (RuntimeException e) {
+            // the write is committed either way; other nodes catch up when the region TTL expires
+            logger.warn("Could not broadcast cache invalidation for {}#{}", invalidation.entityName(), invalidation.id(), e);
+        }
+    }
+
+    private static Long toLong(Object id) {
+        return id instanceof Number number ? number.longValue() : null;
+    }
+
+    private void apply(CacheInvalidation invalidation) {
+        if (node.equals(invalidation.node())) {
+            return;
+        }
+        CacheImplementor cache = sessionFactory.getCache();
+        if (invalidation.collectionRole() != null) {
+            if (invalidation.id() == null) {
+                cache.evictCollectionData(invalidation.collectionRole());
+            } else {
+                cache.evictCollectionData(invalidation.collectionRole(), invalidation.id());
+            }
+            return;
+        }
+        String entityName = invalidation.entityName();
+        if (invalidation.id() == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            cache.evictEntityData(entityName, invalidation.id());
+        }
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+            if (collection.hasCache() && collection.getOwnerEntityPersister().getEntityName().equals(entityName)) {
+                if (invalidation.id() == null) {
+                    cache.evictCollectionData(collection.getRole());
+                } else {
+                    cache.evictCollectionData(collection.getRole(), invalidation.id());
+                }
+            }
+        });
+        cache.evictQueryRegions();
+    }
+}
@@ -16,7 +16,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import static course.spring.elearningplatform.dto.mapper.EntityMapper.mapCreateDtoToEntity;
 
@@ -48,6 +50,10 @@ public class SolutionServiceImpl implements SolutionService {
         return solutionRepository.existsByUserIdAndAssignmentId(userId, assignmentId);
     }
 
+    public Set<Long> getSubmittedAssignmentIds(Long userId, Collection<Long> assignmentIds) {
+        return assignmentIds.isEmpty() ? Set.of() : solutionRepository.findSubmittedAssignmentIds(userId, assignmentIds);
+    }
+
     public void handleSolutionUpload(User user, Long assignmentId, MultipartFile file) throws IOException {
         if (hasUserUploadedSolution(user.getId(), assignmentId)) {
             throw new IllegalStateException("You have already uploaded a solution for this assignment.");
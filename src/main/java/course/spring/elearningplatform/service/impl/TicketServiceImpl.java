@@ -1,16 +1,20 @@
 package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.TicketDto;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.dto.event.TicketResolvedEvent;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.Ticket;
 import course.spring.elearningplatform.entity.User;
 import course.spring.elearningplatform.exception.EntityNotFoundException;
 import course.spring.elearningplatform.repository.TicketRepository;
 import course.spring.elearningplatform.service.CourseService;
+import course.spring.elearningplatform.service.DomainEventPublisher;
 import course.spring.elearningplatform.service.TicketService;
 import course.spring.elearningplatform.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Date;
@@ -22,12 +26,15 @@ public class TicketServiceImpl implements TicketService {
   private final TicketRepository ticketRepository;
   private final CourseService courseService;
   private final UserService userService;
+  private final DomainEventPublisher domainEventPublisher;
 
   @Autowired
-  public TicketServiceImpl(TicketRepository ticketRepository, CourseService courseService, UserService userService) {
+  public TicketServiceImpl(TicketRepository ticketRepository, CourseService courseService, UserService userService,
+                           DomainEventPublisher domainEventPublisher) {
     this.ticketRepository = ticketRepository;
     this.courseService = courseService;
     this.userService = userService;
+    this.domainEventPublisher = domainEventPublisher;
   }
 
   @Override
@@ -50,10 +57,16 @@ public class TicketServiceImpl implements TicketService {
   }
 
   @Override
+  @Transactional
   public Ticket resolveTicket(Long ticketId) {
     Ticket ticket = ticketRepository.findById(ticketId).orElseThrow(() -> new EntityNotFoundException("Ticket", "/courses"));
     ticket.setResolved(true);
-    return ticketRepository.save(ticket);
+    Ticket savedTicket = ticketRepository.save(ticket);
+    if (savedTicket.getIssuer() != null) {
+      domainEventPublisher.publish(PlatformEventType.TICKET_RESOLVED, savedTicket.getIssuer().getId(), new TicketResolvedEvent(
+              savedTicket.getId(), savedTicket.getForCourse() != null ? savedTicket.getForCourse().getId() : null));
+    }
+    return savedTicket;
   }
 
   private Ticket buildTicket(TicketDto ticketDto, Course courseForTicket, User issuer) {
@@ -2,6 +2,9 @@ package course.spring.elearningplatform.service.impl;
 
 import course.spring.elearningplatform.dto.ImageDto;
 import course.spring.elearningplatform.dto.UserDto;
+import course.spring.elearningplatform.dto.event.CourseCompletedEvent;
+import course.spring.elearningplatform.dto.event.PlatformEventType;
+import course.spring.elearningplatform.dto.response.CursorPage;
 import course.spring.elearningplatform.entity.Course;
 import course.spring.elearningplatform.entity.Image;
 import course.spring.elearningplatform.entity.Lesson;
@@ -11,16 +14,19 @@ import course.spring.elearningplatform.exception.DuplicateEmailException;
 import course.spring.elearningplatform.exception.DuplicateUsernameException;
 import course.spring.elearningplatform.exception.EntityNotFoundException;
 import course.spring.elearningplatform.repository.CourseRepository;
+import course.spring.elearningplatform.repository.TableStatisticsRepository;
 import course.spring.elearningplatform.repository.UserRepository;
+import course.spring.elearningplatform.service.DomainEventPublisher;
+import course.spring.elearningplatform.service.EnrollmentService;
 import course.spring.elearningplatform.service.ImageService;
 import course.spring.elearningplatform.service.UserService;
+import course.spring.elearningplatform.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
@@ -34,14 +40,22 @@ public class UserServiceImpl implements UserService {
     private final CourseRepository courseRepository;
     private final ImageService imageService;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final TableStatisticsRepository tableStatisticsRepository;
+    private final EnrollmentService enrollmentService;
+    private final DomainEventPublisher domainEventPublisher;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository, CourseRepository courseRepository,
-                           BCryptPasswordEncoder passwordEncoder, ImageService imageService) {
+                           BCryptPasswordEncoder passwordEncoder, ImageService imageService,
+                           TableStatisticsRepository tableStatisticsRepository,
+                           EnrollmentService enrollmentService, DomainEventPublisher domainEventPublisher) {
         this.userRepository = userRepository;
         this.courseRepository = courseRepository;
         this.passwordEncoder = passwordEncoder;
         this.imageService = imageService;
+        this.tableStatisticsRepository = tableStatisticsRepository;
+        this.enrollmentService = enrollmentService;
+        this.domainEventPublisher = domainEventPublisher;
     }
 
     @Override
@@ -66,24 +80,20 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(User user) {
         User deletedUser = userRepository.findByUsername("deletedUser")
                 .orElseThrow(() -> new IllegalStateException("'Deleted User' not found. Please seed it."));
 
-        List<Course> courses = courseRepository.findAllByCreatedBy(user);
-        for (Course course : courses) {
-            course.setCreatedBy(deletedUser);
-        }
-
-        courseRepository.saveAll(courses);
+        courseRepository.reassignCreator(user, deletedUser);
 
         userRepository.delete(user);
     }
 
     @Override
     public User getUserById(Long id) {
-        User user = userRepository.findById(id).orElseThrow(() -> new UsernameNotFoundException(String.valueOf(id)));
-        Set<Course> completedCourses = user.getCompletedCourses().stream().map(course -> new Course(course.getId(), course.getName(), course.getDescription(), course.getCategories(),
+        User user = userRepository.findProfileById(id).orElseThrow(() -> new UsernameNotFoundException(String.valueOf(id)));
+        Set<Course> completedCourses = userRepository.findCompletedCoursesByUserId(user.getId()).stream().map(course -> new Course(course.getId(), course.getName(), course.getDescription(), course.getCategories(),
                 null, null, null, null, null, null, null, null, null,
                 null, null, null, null)).collect(Collectors.toSet());
         user.setCompletedCourses(completedCourses);
@@ -93,7 +103,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public User getUserByUsername(String username) {
         User user = userRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException(username));
-        Set<Course> completedCourses = user.getCompletedCourses().stream().map(course -> new Course(course.getId(), course.getName(), course.getDescription(), course.getCategories(),
+        Set<Course> completedCourses = userRepository.findCompletedCoursesByUserId(user.getId()).stream().map(course -> new Course(course.getId(), course.getName(), course.getDescription(), course.getCategories(),
                 null, null, null, null, null, null, null, null, null,
                 null, null, null, null)).collect(Collectors.toSet());
         user.setCompletedCourses(completedCourses);
@@ -106,15 +116,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllUsersExcept(List<String> users) {
         return userRepository.findAllByUsernameNotIn(users);
     }
 
     @Override
     public List<User> getAllUsersByRole(Role role) {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRoles() != null && user.getRoles().contains(role.getDescription()))
-                .collect(Collectors.toList());
+        return userRepository.findByRole(role.getDescription());
     }
 
     private User buildUser(UserDto userDto) {
@@ -176,21 +185,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public User addStartedCourse(User user, Course course) {
-        user.addStartedCourse(course);
-        return userRepository.save(user);
-    }
-
-    @Override
+    @Transactional
     public User addCompletedCourse(User user, Course course) {
         user.addCompletedCourse(course);
-        return userRepository.save(user);
-    }
-
-    @Override
-    public User findByIdWithCompletedLessons(Long id) {
-        return userRepository.findByIdWithCompletedLessons(id)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        User saved = userRepository.save(user);
+        enrollmentService.unenrolled(user.getId(), course.getId());
+        domainEventPublisher.publish(PlatformEventType.COURSE_COMPLETED, user.getId(),
+                new CourseCompletedEvent(course.getId(), course.getName()));
+        return saved;
     }
 
     @Override
@@ -199,24 +201,42 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Page<User> getAllUsers(int page, int size, String loggedInUsername) {
-        Pageable pageable = PageRequest.of(page - 1, size);
-        return userRepository.findAllByUsernameNotIn(List.of("deletedUser", loggedInUsername, "admin"), pageable);
+    @Transactional(readOnly = true)
+    public CursorPage<User> getUsersPage(String cursor, int size, String loggedInUsername, boolean withTotal) {
+        int pageSize = CursorPage.clampSize(size);
+        List<User> fetched = userRepository.findPageAfter(afterId(cursor), excludedUsernames(loggedInUsername),
+                Limit.of(pageSize + 1));
+        CursorPage<User> page = CursorPage.of(fetched, pageSize, user -> KeysetCursor.encode(user.getId()));
+        if (withTotal) {
+            page.setApproximateTotal(tableStatisticsRepository.approximateRowCount("user"));
+        }
+        return page;
     }
 
     @Override
-    public Page<User> searchUsers(String searchQuery, int page, int size, String loggedInUsername) {
-        Pageable pageable = PageRequest.of(page - 1, size);
+    @Transactional(readOnly = true)
+    public CursorPage<User> searchUsersPage(String searchQuery, String cursor, int size, String loggedInUsername) {
+        int pageSize = CursorPage.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<User> fetched;
 
         if (searchQuery.contains(" ")) {
             String[] nameParts = searchQuery.split("\\s+", 2);
-            String firstNameQuery = nameParts[0];
-            String lastNameQuery = nameParts[1];
-
-            return userRepository.findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCaseAndUsernameNotIn(
-                    firstNameQuery, lastNameQuery, List.of(loggedInUsername, "admin"), pageable);
+            fetched = userRepository.searchByFullNamePageAfter(nameParts[0], nameParts[1], afterId(cursor),
+                    excludedUsernames(loggedInUsername), limit);
+        } else {
+            fetched = userRepository.searchPageAfter(searchQuery, afterId(cursor),
+                    excludedUsernames(loggedInUsername), limit);
         }
 
-        return userRepository.searchUsersExcluding(searchQuery, List.of(loggedInUsername, "deletedUser", "admin"), pageable);
+        return CursorPage.of(fetched, pageSize, user -> KeysetCursor.encode(user.getId()));
+    }
+
+    private Long afterId(String cursor) {
+        return cursor == null || cursor.isBlank() ? 0L : KeysetCursor.decode(cursor).id();
+    }
+
+    private List<String> excludedUsernames(String loggedInUsername) {
+        return List.of("deletedUser", loggedInUsername, "admin");
     }
 }
@@ -0,0 +1,80 @@
+package course.spring.elearningplatform.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style batching for one request. Keys are {@link #prime primed} while a response is
+ * being assembled; the first {@link #load} then resolves every pending key with one call to the
+ * batch function (one {@code IN (...)} query per {@code maxBatchSize} keys), and every key is
+ * memoized for the rest of the request. Keys the batch function leaves out resolve to
+ * {@code missingValue}.
+ * <p>
+ * Not thread-safe: a loader belongs to a single request.
+ */
+public class BatchLoader<K, V> {
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final V missingValue;
+    private final int maxBatchSize;
+    private final Map<K, V> resolved = new HashMap<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+
+    public BatchLoader(Function<Set<K>, Map<K, V>> batchFunction, V missingValue) {
+        this(batchFunction, missingValue, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public BatchLoader(Function<Set<K>, Map<K, V>> batchFunction, V missingValue, int maxBatchSize) {
+        this.batchFunction = batchFunction;
+        this.missingValue = missingValue;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public BatchLoader<K, V> prime(Collection<? extends K> keys) {
+        for (K key : keys) {
+            if (!resolved.containsKey(key)) {
+                pending.add(key);
+            }
+        }
+        return this;
+    }
+
+    public V load(K key) {
+        if (!resolved.containsKey(key)) {
+            pending.add(key);
+            dispatch();
+        }
+        return resolved.get(key);
+    }
+
+    public Map<K, V> loadAll(Collection<? extends K> keys) {
+        prime(keys);
+        dispatch();
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            result.put(key, resolved.get(key));
+        }
+        return result;
+    }
+
+    private void dispatch() {
+        List<K> keys = new ArrayList<>(pending);
+        pending.clear();
+        for (int from = 0; from < keys.size(); from += maxBatchSize) {
+            Set<K> batch = new LinkedHashSet<>(keys.subList(from, Math.min(from + maxBatchSize, keys.size())));
+            Map<K, V> found = batchFunction.apply(batch);
+            for (K key : batch) {
+                resolved.put(key, found.getOrDefault(key, missingValue));
+            }
+        }
+    }
+}
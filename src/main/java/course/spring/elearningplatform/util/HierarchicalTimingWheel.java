@@ -0,0 +1,185 @@
+package course.spring.elearningplatform.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical hashed timing wheel. Level {@code i} has {@code wheelSizes[i]} slots, each covering
+ * the whole span of level {@code i - 1}; a timer is placed on the lowest level whose span reaches
+ * its deadline and moves down a level whenever its slot comes round. Scheduling and cancelling
+ * only link or unlink a list node, so both are O(1) regardless of how many timers are pending.
+ * <p>
+ * Deadlines are rounded up to whole ticks. Deadlines past the top level's span wait in the top
+ * level and are re-placed each time their slot comes round. All methods are thread-safe; expired
+ * payloads are handed to the callback outside the lock.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int[] wheelSizes;
+    // ticks covered by one slot of each level: 1, size0, size0*size1, ...
+    private final long[] slotTicks;
+    private final Slot<T>[][] levels;
+    private final Object lock = new Object();
+
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int[] wheelSizes, long startMillis) {
+        if (tickMillis <= 0 || wheelSizes.length == 0) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and at least one level");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSizes = wheelSizes.clone();
+        this.slotTicks = new long[wheelSizes.length];
+        this.levels = new Slot[wheelSizes.length][];
+        long ticks = 1;
+        for (int level = 0; level < wheelSizes.length; level++) {
+            slotTicks[level] = ticks;
+            ticks = Math.multiplyExact(ticks, wheelSizes[level]);
+            levels[level] = new Slot[wheelSizes[level]];
+            for (int slot = 0; slot < wheelSizes[level]; slot++) {
+                levels[level][slot] = new Slot<>();
+            }
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Deadlines that are already due fire on the next tick.
+     */
+    public Timer<T> schedule(T payload, long deadlineMillis) {
+        Timer<T> timer = new Timer<>(this, payload, Math.ceilDiv(deadlineMillis, tickMillis));
+        synchronized (lock) {
+            timer.deadlineTick = Math.max(timer.deadlineTick, currentTick + 1);
+            place(timer);
+            size++;
+        }
+        return timer;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} one tick at a time, passing every expired payload
+     * to {@code onExpired}.
+     */
+    public void advanceTo(long nowMillis, Consumer<T> onExpired) {
+        List<T> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        synchronized (lock) {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = levels.length - 1; level > 0; level--) {
+                    if (currentTick % slotTicks[level] == 0) {
+                        cascade(levels[level][slotIndex(level, currentTick)]);
+                    }
+                }
+                Slot<T> due = levels[0][slotIndex(0, currentTick)];
+                for (Timer<T> timer = due.head; timer != null; timer = due.head) {
+                    due.unlink(timer);
+                    size--;
+                    expired.add(timer.payload);
+                }
+            }
+        }
+        expired.forEach(onExpired);
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    private void cascade(Slot<T> slot) {
+        Timer<T> timer = slot.head;
+        slot.head = null;
+        while (timer != null) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= slotTicks[level + 1]) {
+            level++;
+        }
+        levels[level][slotIndex(level, timer.deadlineTick)].link(timer);
+    }
+
+    private int slotIndex(int level, long tick) {
+        return (int) ((tick / slotTicks[level]) % wheelSizes[level]);
+    }
+
+    private boolean cancel(Timer<T> timer) {
+        synchronized (lock) {
+            if (timer.slot == null) {
+                return false;
+            }
+            timer.slot.unlink(timer);
+            size--;
+            return true;
+        }
+    }
+
+    public static final class Timer<T> {
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T payload;
+        private long deadlineTick;
+        private Slot<T> slot;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        private Timer(HierarchicalTimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * Returns {@code false} when the timer already fired or was cancelled.
+         */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    private static final class Slot<T> {
+        private Timer<T> head;
+
+        private void link(Timer<T> timer) {
+            timer.slot = this;
+            timer.prev = null;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        private void unlink(Timer<T> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package course.spring.elearningplatform.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position marker for keyset (seek) pagination. The client only ever sees the
+ * Base64 form and hands it back unchanged to fetch the next page.
+ */
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Long id) {
+        return encode(null, id);
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String raw = (timestamp != null ? timestamp.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            String timestamp = raw.substring(0, separator);
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new KeysetCursor(timestamp.isEmpty() ? null : LocalDateTime.parse(timestamp), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+}
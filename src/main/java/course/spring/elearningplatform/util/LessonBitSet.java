@@ -0,0 +1,34 @@
+package course.spring.elearningplatform.util;
+
+import java.util.BitSet;
+
+/**
+ * Binary column format for per-course lesson completion: bit {@code n} is lesson ordinal {@code n}.
+ * Bytes are stored big-endian (bit 0 in the last byte) so two values of different length line up
+ * when MySQL left-pads them for a bitwise OR.
+ */
+public final class LessonBitSet {
+
+    private LessonBitSet() {
+    }
+
+    public static byte[] toBytes(BitSet bits) {
+        byte[] littleEndian = bits.toByteArray();
+        byte[] bigEndian = new byte[littleEndian.length];
+        for (int i = 0; i < littleEndian.length; i++) {
+            bigEndian[littleEndian.length - 1 - i] = littleEndian[i];
+        }
+        return bigEndian;
+    }
+
+    public static BitSet fromBytes(byte[] bigEndian) {
+        if (bigEndian == null || bigEndian.length == 0) {
+            return new BitSet();
+        }
+        byte[] littleEndian = new byte[bigEndian.length];
+        for (int i = 0; i < bigEndian.length; i++) {
+            littleEndian[bigEndian.length - 1 - i] = bigEndian[i];
+        }
+        return BitSet.valueOf(littleEndian);
+    }
+}
@@ -0,0 +1,58 @@
+package course.spring.elearningplatform.util;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write operations on sorted, duplicate-free {@code long[]} sets. Arrays are never
+ * modified in place, so a published array can be read without locking.
+ */
+public final class SortedLongArrays {
+
+    public static final long[] EMPTY = new long[0];
+
+    private SortedLongArrays() {
+    }
+
+    public static boolean contains(long[] set, long value) {
+        return set != null && Arrays.binarySearch(set, value) >= 0;
+    }
+
+    /**
+     * Returns {@code set} itself when the value is already present.
+     */
+    public static long[] add(long[] set, long value) {
+        if (set == null) {
+            return new long[]{value};
+        }
+        int index = Arrays.binarySearch(set, value);
+        if (index >= 0) {
+            return set;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[set.length + 1];
+        System.arraycopy(set, 0, result, 0, insertAt);
+        result[insertAt] = value;
+        System.arraycopy(set, insertAt, result, insertAt + 1, set.length - insertAt);
+        return result;
+    }
+
+    /**
+     * Returns {@code null} when the last value is removed so callers can drop the map entry.
+     */
+    public static long[] remove(long[] set, long value) {
+        if (set == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(set, value);
+        if (index < 0) {
+            return set;
+        }
+        if (set.length == 1) {
+            return null;
+        }
+        long[] result = new long[set.length - 1];
+        System.arraycopy(set, 0, result, 0, index);
+        System.arraycopy(set, index + 1, result, index, set.length - index - 1);
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package db.migration;
+
+import course.spring.elearningplatform.util.LessonBitSet;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the legacy {@code user_completed_lessons} join table into {@code lesson_progress} bitsets
+ * and drops it: nothing maps it any more, but its foreign keys would still block deleting a user or
+ * lesson with old completions. Bits already in {@code lesson_progress} are kept, so running after
+ * the old startup backfill is harmless. Lesson ordinals are unique per course since V6.
+ */
+public class V8__ConvertLegacyLessonCompletions extends BaseJavaMigration {
+
+    private static final String LEGACY_COMPLETIONS =
+            "SELECT ucl.user_id, l.related_course_id, l.lesson_ordinal FROM user_completed_lessons ucl " +
+                    "JOIN lesson l ON l.id = ucl.lesson_id WHERE l.related_course_id IS NOT NULL";
+    private static final String EXISTING_PROGRESS =
+            "SELECT lp.user_id, lp.course_id, lp.completed_bits FROM lesson_progress lp " +
+                    "WHERE EXISTS (SELECT 1 FROM user_completed_lessons ucl JOIN lesson l ON l.id = ucl.lesson_id " +
+                    "WHERE ucl.user_id = lp.user_id AND l.related_course_id = lp.course_id)";
+    private static final String UPSERT_PROGRESS =
+            "INSERT INTO lesson_progress (user_id, course_id, completed_bits, completed_count, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE completed_bits = VALUES(completed_bits), completed_count = VALUES(completed_count)";
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        Map<List<Long>, BitSet> progress = new LinkedHashMap<>();
+        jdbcTemplate.query(LEGACY_COMPLETIONS, rs -> {
+            List<Long> key = List.of(rs.getLong(1), rs.getLong(2));
+            progress.computeIfAbsent(key, k -> new BitSet()).set(rs.getInt(3));
+        });
+        jdbcTemplate.query(EXISTING_PROGRESS, rs -> {
+            List<Long> key = List.of(rs.getLong(1), rs.getLong(2));
+            progress.get(key).or(LessonBitSet.fromBytes(rs.getBytes(3)));
+        });
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(progress.size());
+        progress.forEach((key, bits) -> rows.add(new Object[]{key.get(0), key.get(1), LessonBitSet.toBytes(bits), bits.cardinality(), now}));
+        jdbcTemplate.batchUpdate(UPSERT_PROGRESS, rows);
+
+        jdbcTemplate.execute("DROP TABLE user_completed_lessons");
+    }
+}
@@ -0,0 +1,79 @@
+package db.migration;
+
+import course.spring.elearningplatform.util.LessonBitSet;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renumbers lesson ordinals to 0..n-1 in every course and moves the {@code lesson_progress} bits
+ * along with them. V6 made ordinals unique by moving duplicates past the end of the course, which
+ * leaves gaps ({0,1,1,3} became {0,1,3,4}), while completion and the next-lesson lookup assume
+ * dense ordinals.
+ */
+public class V9__DenseLessonOrdinals extends BaseJavaMigration {
+
+    private static final String LESSONS =
+            "SELECT related_course_id, id, lesson_ordinal FROM lesson WHERE related_course_id IS NOT NULL " +
+                    "ORDER BY related_course_id, lesson_ordinal, id";
+    private static final String PROGRESS =
+            "SELECT user_id, completed_bits FROM lesson_progress WHERE course_id = ?";
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+
+        // course id -> (old ordinal -> new ordinal), lessons in ordinal order
+        Map<Long, Map<Integer, Integer>> renumbered = new LinkedHashMap<>();
+        List<Object[]> moves = new ArrayList<>();
+        jdbcTemplate.query(LESSONS, rs -> {
+            Map<Integer, Integer> ordinals = renumbered.computeIfAbsent(rs.getLong(1), k -> new LinkedHashMap<>());
+            int ordinal = rs.getInt(3);
+            int dense = ordinals.size();
+            ordinals.put(ordinal, dense);
+            if (ordinal != dense) {
+                moves.add(new Object[]{dense, rs.getLong(2)});
+            }
+        });
+        if (moves.isEmpty()) {
+            return;
+        }
+
+        // Ordinals only ever move down, and in ascending order each target is already free, so the
+        // unique key on (related_course_id, lesson_ordinal) holds after every row
+        jdbcTemplate.batchUpdate("UPDATE lesson SET lesson_ordinal = ? WHERE id = ?", moves);
+
+        renumbered.forEach((courseId, ordinals) -> {
+            if (ordinals.entrySet().stream().allMatch(e -> e.getKey().equals(e.getValue()))) {
+                return;
+            }
+            Map<Long, byte[]> progress = new HashMap<>();
+            jdbcTemplate.query(PROGRESS, rs -> {
+                progress.put(rs.getLong(1), rs.getBytes(2));
+            }, courseId);
+
+            List<Object[]> rows = new ArrayList<>(progress.size());
+            progress.forEach((userId, bytes) -> {
+                BitSet completed = LessonBitSet.fromBytes(bytes);
+                BitSet remapped = new BitSet();
+                ordinals.forEach((ordinal, dense) -> {
+                    if (completed.get(ordinal)) {
+                        remapped.set(dense);
+                    }
+                });
+                rows.add(new Object[]{LessonBitSet.toBytes(remapped), remapped.cardinality(), userId, courseId});
+            });
+            jdbcTemplate.batchUpdate(
+                    "UPDATE lesson_progress SET completed_bits = ?, completed_count = ? WHERE user_id = ? AND course_id = ?",
+                    rows);
+        });
+    }
+}
@@ -0,0 +1,301 @@
+-- The schema as Hibernate generated it with ddl-auto=update before Flyway took over. Databases
+-- created back then are baselined at version 0 (spring.flyway.baseline-on-migrate) and still run
+-- this script, so every table is IF NOT EXISTS and carries its constraints inline: on those
+-- databases it is a no-op, and V2 onwards bring them to the current schema.
+
+CREATE TABLE IF NOT EXISTS images (
+    id        BIGINT NOT NULL AUTO_INCREMENT,
+    image     LONGBLOB,
+    mime_type VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    username           VARCHAR(255),
+    password           VARCHAR(255),
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    email              VARCHAR(255),
+    profile_picture_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_profile_picture UNIQUE (profile_picture_id),
+    CONSTRAINT fk_user_profile_picture FOREIGN KEY (profile_picture_id) REFERENCES images (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT       NOT NULL,
+    roles   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, roles),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_analytics (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    total_participants INTEGER NOT NULL,
+    average_percentage DOUBLE NOT NULL,
+    fastest_time       BIGINT NOT NULL,
+    average_time       DOUBLE NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS quiz (
+    id    BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255),
+    description   VARCHAR(255),
+    created_by_id BIGINT,
+    created_on    DATETIME(6),
+    image_id      BIGINT,
+    quiz_id       BIGINT,
+    analytics_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_course_image UNIQUE (image_id),
+    CONSTRAINT uk_course_quiz UNIQUE (quiz_id),
+    CONSTRAINT uk_course_analytics UNIQUE (analytics_id),
+    CONSTRAINT fk_course_created_by FOREIGN KEY (created_by_id) REFERENCES user (id),
+    CONSTRAINT fk_course_image FOREIGN KEY (image_id) REFERENCES images (id),
+    CONSTRAINT fk_course_quiz FOREIGN KEY (quiz_id) REFERENCES quiz (id),
+    CONSTRAINT fk_course_analytics FOREIGN KEY (analytics_id) REFERENCES course_analytics (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_categories (
+    course_id  BIGINT NOT NULL,
+    categories VARCHAR(255),
+    CONSTRAINT fk_course_categories_course FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS lesson (
+    id                BIGINT NOT NULL AUTO_INCREMENT,
+    title             VARCHAR(255),
+    content           TEXT,
+    created_on        DATETIME(6),
+    related_course_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_lesson_related_course FOREIGN KEY (related_course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_lessons (
+    course_id  BIGINT NOT NULL,
+    lessons_id BIGINT NOT NULL,
+    CONSTRAINT uk_course_lessons_lesson UNIQUE (lessons_id),
+    CONSTRAINT fk_course_lessons_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_course_lessons_lesson FOREIGN KEY (lessons_id) REFERENCES lesson (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS question (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    question_title VARCHAR(255),
+    option1        VARCHAR(255),
+    option2        VARCHAR(255),
+    option3        VARCHAR(255),
+    option4        VARCHAR(255),
+    correct_answer VARCHAR(255),
+    difficulty     VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_questions (
+    course_id    BIGINT NOT NULL,
+    questions_id BIGINT NOT NULL,
+    CONSTRAINT uk_course_questions_question UNIQUE (questions_id),
+    CONSTRAINT fk_course_questions_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_course_questions_question FOREIGN KEY (questions_id) REFERENCES question (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS quiz_questions (
+    quiz_id      BIGINT NOT NULL,
+    questions_id BIGINT NOT NULL,
+    CONSTRAINT fk_quiz_questions_quiz FOREIGN KEY (quiz_id) REFERENCES quiz (id),
+    CONSTRAINT fk_quiz_questions_question FOREIGN KEY (questions_id) REFERENCES question (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS student_result (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    username     VARCHAR(255),
+    percentage   INTEGER NOT NULL,
+    elapsed_time BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS course_high_scores (
+    course_id      BIGINT NOT NULL,
+    high_scores_id BIGINT NOT NULL,
+    CONSTRAINT fk_course_high_scores_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_course_high_scores_result FOREIGN KEY (high_scores_id) REFERENCES student_result (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS quiz_high_scores (
+    quiz_id        BIGINT NOT NULL,
+    high_scores_id BIGINT NOT NULL,
+    CONSTRAINT fk_quiz_high_scores_quiz FOREIGN KEY (quiz_id) REFERENCES quiz (id),
+    CONSTRAINT fk_quiz_high_scores_result FOREIGN KEY (high_scores_id) REFERENCES student_result (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_courses (
+    user_id    BIGINT NOT NULL,
+    courses_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, courses_id),
+    CONSTRAINT uk_user_courses_course UNIQUE (courses_id),
+    CONSTRAINT fk_user_courses_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_courses_course FOREIGN KEY (courses_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_started_courses (
+    user_id   BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, course_id),
+    CONSTRAINT fk_user_started_courses_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_started_courses_course FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_completed_courses (
+    user_id   BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, course_id),
+    CONSTRAINT fk_user_completed_courses_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_completed_courses_course FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+-- Replaced by lesson_progress; LessonProgressBackfill reads it once
+CREATE TABLE IF NOT EXISTS user_completed_lessons (
+    user_id   BIGINT NOT NULL,
+    lesson_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, lesson_id),
+    CONSTRAINT fk_user_completed_lessons_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_completed_lessons_lesson FOREIGN KEY (lesson_id) REFERENCES lesson (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS learning_groups (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255),
+    image_id    BIGINT,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_learning_groups_image UNIQUE (image_id),
+    CONSTRAINT fk_learning_groups_image FOREIGN KEY (image_id) REFERENCES images (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS learning_groups_members (
+    group_id   BIGINT NOT NULL,
+    members_id BIGINT NOT NULL,
+    PRIMARY KEY (group_id, members_id),
+    CONSTRAINT fk_learning_groups_members_group FOREIGN KEY (group_id) REFERENCES learning_groups (id),
+    CONSTRAINT fk_learning_groups_members_user FOREIGN KEY (members_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+-- Both sides of the user/group association used to own a join table; User.groups is now mapped by Group.members
+CREATE TABLE IF NOT EXISTS user_groups (
+    user_id   BIGINT NOT NULL,
+    groups_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, groups_id),
+    CONSTRAINT fk_user_groups_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_user_groups_group FOREIGN KEY (groups_id) REFERENCES learning_groups (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS article (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    author_id  BIGINT,
+    created_at DATETIME(6),
+    content    VARCHAR(255),
+    group_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_article_author FOREIGN KEY (author_id) REFERENCES user (id),
+    CONSTRAINT fk_article_group FOREIGN KEY (group_id) REFERENCES learning_groups (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS event (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    start_time  DATETIME(6),
+    end_time    DATETIME(6),
+    course_id   BIGINT,
+    instructor  VARCHAR(255),
+    image_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_event_image UNIQUE (image_id),
+    CONSTRAINT fk_event_course FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT fk_event_image FOREIGN KEY (image_id) REFERENCES images (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS assignment (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description LONGTEXT,
+    due_date    DATETIME(6),
+    course_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_assignment_course FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS solution (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    file_path     VARCHAR(255) NOT NULL,
+    assignment_id BIGINT       NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_solution_assignment FOREIGN KEY (assignment_id) REFERENCES assignment (id),
+    CONSTRAINT fk_solution_user FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS certificate (
+    id               BIGINT  NOT NULL AUTO_INCREMENT,
+    course_name      VARCHAR(255),
+    user_id          BIGINT  NOT NULL,
+    score_percentage INTEGER NOT NULL,
+    issued_on        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_certificate_user FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS ticket (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    issuer_id  BIGINT,
+    course_id  BIGINT,
+    created_on DATETIME(6),
+    content    VARCHAR(255),
+    resolved   BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_issuer FOREIGN KEY (issuer_id) REFERENCES user (id),
+    CONSTRAINT fk_ticket_course FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS faq (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    question VARCHAR(255),
+    answer   VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS news (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    title          VARCHAR(255),
+    content        VARCHAR(255),
+    author         VARCHAR(255),
+    published_date DATETIME(6),
+    image          VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS announcement (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    title      VARCHAR(255),
+    content    VARCHAR(255),
+    expires_at DATETIME(6),
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS activity_log (
+    id        BIGINT NOT NULL AUTO_INCREMENT,
+    action    VARCHAR(255),
+    username  VARCHAR(255),
+    timestamp DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
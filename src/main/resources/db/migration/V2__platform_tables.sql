@@ -0,0 +1,85 @@
+-- Tables, columns and indexes added on top of the baseline schema. Everything here is new to a
+-- baselined database, so the statements are plain DDL; the data steps below are written to be
+-- correct for an empty database as well as one with years of rows.
+
+-- Lesson.ordinal: position of the lesson in its course, the bit index in lesson_progress
+ALTER TABLE lesson ADD COLUMN lesson_ordinal INTEGER;
+
+UPDATE lesson l
+    JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY related_course_id ORDER BY id) - 1 AS rn FROM lesson) numbered
+    ON numbered.id = l.id
+SET l.lesson_ordinal = numbered.rn;
+
+-- ActivityLog.timestamp became mandatory; the few legacy rows without one are stamped now
+UPDATE activity_log SET timestamp = NOW(6) WHERE timestamp IS NULL;
+ALTER TABLE activity_log
+    MODIFY timestamp DATETIME(6) NOT NULL,
+    ADD INDEX idx_activity_log_timestamp_id (timestamp, id);
+
+CREATE INDEX idx_user_first_name ON user (first_name);
+CREATE INDEX idx_user_last_name ON user (last_name);
+CREATE INDEX idx_article_group_created ON article (group_id, created_at DESC, id DESC);
+CREATE INDEX idx_assignment_due_date ON assignment (due_date);
+CREATE INDEX idx_announcement_expires_at ON announcement (expires_at);
+
+CREATE TABLE lesson_progress (
+    user_id        BIGINT          NOT NULL,
+    course_id      BIGINT          NOT NULL,
+    completed_bits VARBINARY(1024) NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (user_id, course_id),
+    INDEX idx_lesson_progress_course (course_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE notification_inbox (
+    user_id    BIGINT      NOT NULL,
+    seq        BIGINT      NOT NULL,
+    event_id   BINARY(16)  NOT NULL,
+    event_type VARCHAR(64) NOT NULL,
+    payload    TEXT        NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, seq),
+    CONSTRAINT uk_notification_inbox_event UNIQUE (user_id, event_id),
+    INDEX idx_notification_inbox_created (created_at)
+) ENGINE = InnoDB;
+
+CREATE TABLE notification_read_cursor (
+    user_id       BIGINT NOT NULL,
+    last_read_seq BIGINT NOT NULL,
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reminder_dispatch (
+    assignment_id BIGINT       NOT NULL,
+    reminder_kind VARCHAR(16)  NOT NULL,
+    claimed_by    VARCHAR(255) NOT NULL,
+    claimed_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (assignment_id, reminder_kind)
+) ENGINE = InnoDB;
+
+CREATE TABLE outbox_event (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    exchange        VARCHAR(255) NOT NULL,
+    routing_key     VARCHAR(255) NOT NULL,
+    event_type      VARCHAR(255) NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_event_due (next_attempt_at, id)
+) ENGINE = InnoDB;
+
+-- Sequence tables for the ids that moved from IDENTITY to pooled sequences. MySQL has no sequences,
+-- so Hibernate emulates them with a one-row table; each starts past the ids already in use.
+CREATE TABLE activity_log_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO activity_log_seq SELECT COALESCE(MAX(id), 0) + 1 FROM activity_log;
+CREATE TABLE student_result_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO student_result_seq SELECT COALESCE(MAX(id), 0) + 1 FROM student_result;
+CREATE TABLE solution_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO solution_seq SELECT COALESCE(MAX(id), 0) + 1 FROM solution;
+CREATE TABLE certificate_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO certificate_seq SELECT COALESCE(MAX(id), 0) + 1 FROM certificate;
+CREATE TABLE notification_inbox_seq (next_val BIGINT NOT NULL) ENGINE = InnoDB;
+INSERT INTO notification_inbox_seq VALUES (1);
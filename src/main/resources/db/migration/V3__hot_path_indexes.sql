@@ -0,0 +1,38 @@
+-- Indexes and unique constraints for the repository lookups that had none. Foreign-key columns are
+-- left out: InnoDB already indexes them, and a secondary index carries the primary key, so e.g.
+-- user_completed_courses(course_id) already covers (course_id, user_id).
+-- A unique constraint fails this migration if duplicates exist; the services have always rejected
+-- them, so clean up any stragglers by hand and re-run.
+
+-- UserRepository.findByUsername / existsByUsername, existsByEmail
+ALTER TABLE user
+    ADD CONSTRAINT uk_user_username UNIQUE (username),
+    ADD CONSTRAINT uk_user_email UNIQUE (email);
+
+-- UserRepository.findByRole
+CREATE INDEX idx_user_roles_role ON user_roles (roles, user_id);
+
+-- CourseRepository.existsByName
+ALTER TABLE course ADD CONSTRAINT uk_course_name UNIQUE (name);
+
+-- CourseRepository.findAllByCategory
+CREATE INDEX idx_course_categories_category ON course_categories (categories, course_id);
+
+-- GroupRepository.existsByName
+ALTER TABLE learning_groups ADD CONSTRAINT uk_learning_groups_name UNIQUE (name);
+
+-- EventRepository.existsByTitle, findByInstructor
+ALTER TABLE event ADD CONSTRAINT uk_event_title UNIQUE (title);
+CREATE INDEX idx_event_instructor ON event (instructor);
+
+-- QuestionRepository.existsByQuestionTitle; titles may repeat across courses, so not unique
+CREATE INDEX idx_question_title ON question (question_title);
+
+-- SolutionRepository.existsByUserIdAndAssignmentId, findSubmittedAssignmentIds; one upload per assignment
+ALTER TABLE solution ADD CONSTRAINT uk_solution_user_assignment UNIQUE (user_id, assignment_id);
+
+-- OutboxEventRepository.countByAttemptsLessThan / GreaterThanEqual, findOldestPendingCreatedAt
+CREATE INDEX idx_outbox_event_attempts ON outbox_event (attempts, created_at);
+
+-- ActivityLogExportRepository.streamLogs filtered by user
+CREATE INDEX idx_activity_log_username ON activity_log (username, timestamp, id);
@@ -0,0 +1,13 @@
+-- Daily RANGE partitions for activity_log, so retention drops whole partitions instead of deleting
+-- rows. MySQL requires the partitioning column in every unique key, hence the (id, timestamp) key.
+-- Everything before the day this runs lands in p_history; ActivityLogPartitionManager splits the
+-- following days off p_future and drops partitions once they are past retention.
+ALTER TABLE activity_log DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp);
+
+SET @partition_ddl = CONCAT(
+        'ALTER TABLE activity_log PARTITION BY RANGE (TO_DAYS(timestamp)) (',
+        'PARTITION p_history VALUES LESS THAN (TO_DAYS(''', CURDATE(), ''')), ',
+        'PARTITION p_future VALUES LESS THAN MAXVALUE)');
+PREPARE partition_activity_log FROM @partition_ddl;
+EXECUTE partition_activity_log;
+DEALLOCATE PREPARE partition_activity_log;
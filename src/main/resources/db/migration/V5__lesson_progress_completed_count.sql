@@ -0,0 +1,7 @@
+-- LessonProgress.completedCount: number of set bits in completed_bits, kept by the completion upsert
+-- so it can hand the new count back through LAST_INSERT_ID(expr) in the same statement.
+ALTER TABLE lesson_progress ADD COLUMN completed_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE lesson_progress SET completed_count = BIT_COUNT(completed_bits);
+
+ALTER TABLE lesson_progress ALTER COLUMN completed_count DROP DEFAULT;
@@ -0,0 +1,26 @@
+-- Lesson ordinals used to be taken from the size of an in-memory list, so two lessons added to the
+-- same course at once could share one. The first keeps it; the others move past the end of the course.
+UPDATE lesson l
+    JOIN (SELECT d.id,
+                 m.max_ordinal + ROW_NUMBER() OVER (PARTITION BY d.related_course_id ORDER BY d.id) AS ordinal
+          FROM (SELECT id, related_course_id,
+                       ROW_NUMBER() OVER (PARTITION BY related_course_id, lesson_ordinal ORDER BY id) AS copy
+                FROM lesson
+                WHERE related_course_id IS NOT NULL) d
+                   JOIN (SELECT related_course_id, MAX(lesson_ordinal) AS max_ordinal
+                         FROM lesson
+                         WHERE related_course_id IS NOT NULL
+                         GROUP BY related_course_id) m ON m.related_course_id = d.related_course_id
+          WHERE d.copy > 1) moved ON moved.id = l.id
+SET l.lesson_ordinal = moved.ordinal;
+
+ALTER TABLE lesson ADD CONSTRAINT uk_lesson_course_ordinal UNIQUE (related_course_id, lesson_ordinal);
+
+-- Progress rows of users and courses that were deleted before these keys existed
+DELETE FROM lesson_progress WHERE user_id NOT IN (SELECT id FROM user);
+DELETE FROM lesson_progress WHERE course_id NOT IN (SELECT id FROM course);
+
+-- Both key columns are already indexed: user_id leads the primary key, course_id has its own index
+ALTER TABLE lesson_progress
+    ADD CONSTRAINT fk_lesson_progress_user FOREIGN KEY (user_id) REFERENCES user (id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_lesson_progress_course FOREIGN KEY (course_id) REFERENCES course (id) ON DELETE CASCADE;
@@ -0,0 +1,24 @@
+-- User.groups is mapped by Group.members, so user_groups is no longer written or cleared, yet its
+-- foreign keys would still block deleting a group or user that has old rows in it. Its memberships
+-- move to learning_groups_members, which is rebuilt with cascading keys: Hibernate clears the join
+-- rows when a group is deleted, but not when a user on the inverse side is.
+CREATE TABLE learning_groups_members_merged (
+    group_id   BIGINT NOT NULL,
+    members_id BIGINT NOT NULL,
+    PRIMARY KEY (group_id, members_id)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO learning_groups_members_merged (group_id, members_id)
+SELECT group_id, members_id FROM learning_groups_members;
+
+INSERT IGNORE INTO learning_groups_members_merged (group_id, members_id)
+SELECT groups_id, user_id FROM user_groups;
+
+DROP TABLE user_groups;
+DROP TABLE learning_groups_members;
+RENAME TABLE learning_groups_members_merged TO learning_groups_members;
+
+-- Named only now: foreign key names are unique per schema and the old table held these
+ALTER TABLE learning_groups_members
+    ADD CONSTRAINT fk_learning_groups_members_group FOREIGN KEY (group_id) REFERENCES learning_groups (id) ON DELETE CASCADE,
+    ADD CONSTRAINT fk_learning_groups_members_user FOREIGN KEY (members_id) REFERENCES user (id) ON DELETE CASCADE;
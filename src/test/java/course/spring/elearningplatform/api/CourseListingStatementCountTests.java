@@ -0,0 +1,159 @@
+package course.spring.elearningplatform.api;
+
+import course.spring.elearningplatform.entity.CustomUserDetails;
+import course.spring.elearningplatform.entity.Role;
+import course.spring.elearningplatform.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the statements Hibernate prepares for each course listing endpoint, with the second-level
+ * cache emptied first, and checks the count stays the same when the listing grows tenfold.
+ */
+@SpringBootTest(properties = {
+    "scheduling.enabled=false",
+    "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class CourseListingStatementCountTests {
+
+  private static final String CATEGORY = "statement-count";
+  private static final int LESSONS_PER_COURSE = 3;
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", mysql::getJdbcUrl);
+    registry.add("spring.datasource.username", mysql::getUsername);
+    registry.add("spring.datasource.password", mysql::getPassword);
+  }
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbc;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private CustomUserDetails student;
+
+  @BeforeEach
+  void createStudent() {
+    String username = "student-" + UUID.randomUUID();
+    jdbc.update("INSERT INTO user (username) VALUES (?)", username);
+    User user = new User(username, "", "Student", "Student", username + "@mail.com", Set.of(Role.STUDENT.getDescription()));
+    user.setId(jdbc.queryForObject("SELECT id FROM user WHERE username = ?", Long.class, username));
+    student = new CustomUserDetails(user);
+  }
+
+  @Test
+  void allCourses() throws Exception {
+    assertStatementCount("/api/courses", 3);
+  }
+
+  @Test
+  void top3CoursesByCategory() throws Exception {
+    assertStatementCount("/api/courses/top3", 3);
+  }
+
+  @Test
+  void coursesByCategory() throws Exception {
+    assertStatementCount("/api/courses/category/" + CATEGORY, 3);
+  }
+
+  @Test
+  void studentCourses() throws Exception {
+    // started and completed courses (the latter twice), then counts and lessons
+    assertStatementCount("/api/courses/student/" + student.getUser().getId(), 5);
+  }
+
+  @Test
+  void assignments() throws Exception {
+    // user, completed courses, started courses, assignments, submitted solutions, all courses
+    assertStatementCount("/api/assignments", 6);
+  }
+
+  private void assertStatementCount(String uri, long expected) throws Exception {
+    seedCourses(2);
+    long few = statementsFor(uri);
+    seedCourses(20);
+    long many = statementsFor(uri);
+
+    assertThat(few).isEqualTo(expected);
+    assertThat(many).isEqualTo(expected);
+  }
+
+  private long statementsFor(String uri) throws Exception {
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    Statistics statistics = sessionFactory.getStatistics();
+    statistics.clear();
+
+    mockMvc.perform(get(uri).with(user(student))).andExpect(status().isOk());
+
+    return statistics.getPrepareStatementCount();
+  }
+
+  /**
+   * Courses created and started by the student, every other one also completed, each with lessons,
+   * an assignment and the student's solution to it.
+   */
+  private void seedCourses(int count) {
+    // one transaction keeps every statement on the connection LAST_INSERT_ID() belongs to
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> insertCourses(count));
+  }
+
+  private void insertCourses(int count) {
+    long studentId = student.getUser().getId();
+    for (int i = 0; i < count; i++) {
+      String name = "Course " + UUID.randomUUID();
+      jdbc.update("INSERT INTO course (name, description, created_by_id, created_on) VALUES (?, 'description', ?, NOW())",
+          name, studentId);
+      long courseId = jdbc.queryForObject("SELECT id FROM course WHERE name = ?", Long.class, name);
+      jdbc.update("INSERT INTO course_categories (course_id, categories) VALUES (?, ?)", courseId, CATEGORY);
+      for (int ordinal = 0; ordinal < LESSONS_PER_COURSE; ordinal++) {
+        jdbc.update("INSERT INTO lesson (title, related_course_id, lesson_ordinal) VALUES (?, ?, ?)",
+            "Lesson " + ordinal, courseId, ordinal);
+        jdbc.update("INSERT INTO course_lessons (course_id, lessons_id) VALUES (?, LAST_INSERT_ID())", courseId);
+      }
+      jdbc.update("INSERT INTO user_started_courses (user_id, course_id) VALUES (?, ?)", studentId, courseId);
+      if (i % 2 == 0) {
+        jdbc.update("INSERT INTO user_completed_courses (user_id, course_id) VALUES (?, ?)", studentId, courseId);
+      }
+      jdbc.update("INSERT INTO assignment (title, due_date, course_id) VALUES ('Homework', NOW(), ?)", courseId);
+      jdbc.update("INSERT INTO solution (file_path, assignment_id, user_id) VALUES ('homework.zip', LAST_INSERT_ID(), ?)",
+          studentId);
+    }
+  }
+}
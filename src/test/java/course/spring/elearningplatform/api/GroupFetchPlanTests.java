@@ -0,0 +1,149 @@
+package course.spring.elearningplatform.api;
+
+import com.jayway.jsonpath.JsonPath;
+import course.spring.elearningplatform.entity.CustomUserDetails;
+import course.spring.elearningplatform.entity.Role;
+import course.spring.elearningplatform.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the group endpoints' fetch plan through Hibernate's statistics: a fixed number of
+ * statements whatever the group size, and no user entity or lazy collection loaded on the way.
+ */
+@SpringBootTest(properties = {
+    "scheduling.enabled=false",
+    "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class GroupFetchPlanTests {
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", mysql::getJdbcUrl);
+    registry.add("spring.datasource.username", mysql::getUsername);
+    registry.add("spring.datasource.password", mysql::getPassword);
+  }
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private JdbcTemplate jdbc;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private CustomUserDetails student;
+
+  @BeforeEach
+  void setUp() {
+    String username = "student-" + UUID.randomUUID();
+    student = new CustomUserDetails(new User(username, "", "Student", "Student", username + "@mail.com",
+        Set.of(Role.STUDENT.getDescription())));
+  }
+
+  @Test
+  void allGroupsCountMembersInOneQuery() throws Exception {
+    seedGroup(3);
+    assertFetchPlan(get("/api/groups"), 2);
+
+    seedGroup(60);
+    seedGroup(5);
+    // the groups and their images, then one GROUP BY for every group's member count
+    assertFetchPlan(get("/api/groups"), 2);
+  }
+
+  @Test
+  void groupPageDoesNotLoadItsMembers() throws Exception {
+    long small = seedGroup(3);
+    long large = seedGroup(60);
+
+    // group, member count, article feed, membership check
+    assertFetchPlan(get("/api/groups/" + small), 4);
+    assertFetchPlan(get("/api/groups/" + large), 4);
+  }
+
+  @Test
+  void membersArePagedThroughTheProjection() throws Exception {
+    long id = seedGroup(45);
+
+    // existence check, then one page of id and name columns
+    String firstPage = assertFetchPlan(get("/api/groups/" + id + "/members"), 2);
+    String cursor = JsonPath.read(firstPage, "$.nextCursor");
+    String secondPage = assertFetchPlan(get("/api/groups/" + id + "/members").param("cursor", cursor), 2);
+    String lastCursor = JsonPath.read(secondPage, "$.nextCursor");
+    String lastPage = assertFetchPlan(get("/api/groups/" + id + "/members").param("cursor", lastCursor), 2);
+
+    assertThat(JsonPath.<List<Object>>read(firstPage, "$.items")).hasSize(20);
+    assertThat(JsonPath.<List<Object>>read(secondPage, "$.items")).hasSize(20);
+    assertThat(JsonPath.<List<Object>>read(lastPage, "$.items")).hasSize(5);
+    assertThat(JsonPath.<Boolean>read(lastPage, "$.hasNext")).isFalse();
+  }
+
+  /**
+   * Runs the request and asserts it prepared exactly {@code statements} statements without loading a
+   * user or initializing any collection; returns the response body.
+   */
+  private String assertFetchPlan(MockHttpServletRequestBuilder request, long statements) throws Exception {
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    sessionFactory.getCache().evictAllRegions();
+    Statistics statistics = sessionFactory.getStatistics();
+    statistics.clear();
+
+    String body = mockMvc.perform(request.with(user(student)))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    assertThat(statistics.getCollectionFetchCount()).isZero();
+    return body;
+  }
+
+  private long seedGroup(int members) {
+    // one transaction keeps every statement on the connection LAST_INSERT_ID() belongs to
+    return new TransactionTemplate(transactionManager).execute(status -> {
+      String name = "Group " + UUID.randomUUID();
+      jdbc.update("INSERT INTO learning_groups (name, description) VALUES (?, 'description')", name);
+      long groupId = jdbc.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+      for (int i = 0; i < members; i++) {
+        jdbc.update("INSERT INTO user (username) VALUES (?)", "member-" + UUID.randomUUID());
+        jdbc.update("INSERT INTO learning_groups_members (group_id, members_id) VALUES (?, LAST_INSERT_ID())", groupId);
+      }
+      return groupId;
+    });
+  }
+}
@@ -0,0 +1,95 @@
+package course.spring.elearningplatform.api;
+
+import course.spring.elearningplatform.entity.Image;
+import course.spring.elearningplatform.service.ImageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the controller standalone with its own "jdbc" scheduler, so the tests can see which thread
+ * loads the image and that a revalidation loads nothing.
+ */
+class ImageRestControllerTests {
+
+  private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G'};
+
+  private final ImageService imageService = mock(ImageService.class);
+  private final List<String> loadThreads = new CopyOnWriteArrayList<>();
+  private Scheduler jdbcScheduler;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    jdbcScheduler = Schedulers.newBoundedElastic(2, 100, "jdbc");
+    mockMvc = MockMvcBuilders.standaloneSetup(new ImageRestController(imageService, jdbcScheduler)).build();
+    when(imageService.getImageById(5L)).thenAnswer(invocation -> {
+      loadThreads.add(Thread.currentThread().getName());
+      return new Image(PNG, "image/png");
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcScheduler.dispose();
+  }
+
+  @Test
+  void servesTheImageWithAStrongPrivateValidator() throws Exception {
+    MvcResult started = mockMvc.perform(get("/api/images/5"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"image-5\""))
+        .andExpect(header().string("Cache-Control", "max-age=86400, private"))
+        .andExpect(content().contentType("image/png"))
+        .andExpect(content().bytes(PNG));
+    assertThat(loadThreads).singleElement().satisfies(thread -> assertThat(thread).startsWith("jdbc-"));
+  }
+
+  @Test
+  void matchingIfNoneMatchIsAnsweredWithoutLoadingTheImage() throws Exception {
+    MvcResult started = mockMvc.perform(get("/api/images/5").header("If-None-Match", "\"image-5\""))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string("ETag", "\"image-5\""))
+        .andExpect(content().bytes(new byte[0]));
+    verifyNoInteractions(imageService);
+  }
+
+  @Test
+  void validatorOfAnotherImageIsIgnored() throws Exception {
+    MvcResult started = mockMvc.perform(get("/api/images/5").header("If-None-Match", "\"image-4\""))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"image-5\""))
+        .andExpect(content().bytes(PNG));
+  }
+}
@@ -0,0 +1,129 @@
+package course.spring.elearningplatform.api;
+
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.InboxNotification;
+import course.spring.elearningplatform.entity.CustomUserDetails;
+import course.spring.elearningplatform.entity.Role;
+import course.spring.elearningplatform.entity.User;
+import course.spring.elearningplatform.service.NotificationInboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the controller standalone with a small "jdbc" scheduler of its own, signed in as user 7.
+ */
+class NotificationRestControllerTests {
+
+  private static final long USER_ID = 7;
+  private static final int JDBC_THREADS = 4;
+
+  private final NotificationInboxService inboxService = mock(NotificationInboxService.class);
+  private Scheduler jdbcScheduler;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    jdbcScheduler = Schedulers.newBoundedElastic(JDBC_THREADS, 10_000, "jdbc");
+    mockMvc = MockMvcBuilders.standaloneSetup(new NotificationRestController(inboxService, jdbcScheduler))
+        .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+        .build();
+    User user = new User("student", "", "Student", "Student", "student@mail.com", Set.of(Role.STUDENT.getDescription()));
+    user.setId(USER_ID);
+    CustomUserDetails principal = new CustomUserDetails(user);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    jdbcScheduler.dispose();
+  }
+
+  @Test
+  void listsTheSignedInUsersInbox() throws Exception {
+    InboxNotification notification = new InboxNotification(42L, "news.posted", "{\"id\":1}", LocalDateTime.now());
+    when(inboxService.getNotifications(USER_ID, "abc", 20))
+        .thenReturn(new CursorPage<>(List.of(notification), "next", true, null));
+
+    MvcResult started = mockMvc.perform(get("/api/notifications").param("cursor", "abc").param("size", "20"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].seq").value(42))
+        .andExpect(jsonPath("$.items[0].data.id").value(1))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  /**
+   * A scaled-down stand-in for the slow-client comparison: with every inbox read stuck, one caller
+   * thread still gets all requests accepted, and the reads wait on the bounded scheduler rather
+   * than each holding a request thread. A blocking handler would hang on the first request.
+   */
+  @Test
+  void slowReadsQueueOnTheJdbcSchedulerInsteadOfHoldingRequestThreads() throws Exception {
+    int requests = 200;
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    Set<String> readThreads = ConcurrentHashMap.newKeySet();
+    when(inboxService.getUnreadCount(USER_ID)).thenAnswer(invocation -> {
+      readThreads.add(Thread.currentThread().getName());
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        release.await(10, TimeUnit.SECONDS);
+        return 3L;
+      } finally {
+        inFlight.decrementAndGet();
+      }
+    });
+
+    List<MvcResult> started = new ArrayList<>(requests);
+    try {
+      for (int i = 0; i < requests; i++) {
+        started.add(mockMvc.perform(get("/api/notifications/unread-count"))
+            .andExpect(request().asyncStarted())
+            .andReturn());
+      }
+    } finally {
+      release.countDown();
+    }
+
+    for (MvcResult result : started) {
+      mockMvc.perform(asyncDispatch(result))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.unread").value(3));
+    }
+    assertThat(maxInFlight.get()).isLessThanOrEqualTo(JDBC_THREADS);
+    assertThat(readThreads).hasSizeLessThanOrEqualTo(JDBC_THREADS).allSatisfy(thread -> assertThat(thread).startsWith("jdbc-"));
+  }
+}
@@ -0,0 +1,133 @@
+package course.spring.elearningplatform.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A scaled-down version of the virtual-thread load the gate exists for: thousands of virtual
+ * threads against an H2 database, checking the gate bounds the connections in use and refuses the
+ * excess instead of queueing it.
+ */
+class ConcurrencyLimitedDataSourceTests {
+
+  private static final int PERMITS = 10;
+
+  private final DataSource database = new DriverManagerDataSource("jdbc:h2:mem:gate;DB_CLOSE_DELAY=-1", "sa", "");
+
+  @Test
+  void thousandsOfVirtualThreadsNeverHoldMoreConnectionsThanPermits() throws Exception {
+    int callers = 5000;
+    ConcurrencyLimitedDataSource gate = new ConcurrencyLimitedDataSource(database, PERMITS, callers, 30_000);
+    AtomicInteger inUse = new AtomicInteger();
+    AtomicInteger maxInUse = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<Integer>> results = new ArrayList<>(callers);
+      for (int i = 0; i < callers; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          try (Connection connection = gate.getConnection()) {
+            maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(1);
+              return selectOne(connection);
+            } finally {
+              inUse.decrementAndGet();
+            }
+          }
+        }));
+      }
+      start.countDown();
+
+      for (Future<Integer> result : results) {
+        assertThat(result.get(60, TimeUnit.SECONDS)).isEqualTo(1);
+      }
+    }
+
+    assertThat(maxInUse.get()).isLessThanOrEqualTo(PERMITS);
+    assertThat(gate.getAvailablePermits()).isEqualTo(PERMITS);
+    assertThat(gate.getWaiting()).isZero();
+  }
+
+  @Test
+  void callersBeyondTheWaitQueueAreRefusedImmediately() throws Exception {
+    ConcurrencyLimitedDataSource gate = new ConcurrencyLimitedDataSource(database, 1, 1, 30_000);
+    try (Connection held = gate.getConnection();
+         ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<?> waiter = executor.submit(() -> {
+        try (Connection connection = gate.getConnection()) {
+          return selectOne(connection);
+        }
+      });
+      while (gate.getWaiting() == 0) {
+        Thread.sleep(1);
+      }
+
+      long started = System.nanoTime();
+      assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+      assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+      held.close();
+      assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+    assertThat(gate.getAvailablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void waitingCallerGivesUpAfterTheAcquireTimeout() throws Exception {
+    ConcurrencyLimitedDataSource gate = new ConcurrencyLimitedDataSource(database, 1, 10, 50);
+    try (Connection held = gate.getConnection()) {
+      long started = System.nanoTime();
+      assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+      assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+    assertThat(gate.getAvailablePermits()).isEqualTo(1);
+  }
+
+  @Test
+  void closingTwiceReleasesThePermitOnce() throws Exception {
+    ConcurrencyLimitedDataSource gate = new ConcurrencyLimitedDataSource(database, 2, 10, 50);
+    Connection connection = gate.getConnection();
+
+    connection.close();
+    connection.close();
+
+    assertThat(gate.getAvailablePermits()).isEqualTo(2);
+  }
+
+  @Test
+  void permitIsReturnedWhenTheTargetFailsToConnect() {
+    ConcurrencyLimitedDataSource gate = new ConcurrencyLimitedDataSource(
+        new DriverManagerDataSource("jdbc:unknown:gate"), 1, 10, 50);
+
+    assertThatThrownBy(gate::getConnection).isInstanceOf(SQLException.class);
+    assertThat(gate.getAvailablePermits()).isEqualTo(1);
+  }
+
+  private static int selectOne(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+      resultSet.next();
+      return resultSet.getInt(1);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package course.spring.elearningplatform.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsRegistryTests {
+
+  // every request counts as slow
+  private final QueryStatsRegistry registry = new QueryStatsRegistry(new SimpleMeterRegistry(), 0, 50);
+
+  @Test
+  void stringLiteralsBecomePlaceholders() {
+    assertThat(QueryStatsRegistry.fingerprint("SELECT id FROM user WHERE username = 'o''brien' AND email = 'a (1, 2)'"))
+        .isEqualTo("SELECT id FROM user WHERE username = ? AND email = ?");
+  }
+
+  @Test
+  void numberLiteralsBecomePlaceholdersButIdentifiersKeepTheirDigits() {
+    assertThat(QueryStatsRegistry.fingerprint("SELECT t1.id FROM course t1 WHERE t1.id = 42 AND score > 3.5 LIMIT 20"))
+        .isEqualTo("SELECT t1.id FROM course t1 WHERE t1.id = ? AND score > ? LIMIT ?");
+  }
+
+  @Test
+  void inListsOfAnyLengthCollapse() {
+    String one = QueryStatsRegistry.fingerprint("select * from lesson where id in (?)");
+    String three = QueryStatsRegistry.fingerprint("SELECT * FROM lesson WHERE id IN (?, ?,?)");
+    String literals = QueryStatsRegistry.fingerprint("SELECT * FROM lesson WHERE id IN (1, 2, 3)");
+
+    assertThat(three).isEqualTo("SELECT * FROM lesson WHERE id IN (?+)");
+    assertThat(literals).isEqualTo(three);
+    assertThat(one).isEqualToIgnoringCase(three);
+  }
+
+  @Test
+  void otherParenthesesAndWhitespaceAreNormalizedButNotCollapsed() {
+    assertThat(QueryStatsRegistry.fingerprint("INSERT INTO t (a, b)\n  VALUES   (?, ?)"))
+        .isEqualTo("INSERT INTO t (a, b) VALUES (?, ?)");
+    assertThat(QueryStatsRegistry.fingerprint("SELECT MIN(?) FROM course c JOIN (SELECT ?) x"))
+        .isEqualTo("SELECT MIN(?) FROM course c JOIN (SELECT ?) x");
+  }
+
+  @Test
+  void slowRequestsAreSampled() {
+    registry.record("GET /api/courses", new RequestQueryStats(), false);
+
+    assertThat(registry.slowRequests()).singleElement()
+        .satisfies(sample -> assertThat(sample.endpoint()).isEqualTo("GET /api/courses"));
+  }
+
+  @Test
+  void eventStreamsAreCountedButNeverSampledAsSlow() throws Exception {
+    QueryStatsFilter filter = new QueryStatsFilter(registry);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/realtime/stream");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, (servletRequest, servletResponse) -> {
+      servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/realtime/stream");
+      servletResponse.setContentType("text/event-stream;charset=UTF-8");
+    });
+
+    assertThat(registry.slowRequests()).isEmpty();
+    assertThat(registry.rankByDatabaseCost()).singleElement().satisfies(cost -> {
+      assertThat(cost.endpoint()).isEqualTo("GET /api/realtime/stream");
+      assertThat(cost.requests()).isEqualTo(1);
+    });
+  }
+}
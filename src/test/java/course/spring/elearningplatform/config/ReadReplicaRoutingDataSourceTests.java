@@ -0,0 +1,135 @@
+package course.spring.elearningplatform.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two H2 databases stand in for the primary and a replica; each answers with its own name. The lag
+ * probe needs a real MySQL replica, so replica selection is stubbed.
+ */
+class ReadReplicaRoutingDataSourceTests {
+
+  private static final String WHICH_DATABASE = "SELECT name FROM which_database";
+
+  private final DataSource primary = database("primary");
+  private final DataSource replica = database("replica");
+  private final ReplicaLagMonitor replicas = mock(ReplicaLagMonitor.class);
+
+  private JdbcTemplate jdbc;
+  private TransactionTemplate readWrite;
+  private TransactionTemplate readOnly;
+
+  @BeforeEach
+  void setUp() {
+    when(replicas.pick()).thenReturn(replica);
+    ReadReplicaRoutingDataSource routing =
+        new ReadReplicaRoutingDataSource(primary, replicas, new ReadYourWritesTracker(5000));
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+    jdbc = new JdbcTemplate(routing);
+    readWrite = new TransactionTemplate(transactionManager);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+  }
+
+  @AfterEach
+  void clearRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void readOnlyTransactionsGoToTheReplica() {
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("replica");
+    assertThat(readWrite.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("primary");
+  }
+
+  @Test
+  void readsFallBackToThePrimaryWithoutAHealthyReplica() {
+    when(replicas.pick()).thenReturn(null);
+
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("primary");
+  }
+
+  @Test
+  void readsAfterAWriteInTheSameRequestStayOnThePrimary() {
+    MockHttpServletResponse response = startRequest(new MockHttpServletRequest());
+
+    write();
+
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("primary");
+    assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith(ReadYourWritesTracker.COOKIE_NAME + "=");
+  }
+
+  @Test
+  void pinCookieKeepsLaterRequestsOnThePrimary() {
+    MockHttpServletResponse writeResponse = startRequest(new MockHttpServletRequest());
+    write();
+    Cookie pin = writeResponse.getCookie(ReadYourWritesTracker.COOKIE_NAME);
+    assertThat(pin).isNotNull();
+
+    MockHttpServletRequest pinned = new MockHttpServletRequest();
+    pinned.setCookies(pin);
+    startRequest(pinned);
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("primary");
+
+    startRequest(new MockHttpServletRequest());
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("replica");
+  }
+
+  @Test
+  void expiredPinIsIgnored() {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+    startRequest(request);
+
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("replica");
+  }
+
+  @Test
+  void rolledBackWriteDoesNotPin() {
+    MockHttpServletResponse response = startRequest(new MockHttpServletRequest());
+
+    readWrite.executeWithoutResult(status -> {
+      jdbc.update("UPDATE which_database SET name = name");
+      status.setRollbackOnly();
+    });
+
+    assertThat(readOnly.execute(status -> jdbc.queryForObject(WHICH_DATABASE, String.class))).isEqualTo("replica");
+    assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+  }
+
+  private void write() {
+    readWrite.executeWithoutResult(status -> jdbc.update("UPDATE which_database SET name = name"));
+  }
+
+  private static MockHttpServletResponse startRequest(MockHttpServletRequest request) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    return response;
+  }
+
+  private static DataSource database(String name) {
+    DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE IF NOT EXISTS which_database (name VARCHAR(16))");
+    jdbc.update("DELETE FROM which_database");
+    jdbc.update("INSERT INTO which_database (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
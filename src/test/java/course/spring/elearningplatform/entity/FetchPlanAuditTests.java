@@ -0,0 +1,138 @@
+package course.spring.elearningplatform.entity;
+
+import course.spring.elearningplatform.support.MigratedJpaSupport;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fetch plan: no association is declared EAGER, so loading one entity by id reads its
+ * own row and nothing else; whatever a use case needs beyond that comes from an entity graph or a
+ * projection.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FetchPlanAuditTests {
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  private EntityManagerFactory entityManagerFactory;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    DataSource dataSource = MigratedJpaSupport.migratedDataSource(mysql);
+    entityManagerFactory = MigratedJpaSupport.entityManagerFactory(dataSource, Map.of("hibernate.generate_statistics", true));
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    // a user wired into everything that used to be loaded eagerly along with it
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.update("INSERT INTO user (id, username) VALUES (1, 'student')");
+    jdbc.update("INSERT INTO user_roles (user_id, roles) VALUES (1, 'ROLE_STUDENT')");
+    jdbc.update("INSERT INTO course (id, name, created_by_id) VALUES (10, 'Java', 1)");
+    jdbc.update("INSERT INTO course_categories (course_id, categories) VALUES (10, 'Programming')");
+    jdbc.update("INSERT INTO user_started_courses (user_id, course_id) VALUES (1, 10)");
+    jdbc.update("INSERT INTO user_completed_courses (user_id, course_id) VALUES (1, 10)");
+    jdbc.update("INSERT INTO learning_groups (id, name) VALUES (20, 'Study group')");
+    jdbc.update("INSERT INTO learning_groups_members (group_id, members_id) VALUES (20, 1)");
+  }
+
+  @AfterEach
+  void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Test
+  void noAssociationIsEager() throws ClassNotFoundException {
+    ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+    scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+    List<String> eager = new ArrayList<>();
+    for (BeanDefinition entity : scanner.findCandidateComponents("course.spring.elearningplatform.entity")) {
+      for (Field field : Class.forName(entity.getBeanClassName()).getDeclaredFields()) {
+        if (fetchType(field) == FetchType.EAGER) {
+          eager.add(field.getDeclaringClass().getSimpleName() + "." + field.getName());
+        }
+      }
+    }
+
+    assertThat(eager).isEmpty();
+  }
+
+  @Test
+  void loadingAUserReadsOnlyItsRow() {
+    assertLoadsOneRow(User.class, 1L);
+  }
+
+  @Test
+  void loadingACourseReadsOnlyItsRow() {
+    assertLoadsOneRow(Course.class, 10L);
+  }
+
+  @Test
+  void loadingAGroupReadsOnlyItsRow() {
+    assertLoadsOneRow(Group.class, 20L);
+  }
+
+  private void assertLoadsOneRow(Class<?> entityClass, Long id) {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      statistics.clear();
+
+      assertThat(entityManager.find(entityClass, id)).isNotNull();
+
+      assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+      assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+      assertThat(statistics.getCollectionLoadCount()).isZero();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private static FetchType fetchType(Field field) {
+    if (field.isAnnotationPresent(ManyToOne.class)) {
+      return field.getAnnotation(ManyToOne.class).fetch();
+    }
+    if (field.isAnnotationPresent(OneToOne.class)) {
+      OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+      // the inverse side (Quiz.course) has no foreign key to build a proxy from, so Hibernate
+      // loads it whatever it is declared as
+      return oneToOne.mappedBy().isEmpty() ? oneToOne.fetch() : FetchType.LAZY;
+    }
+    if (field.isAnnotationPresent(OneToMany.class)) {
+      return field.getAnnotation(OneToMany.class).fetch();
+    }
+    if (field.isAnnotationPresent(ManyToMany.class)) {
+      return field.getAnnotation(ManyToMany.class).fetch();
+    }
+    if (field.isAnnotationPresent(ElementCollection.class)) {
+      return field.getAnnotation(ElementCollection.class).fetch();
+    }
+    return null;
+  }
+}
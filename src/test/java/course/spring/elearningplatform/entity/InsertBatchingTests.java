@@ -0,0 +1,107 @@
+package course.spring.elearningplatform.entity;
+
+import course.spring.elearningplatform.support.MigratedJpaSupport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stands in for an insert benchmark by counting round trips: with the production batching settings,
+ * sequence-id entities go out in JDBC batches, while an IDENTITY entity still costs one statement per
+ * row.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InsertBatchingTests {
+
+  private static final int BATCH_SIZE = 50;
+  private static final int ID_BLOCK = 50;
+  private static final int ROWS = 200;
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  private DataSource dataSource;
+  private EntityManagerFactory entityManagerFactory;
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = MigratedJpaSupport.migratedDataSource(mysql);
+    // the batching settings from application.properties
+    entityManagerFactory = MigratedJpaSupport.entityManagerFactory(dataSource, Map.of(
+        "hibernate.generate_statistics", true,
+        "hibernate.id.optimizer.pooled.preferred", "pooled-lo",
+        "hibernate.jdbc.batch_size", BATCH_SIZE,
+        "hibernate.order_inserts", true));
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Test
+  void sequenceIdInsertsAreBatched() {
+    statistics.clear();
+
+    inTransaction(entityManager -> {
+      // interleaved on purpose: without ordered inserts every switch would cut the batch short
+      for (int i = 0; i < ROWS; i++) {
+        entityManager.persist(new ActivityLog(null, "action " + i, "user", LocalDateTime.now()));
+        entityManager.persist(new StudentResult(null, "user", i % 100, i));
+      }
+    });
+
+    // per entity: one statement per batch of inserts plus one sequence call per allocated id block
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2 * (ROWS / BATCH_SIZE + ROWS / ID_BLOCK));
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(2 * ROWS);
+    assertThat(count("activity_log")).isEqualTo(ROWS);
+    assertThat(count("student_result")).isEqualTo(ROWS);
+  }
+
+  @Test
+  void identityInsertsCostOneStatementPerRow() {
+    statistics.clear();
+
+    inTransaction(entityManager -> {
+      for (int i = 0; i < ROWS; i++) {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Quiz " + i);
+        entityManager.persist(quiz);
+      }
+    });
+
+    assertThat(statistics.getPrepareStatementCount()).isGreaterThanOrEqualTo(ROWS);
+  }
+
+  private void inTransaction(Consumer<EntityManager> work) {
+    EntityManager entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      work.accept(entityManager);
+      entityManager.getTransaction().commit();
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private long count(String table) {
+    return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+  }
+}
@@ -0,0 +1,194 @@
+package course.spring.elearningplatform.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs db/migration the way the application does (baseline-on-migrate at version 0) against an
+ * empty database and against one created by ddl-auto=update before Flyway, and checks both end
+ * up with the same schema.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class FlywayMigrationTests {
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+      .withUsername("root")
+      .withPassword("root");
+
+  private static final String COLUMNS =
+      "SELECT TABLE_NAME, COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE FROM information_schema.COLUMNS " +
+          "WHERE TABLE_SCHEMA = ? AND TABLE_NAME <> 'flyway_schema_history' ORDER BY TABLE_NAME, COLUMN_NAME";
+  private static final String ACTIVITY_LOG_PARTITIONS =
+      "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+          "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'activity_log' ORDER BY PARTITION_ORDINAL_POSITION";
+  private static final String INDEXES =
+      "SELECT TABLE_NAME, NON_UNIQUE, GROUP_CONCAT(COLUMN_NAME ORDER BY SEQ_IN_INDEX) AS COLUMNS " +
+          "FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ? AND TABLE_NAME <> 'flyway_schema_history' " +
+          "GROUP BY TABLE_NAME, INDEX_NAME, NON_UNIQUE ORDER BY TABLE_NAME, COLUMNS, NON_UNIQUE";
+
+  @Test
+  void migratesEmptyDatabase() {
+    DataSource dataSource = createDatabase("clean_install");
+
+    MigrateResult result = flyway(dataSource).migrate();
+
+    assertThat(result.success).isTrue();
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    assertThat(tables(jdbc, "clean_install")).contains(
+        "lesson_progress", "outbox_event", "notification_inbox", "notification_read_cursor",
+        "reminder_dispatch", "activity_log_seq", "student_result_seq", "solution_seq",
+        "certificate_seq", "notification_inbox_seq");
+    assertThat(jdbc.queryForObject("SELECT next_val FROM activity_log_seq", Long.class)).isEqualTo(1L);
+    assertThat(jdbc.queryForList(ACTIVITY_LOG_PARTITIONS, String.class)).containsExactly("p_history", "p_future");
+  }
+
+  @Test
+  void upgradesDatabaseCreatedByDdlAutoUpdate() {
+    DataSource clean = createDatabase("reference");
+    flyway(clean).migrate();
+
+    DataSource legacy = createDatabase("legacy");
+    new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-update-schema.sql")).execute(legacy);
+    JdbcTemplate jdbc = new JdbcTemplate(legacy);
+    jdbc.update("INSERT INTO user (id, username) VALUES (1, 'teacher'), (2, 'student')");
+    jdbc.update("INSERT INTO course (id, name, created_by_id) VALUES (10, 'Java', 1), (11, 'SQL', 1)");
+    jdbc.update("INSERT INTO lesson (id, title, related_course_id) VALUES " +
+        "(100, 'a', 10), (101, 'b', 11), (102, 'c', 10), (103, 'd', 10)");
+    jdbc.update("INSERT INTO activity_log (id, action, username, timestamp) VALUES " +
+        "(41, 'login', 'student', '2024-01-01 10:00:00'), (42, 'logout', 'student', NULL)");
+    jdbc.update("INSERT INTO certificate (id, course_name, user_id, score_percentage) VALUES (7, 'Java', 2, 90)");
+
+    MigrateResult result = flyway(legacy).migrate();
+
+    assertThat(result.success).isTrue();
+    assertThat(jdbc.queryForList(COLUMNS, "legacy")).isEqualTo(jdbc.queryForList(COLUMNS, "reference"));
+    assertThat(jdbc.queryForList(INDEXES, "legacy")).isEqualTo(jdbc.queryForList(INDEXES, "reference"));
+    assertThat(jdbc.queryForList("SELECT id, lesson_ordinal FROM lesson ORDER BY id"))
+        .extracting(row -> row.get("lesson_ordinal"))
+        .containsExactly(0, 0, 1, 2);
+    assertThat(jdbc.queryForObject("SELECT next_val FROM activity_log_seq", Long.class)).isEqualTo(43L);
+    assertThat(jdbc.queryForObject("SELECT next_val FROM certificate_seq", Long.class)).isEqualTo(8L);
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM activity_log WHERE timestamp IS NULL", Long.class))
+        .isZero();
+    assertThat(jdbc.queryForList(ACTIVITY_LOG_PARTITIONS, String.class)).containsExactly("p_history", "p_future");
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM activity_log PARTITION (p_history)", Long.class))
+        .isEqualTo(1L);
+
+    jdbc.update("INSERT INTO user (id, username) VALUES (3, 'leaver')");
+    jdbc.update("INSERT INTO lesson_progress (user_id, course_id, completed_bits, completed_count) VALUES (3, 10, 0x01, 1)");
+    jdbc.update("DELETE FROM user WHERE id = 3");
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM lesson_progress", Long.class)).isZero();
+  }
+
+  @Test
+  void legacyGroupMembershipsAreMergedAndNoLongerBlockDeletes() {
+    DataSource legacy = createDatabase("legacy_groups");
+    new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-update-schema.sql")).execute(legacy);
+    JdbcTemplate jdbc = new JdbcTemplate(legacy);
+    jdbc.update("INSERT INTO user (id, username) VALUES (1, 'both'), (2, 'legacy only'), (3, 'leaver')");
+    jdbc.update("INSERT INTO learning_groups (id, name) VALUES (20, 'Java'), (21, 'SQL')");
+    jdbc.update("INSERT INTO learning_groups_members (group_id, members_id) VALUES (20, 1)");
+    jdbc.update("INSERT INTO user_groups (user_id, groups_id) VALUES (1, 20), (2, 20), (3, 21)");
+
+    assertThat(flyway(legacy).migrate().success).isTrue();
+
+    assertThat(tables(jdbc, "legacy_groups")).doesNotContain("user_groups");
+    assertThat(jdbc.queryForList("SELECT group_id, members_id FROM learning_groups_members ORDER BY group_id, members_id"))
+        .extracting(row -> row.get("group_id") + ":" + row.get("members_id"))
+        .containsExactly("20:1", "20:2", "21:3");
+
+    jdbc.update("DELETE FROM learning_groups WHERE id = 20");
+    jdbc.update("DELETE FROM user WHERE id = 3");
+
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM learning_groups_members", Long.class)).isZero();
+    assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM user", Long.class)).isEqualTo(2L);
+  }
+
+  @Test
+  void legacyLessonCompletionsBecomeProgressBitsAndNoLongerBlockDeletes() {
+    DataSource legacy = createDatabase("legacy_lessons");
+    new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-update-schema.sql")).execute(legacy);
+    JdbcTemplate jdbc = new JdbcTemplate(legacy);
+    jdbc.update("INSERT INTO user (id, username) VALUES (1, 'teacher'), (2, 'student'), (3, 'leaver')");
+    jdbc.update("INSERT INTO course (id, name, created_by_id) VALUES (10, 'Java', 1), (11, 'SQL', 1)");
+    jdbc.update("INSERT INTO lesson (id, title, related_course_id) VALUES " +
+        "(100, 'a', 10), (101, 'b', 10), (102, 'c', 10), (110, 'd', 11)");
+    jdbc.update("INSERT INTO user_completed_lessons (user_id, lesson_id) VALUES " +
+        "(2, 100), (2, 102), (2, 110), (3, 101)");
+
+    assertThat(flyway(legacy).migrate().success).isTrue();
+
+    assertThat(tables(jdbc, "legacy_lessons")).doesNotContain("user_completed_lessons");
+    assertThat(jdbc.queryForList("SELECT user_id, course_id, HEX(completed_bits) AS bits, completed_count " +
+        "FROM lesson_progress ORDER BY user_id, course_id"))
+        .extracting(row -> row.get("user_id") + "/" + row.get("course_id") + ":" + row.get("bits") + "#" + row.get("completed_count"))
+        .containsExactly("2/10:05#2", "2/11:01#1", "3/10:02#1");
+
+    jdbc.update("DELETE FROM user WHERE id = 3");
+    jdbc.update("DELETE FROM lesson WHERE id = 101");
+
+    assertThat(jdbc.queryForList("SELECT user_id FROM lesson_progress", Long.class)).containsOnly(2L);
+  }
+
+  @Test
+  void duplicateLessonOrdinalsAreRenumberedDenselyWithTheirProgress() {
+    DataSource dataSource = createDatabase("duplicate_ordinals");
+    Flyway.configure().configuration(flyway(dataSource).getConfiguration()).target("5").load().migrate();
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.update("INSERT INTO user (id, username) VALUES (1, 'teacher'), (2, 'student')");
+    jdbc.update("INSERT INTO course (id, name, created_by_id) VALUES (10, 'Java', 1)");
+    // ordinals {0, 1, 1, 3}, as two lessons added at once used to leave them
+    jdbc.update("INSERT INTO lesson (id, title, related_course_id, lesson_ordinal) VALUES " +
+        "(100, 'a', 10, 0), (101, 'b', 10, 1), (102, 'c', 10, 1), (103, 'd', 10, 3)");
+    // lessons b and d completed
+    jdbc.update("INSERT INTO lesson_progress (user_id, course_id, completed_bits, completed_count) VALUES (2, 10, 0x0A, 2)");
+
+    assertThat(flyway(dataSource).migrate().success).isTrue();
+
+    assertThat(jdbc.queryForList("SELECT lesson_ordinal FROM lesson ORDER BY id", Integer.class))
+        .containsExactly(0, 1, 3, 2);
+    assertThat(jdbc.queryForMap("SELECT HEX(completed_bits) AS bits, completed_count FROM lesson_progress"))
+        .containsEntry("bits", "06")
+        .containsEntry("completed_count", 2);
+  }
+
+  private static Flyway flyway(DataSource dataSource) {
+    return Flyway.configure()
+        .dataSource(dataSource)
+        .locations("classpath:db/migration")
+        .baselineOnMigrate(true)
+        .baselineVersion("0")
+        .load();
+  }
+
+  private static DataSource createDatabase(String name) {
+    DataSource server = dataSource(mysql.getDatabaseName());
+    new JdbcTemplate(server).execute("CREATE DATABASE " + name);
+    return dataSource(name);
+  }
+
+  private static DataSource dataSource(String database) {
+    String url = "jdbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(MySQLContainer.MYSQL_PORT) +
+        "/" + database;
+    return new DriverManagerDataSource(url, mysql.getUsername(), mysql.getPassword());
+  }
+
+  private static List<String> tables(JdbcTemplate jdbc, String database) {
+    return jdbc.queryForList("SELECT TABLE_NAME FROM information_schema.TABLES WHERE TABLE_SCHEMA = ?",
+        String.class, database);
+  }
+}
@@ -0,0 +1,267 @@
+package course.spring.elearningplatform.repository;
+
+import course.spring.elearningplatform.entity.ActivityLog;
+import course.spring.elearningplatform.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method of every repository against the Flyway-migrated schema, captures the SQL
+ * that reached MySQL from the general log and fails on any full table scan in its EXPLAIN plan that
+ * no index could have avoided (access type ALL with no possible key). Plans that pick a scan over a
+ * usable index are left to the optimizer: on a near-empty table that is the cheaper choice.
+ */
+@SpringBootTest(properties = {
+    "scheduling.enabled=false",
+    "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTests {
+
+  private static final long ID = 9001L;
+  private static final long OTHER_ID = 9002L;
+  private static final String USERNAME = "plan-user-1";
+  private static final String OTHER_USERNAME = "plan-user-2";
+  private static final Pattern EXPLAINABLE = Pattern.compile("^\\s*(select|insert|update|delete)\\b", Pattern.CASE_INSENSITIVE);
+
+  /**
+   * Queries that read a whole table by design.
+   */
+  private static final Map<String, String> DELIBERATE_SCANS = Map.of(
+      "CourseRepository.findAll", "the full catalog",
+      "EventRepository.findAll", "every event",
+      "FAQRepository.findAll", "every FAQ, cached",
+      "GroupRepository.findAll", "every group",
+      "NewsRepository.findAll", "every news item, cached",
+      "TicketRepository.findAll", "every ticket",
+      "UserRepository.findAllByUsernameNotIn", "every user but the system accounts",
+      "EnrollmentRepository.forEachEnrollment", "streams every enrollment into the in-memory index",
+      "ReminderDispatchRepository.deleteForPastDeadlines", "sweeps the claims, at most two per upcoming deadline");
+
+  /**
+   * Queries that cannot run against the schema at all.
+   */
+  private static final Map<String, String> BROKEN = Map.of(
+      "QuestionRepository.findRandomQuestionsByCourseId", "filters on question.course_id, which the mapping does not define");
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+      .withUsername("root")
+      .withPassword("root");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", mysql::getJdbcUrl);
+    registry.add("spring.datasource.username", mysql::getUsername);
+    registry.add("spring.datasource.password", mysql::getPassword);
+  }
+
+  @Autowired
+  private ApplicationContext applicationContext;
+
+  @Autowired
+  private JdbcTemplate jdbc;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Autowired
+  private ActivityLogBatchRepository activityLogBatchRepository;
+
+  @Autowired
+  private ActivityLogExportRepository activityLogExportRepository;
+
+  @Autowired
+  private EnrollmentRepository enrollmentRepository;
+
+  @Autowired
+  private NotificationInboxBatchRepository notificationInboxBatchRepository;
+
+  @BeforeEach
+  void seedAndLog() {
+    jdbc.update("INSERT IGNORE INTO user (id, username) VALUES (?, ?), (?, ?)", ID, USERNAME, OTHER_ID, OTHER_USERNAME);
+    jdbc.update("INSERT IGNORE INTO user_roles (user_id, roles) VALUES (?, 'ROLE_STUDENT')", ID);
+    jdbc.update("INSERT IGNORE INTO course (id, name, created_by_id) VALUES (?, 'Query plans', ?)", ID, ID);
+    jdbc.update("INSERT IGNORE INTO learning_groups (id, name) VALUES (?, 'Query plans')", ID);
+    jdbc.update("INSERT IGNORE INTO assignment (id, title, course_id) VALUES (?, 'Query plans', ?)", ID, ID);
+    // enough history that ORDER BY ... LIMIT reads the (timestamp, id) index rather than sorting
+    jdbc.update("INSERT IGNORE INTO activity_log (id, action, username, timestamp) " +
+        "WITH RECURSIVE n (i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < 1000) " +
+        "SELECT 1000000 + i, 'login', CONCAT('user', i % 50), NOW(6) - INTERVAL i MINUTE FROM n");
+    jdbc.execute("ANALYZE TABLE user, user_roles, course, learning_groups, assignment, activity_log");
+
+    jdbc.execute("SET GLOBAL log_output = 'TABLE'");
+    jdbc.execute("SET GLOBAL general_log = 'ON'");
+  }
+
+  @Test
+  void springDataQueriesUseAnIndex() throws ClassNotFoundException {
+    ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+      @Override
+      protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+        return beanDefinition.getMetadata().isInterface();
+      }
+    };
+    scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+    List<String> scans = new ArrayList<>();
+    List<String> checked = new ArrayList<>();
+    for (BeanDefinition definition : scanner.findCandidateComponents(getClass().getPackageName())) {
+      Class<?> repositoryType = Class.forName(definition.getBeanClassName());
+      Object repository = applicationContext.getBean(repositoryType);
+      List<Method> methods = new ArrayList<>(List.of(repositoryType.getDeclaredMethods()));
+      methods.sort(Comparator.comparing(Method::getName));
+      for (Method method : methods) {
+        String name = repositoryType.getSimpleName() + "." + method.getName();
+        if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers()) || BROKEN.containsKey(name)) {
+          continue;
+        }
+        scans.addAll(fullScans(name, () -> invoke(repository, method)));
+        checked.add(name);
+      }
+    }
+
+    assertThat(checked).contains("UserRepository.findByUsername", "OutboxEventRepository.lockDueBatch");
+    assertThat(scans).isEmpty();
+  }
+
+  @Test
+  void jdbcRepositoryQueriesUseAnIndex() {
+    List<String> scans = new ArrayList<>();
+
+    scans.addAll(fullScans("ActivityLogExportRepository.findPage", () ->
+        activityLogExportRepository.findPage(USERNAME, null, null, null, null, 20)));
+    scans.addAll(fullScans("ActivityLogExportRepository.findPage (unfiltered)", () ->
+        activityLogExportRepository.findPage(null, null, null, null,
+            new ActivityLog(1000500L, "login", "user0", LocalDateTime.now().minusHours(8)), 20)));
+    scans.addAll(fullScans("ActivityLogBatchRepository.insertBatch", () ->
+        activityLogBatchRepository.insertBatch(List.of(new ActivityLog(null, "login", USERNAME, LocalDateTime.now())))));
+    scans.addAll(fullScans("NotificationInboxBatchRepository.insertBatch", () ->
+        notificationInboxBatchRepository.insertBatch(List.of(ID, OTHER_ID), UUID.randomUUID().toString(),
+            "TEST", "{}", LocalDateTime.now())));
+    scans.addAll(fullScans("EnrollmentRepository.forEachEnrollment", () ->
+        enrollmentRepository.forEachEnrollment((userId, courseId) -> {
+        })));
+
+    assertThat(scans).isEmpty();
+  }
+
+  /**
+   * Runs the invocation in a transaction that is rolled back, then explains each statement its
+   * connection sent.
+   */
+  private List<String> fullScans(String name, Runnable invocation) {
+    jdbc.execute("TRUNCATE TABLE mysql.general_log");
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    Long connectionId = transactionTemplate.execute(status -> {
+      status.setRollbackOnly();
+      Long id = jdbc.queryForObject("SELECT CONNECTION_ID()", Long.class);
+      invocation.run();
+      return id;
+    });
+
+    List<String> statements = jdbc.queryForList(
+        "SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log WHERE thread_id = ? AND command_type = 'Query'",
+        String.class, connectionId);
+    List<String> scans = new ArrayList<>();
+    for (String statement : statements) {
+      if (!EXPLAINABLE.matcher(statement).find()) {
+        continue;
+      }
+      for (Map<String, Object> row : jdbc.queryForList("EXPLAIN " + statement)) {
+        String table = (String) row.get("table");
+        boolean fullScan = "ALL".equals(row.get("type")) && row.get("possible_keys") == null;
+        // an INSERT row names its target table, which is written rather than read
+        boolean read = !"INSERT".equals(row.get("select_type")) && !"REPLACE".equals(row.get("select_type"));
+        // derived tables and the one-row id sequence tables
+        boolean applicationTable = table != null && !table.startsWith("<") && !table.endsWith("_seq");
+        if (fullScan && read && applicationTable && !DELIBERATE_SCANS.containsKey(name)) {
+          scans.add(name + " reads all of " + table + ": " + statement);
+        }
+      }
+    }
+    return scans;
+  }
+
+  private void invoke(Object repository, Method method) {
+    Object[] arguments = new Object[method.getParameterCount()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = sample(method.getParameters()[i]);
+    }
+    try {
+      method.invoke(repository, arguments);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException(method + " failed", e.getCause());
+    }
+  }
+
+  private Object sample(Parameter parameter) {
+    Class<?> type = parameter.getType();
+    if (type == Long.class || type == long.class) {
+      return ID;
+    }
+    if (type == Integer.class || type == int.class) {
+      return 20;
+    }
+    if (type == String.class) {
+      return USERNAME;
+    }
+    if (type == LocalDateTime.class) {
+      return LocalDateTime.now();
+    }
+    if (type == Limit.class) {
+      return Limit.of(20);
+    }
+    if (type == byte[].class) {
+      return new byte[]{1};
+    }
+    if (type == User.class) {
+      return entityManager.getReference(User.class, ID);
+    }
+    if (Collection.class.isAssignableFrom(type)) {
+      Object element = ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+      return element == String.class ? List.of(USERNAME, OTHER_USERNAME) : List.of(ID, OTHER_ID);
+    }
+    throw new IllegalArgumentException("No sample value for " + parameter + " of " + parameter.getDeclaringExecutable());
+  }
+}
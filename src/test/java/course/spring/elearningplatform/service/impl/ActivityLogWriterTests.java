@@ -0,0 +1,169 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.ActivityLog;
+import course.spring.elearningplatform.repository.ActivityLogBatchRepository;
+import course.spring.elearningplatform.service.impl.ActivityLogWriter.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives {@link ActivityLogWriter} against a repository that records each batch instead of inserting it.
+ */
+class ActivityLogWriterTests {
+
+  private static final long WAIT_MILLIS = 5000;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RecordingRepository repository = new RecordingRepository();
+  private ActivityLogWriter writer;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (writer != null) {
+      writer.shutdown();
+    }
+  }
+
+  @Test
+  void partialBatchIsFlushedAfterTheInterval() throws InterruptedException {
+    writer = writer(64, OverflowPolicy.DROP, 100, 20);
+    writer.start();
+
+    enqueue(3);
+
+    awaitWritten(3);
+    assertThat(meterRegistry.get("activity.log.written").counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  void fullBatchWakesTheWriterBeforeTheInterval() throws InterruptedException {
+    writer = writer(64, OverflowPolicy.DROP, 5, TimeUnit.MINUTES.toMillis(10));
+    writer.start();
+
+    enqueue(5);
+
+    awaitWritten(5);
+    assertThat(repository.batches).singleElement().satisfies(batch -> assertThat(batch).hasSize(5));
+  }
+
+  @Test
+  void dropPolicyRejectsWhatDoesNotFit() {
+    // never started, so nothing drains the buffer
+    ActivityLogWriter idle = writer(4, OverflowPolicy.DROP, 100, 20);
+
+    assertThat(enqueue(idle, 6)).isEqualTo(4);
+    assertThat(meterRegistry.get("activity.log.dropped").counter().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("activity.log.buffer.depth").gauge().value()).isEqualTo(4);
+    assertThat(meterRegistry.get("activity.log.buffer.capacity").gauge().value()).isEqualTo(4);
+  }
+
+  @Test
+  void blockPolicyWaitsForTheTimeoutBeforeDropping() {
+    ActivityLogWriter idle = writer(2, OverflowPolicy.BLOCK, 100, 20);
+    enqueue(idle, 2);
+
+    long started = System.nanoTime();
+    assertThat(idle.enqueue(log(2))).isFalse();
+
+    assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+    assertThat(meterRegistry.get("activity.log.dropped").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void failedBatchIsCountedAndLaterBatchesStillGetWritten() throws InterruptedException {
+    repository.failures.set(1);
+    writer = writer(64, OverflowPolicy.DROP, 100, 20);
+    // queued before the writer starts, so they go out as the one failing batch
+    enqueue(3);
+    writer.start();
+    awaitFailures(3);
+    enqueue(2);
+
+    awaitWritten(2);
+    assertThat(meterRegistry.get("activity.log.write.failures").counter().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("activity.log.written").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void shutdownWritesWhatIsStillBuffered() throws InterruptedException {
+    writer = writer(64, OverflowPolicy.DROP, 100, TimeUnit.MINUTES.toMillis(10));
+    writer.start();
+    enqueue(3);
+
+    writer.shutdown();
+    writer = null;
+
+    assertThat(repository.written()).isEqualTo(3);
+  }
+
+  private ActivityLogWriter writer(int capacity, OverflowPolicy policy, int batchSize, long flushIntervalMillis) {
+    return new ActivityLogWriter(repository, meterRegistry, capacity, policy, 30, batchSize, flushIntervalMillis);
+  }
+
+  private int enqueue(int count) {
+    return enqueue(writer, count);
+  }
+
+  private static int enqueue(ActivityLogWriter writer, int count) {
+    int accepted = 0;
+    for (int i = 0; i < count; i++) {
+      if (writer.enqueue(log(i))) {
+        accepted++;
+      }
+    }
+    return accepted;
+  }
+
+  private void awaitWritten(int count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+    while (repository.written() < count && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(repository.written()).isEqualTo(count);
+  }
+
+  private void awaitFailures(double count) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+    while (meterRegistry.get("activity.log.write.failures").counter().count() < count
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  private static ActivityLog log(int i) {
+    return new ActivityLog(null, "action " + i, "user", LocalDateTime.now());
+  }
+
+  /**
+   * Keeps a copy of every batch (the writer reuses its list), failing the first {@code failures} calls.
+   */
+  private static final class RecordingRepository extends ActivityLogBatchRepository {
+    private final List<List<ActivityLog>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    RecordingRepository() {
+      super(null);
+    }
+
+    @Override
+    public void insertBatch(List<ActivityLog> logs) {
+      if (failures.getAndDecrement() > 0) {
+        throw new IllegalStateException("insert failed");
+      }
+      batches.add(List.copyOf(logs));
+    }
+
+    int written() {
+      return batches.stream().mapToInt(List::size).sum();
+    }
+  }
+}
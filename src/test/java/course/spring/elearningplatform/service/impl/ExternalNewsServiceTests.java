@@ -0,0 +1,159 @@
+package course.spring.elearningplatform.service.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link ExternalNewsService} against a JDK {@link HttpServer} standing in for NewsAPI.
+ */
+class ExternalNewsServiceTests {
+
+  private static final Duration WAIT = Duration.ofSeconds(5);
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private final AtomicInteger requests = new AtomicInteger();
+  private volatile int status = 200;
+  private volatile String title = "first";
+  private volatile CountDownLatch release = new CountDownLatch(0);
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.createContext("/everything", this::respond);
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    release.countDown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void concurrentMissesShareOneUpstreamCall() {
+    ExternalNewsService service = service(300_000, 1, 60_000, 2);
+    release = new CountDownLatch(1);
+
+    List<Mono<Map<String, Object>>> responses = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      responses.add(service.getEducationalNews(6));
+    }
+    release.countDown();
+
+    responses.forEach(response -> assertThat(articleTitles(response.block(WAIT))).containsExactly("first"));
+    assertThat(requests.get()).isEqualTo(1);
+  }
+
+  @Test
+  void staleEntryIsServedWhileItIsRefreshed() throws InterruptedException {
+    ExternalNewsService service = service(200, 5, 60_000, 2);
+    assertThat(articleTitles(service.getEducationalNews(6).block(WAIT))).containsExactly("first");
+    Thread.sleep(250);
+    title = "second";
+    release = new CountDownLatch(1);
+
+    Map<String, Object> stale = service.getEducationalNews(6).block(WAIT);
+
+    assertThat(stale).containsEntry("stale", true);
+    assertThat(articleTitles(stale)).containsExactly("first");
+    release.countDown();
+    Map<String, Object> refreshed = awaitFresh(service);
+    assertThat(articleTitles(refreshed)).containsExactly("second");
+    assertThat(requests.get()).isEqualTo(2);
+  }
+
+  @Test
+  void breakerOpensAfterFailuresAndLetsATrialThroughLater() throws InterruptedException {
+    ExternalNewsService service = service(300_000, 2, 300, 2);
+    status = 500;
+
+    assertThat(service.getEducationalNews(6).block(WAIT)).containsKey("error");
+    assertThat(service.getEducationalNews(6).block(WAIT)).containsKey("error");
+    Map<String, Object> refused = service.getEducationalNews(6).block(WAIT);
+
+    assertThat(refused).containsEntry("error", "News service temporarily unavailable");
+    assertThat(requests.get()).isEqualTo(2);
+
+    Thread.sleep(350);
+    status = 200;
+    assertThat(articleTitles(service.getEducationalNews(6).block(WAIT))).containsExactly("first");
+    assertThat(requests.get()).isEqualTo(3);
+  }
+
+  @Test
+  void bulkheadRejectsCallsBeyondTheLimit() {
+    ExternalNewsService service = service(300_000, 5, 60_000, 1);
+    release = new CountDownLatch(1);
+
+    Mono<Map<String, Object>> admitted = service.getEducationalNews(6);
+    Map<String, Object> rejected = service.getEducationalNews(12).block(WAIT);
+
+    assertThat(rejected).containsEntry("error", "Too many concurrent news requests");
+    release.countDown();
+    assertThat(articleTitles(admitted.block(WAIT))).containsExactly("first");
+    assertThat(requests.get()).isEqualTo(1);
+  }
+
+  private ExternalNewsService service(long freshMillis, int failureThreshold, long openMillis, int maxConcurrent) {
+    return new ExternalNewsService("http://localhost:" + server.getAddress().getPort(), "test-key",
+        freshMillis, 86_400_000, 2000, 5000, failureThreshold, openMillis, maxConcurrent);
+  }
+
+  private void respond(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    try {
+      release.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    byte[] body = ("{\"status\":\"ok\",\"articles\":[{\"title\":\"" + title + "\"}]}").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static Map<String, Object> awaitFresh(ExternalNewsService service) throws InterruptedException {
+    long deadline = System.nanoTime() + WAIT.toNanos();
+    while (System.nanoTime() < deadline) {
+      Map<String, Object> response = service.getEducationalNews(6).block(WAIT);
+      if (Boolean.FALSE.equals(response.get("stale"))) {
+        return response;
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("News cache was not refreshed within " + WAIT);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> articleTitles(Map<String, Object> response) {
+    return ((List<Map<String, Object>>) response.get("articles")).stream()
+        .map(article -> (String) article.get("title"))
+        .toList();
+  }
+}
@@ -0,0 +1,125 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.repository.LessonProgressRepository;
+import course.spring.elearningplatform.support.MigratedJpaSupport;
+import course.spring.elearningplatform.util.LessonBitSet;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the completion upsert against MySQL, which is where its semantics live.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LessonProgressServiceImplTests {
+
+  private static final long USER_ID = 1;
+  private static final long COURSE_ID = 10;
+  private static final int LESSONS = 100;
+  private static final int WRITES = 1000;
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  private EntityManagerFactory entityManagerFactory;
+  private JdbcTemplate jdbc;
+  private TransactionTemplate transactionTemplate;
+  private LessonProgressServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    DataSource dataSource = MigratedJpaSupport.migratedDataSource(mysql);
+    jdbc = new JdbcTemplate(dataSource);
+    jdbc.update("INSERT INTO user (id, username) VALUES (?, 'student')", USER_ID);
+    jdbc.update("INSERT INTO course (id, name, created_by_id) VALUES (?, 'Java', ?)", COURSE_ID, USER_ID);
+
+    entityManagerFactory = MigratedJpaSupport.entityManagerFactory(dataSource);
+    LessonProgressRepository repository = MigratedJpaSupport.repository(entityManagerFactory, LessonProgressRepository.class);
+    transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+    service = new LessonProgressServiceImpl(repository, 100);
+  }
+
+  @AfterEach
+  void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Test
+  void returnsTheCompletedCountOfItsOwnUpsert() {
+    assertThat(markCompleted(3)).isEqualTo(1);
+    assertThat(markCompleted(3)).isEqualTo(1);
+    assertThat(markCompleted(0)).isEqualTo(2);
+    assertThat(markCompleted(12)).isEqualTo(3);
+
+    assertThat(storedBits().stream()).containsExactly(0, 3, 12);
+    assertThat(storedCount()).isEqualTo(3);
+  }
+
+  @Test
+  void concurrentCompletionsLoseNothing() throws Exception {
+    // loads the cache entry up front, so the writers below have to keep it current
+    assertThat(service.getCompletedLessons(USER_ID, COURSE_ID).isEmpty()).isTrue();
+
+    ExecutorService executor = Executors.newFixedThreadPool(32);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>(WRITES);
+    try {
+      for (int i = 0; i < WRITES; i++) {
+        int ordinal = i % LESSONS;
+        results.add(executor.submit(() -> {
+          start.await();
+          return markCompleted(ordinal);
+        }));
+      }
+      start.countDown();
+
+      Set<Integer> counts = new TreeSet<>();
+      for (Future<Integer> result : results) {
+        counts.add(result.get());
+      }
+      // every new lesson raises the count by one, and the upsert that did it reports that count
+      assertThat(counts).containsExactlyElementsOf(IntStream.rangeClosed(1, LESSONS).boxed().toList());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(storedBits().cardinality()).isEqualTo(LESSONS);
+    assertThat(storedCount()).isEqualTo(LESSONS);
+    assertThat(service.getCompletedLessons(USER_ID, COURSE_ID).cardinality()).isEqualTo(LESSONS);
+  }
+
+  private int markCompleted(int ordinal) {
+    return transactionTemplate.execute(status -> service.markCompleted(USER_ID, COURSE_ID, ordinal));
+  }
+
+  private BitSet storedBits() {
+    return LessonBitSet.fromBytes(jdbc.queryForObject(
+        "SELECT completed_bits FROM lesson_progress WHERE user_id = ? AND course_id = ?", byte[].class, USER_ID, COURSE_ID));
+  }
+
+  private int storedCount() {
+    return jdbc.queryForObject(
+        "SELECT completed_count FROM lesson_progress WHERE user_id = ? AND course_id = ?", Integer.class, USER_ID, COURSE_ID);
+  }
+}
@@ -0,0 +1,138 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.dto.response.CursorPage;
+import course.spring.elearningplatform.dto.response.InboxNotification;
+import course.spring.elearningplatform.repository.NotificationInboxBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the inbox against MySQL, where the seq reservation (LAST_INSERT_ID) and the redelivery
+ * dedupe (INSERT IGNORE on the (user_id, event_id) key) live. Each test uses its own users, since
+ * the unread counters outlive a test in the shared context.
+ */
+@SpringBootTest(properties = {
+    "scheduling.enabled=false",
+    "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class NotificationInboxServiceImplTests {
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", mysql::getJdbcUrl);
+    registry.add("spring.datasource.username", mysql::getUsername);
+    registry.add("spring.datasource.password", mysql::getPassword);
+  }
+
+  @Autowired
+  private NotificationInboxServiceImpl inboxService;
+
+  @Autowired
+  private NotificationInboxBatchRepository inboxBatchRepository;
+
+  @Autowired
+  private JdbcTemplate jdbc;
+
+  @Test
+  void redeliveredEventIsStoredOnceAndCountedOnce() {
+    String eventId = UUID.randomUUID().toString();
+    inboxService.deliver(eventId, "course.published", "{}", new long[]{101, 102});
+    assertThat(inboxService.getUnreadCount(101L)).isEqualTo(1);
+
+    List<Long> inserted = inboxBatchRepository.insertBatch(List.of(101L, 102L, 103L), eventId, "course.published", "{}",
+        LocalDateTime.now());
+    inboxService.deliver(eventId, "course.published", "{}", new long[]{101, 102});
+
+    assertThat(inserted).containsExactly(103L);
+    assertThat(jdbc.queryForList("SELECT user_id FROM notification_inbox WHERE user_id BETWEEN 101 AND 103 ORDER BY user_id",
+        Long.class)).containsExactly(101L, 102L, 103L);
+    assertThat(inboxService.getUnreadCount(101L)).isEqualTo(1);
+
+    // a new event still bumps the cached count
+    inboxService.deliver(UUID.randomUUID().toString(), "course.published", "{}", new long[]{101});
+    assertThat(inboxService.getUnreadCount(101L)).isEqualTo(2);
+  }
+
+  @Test
+  void concurrentBatchesReserveDisjointSeqs() throws Exception {
+    long[] users = LongStream.rangeClosed(201, 250).toArray();
+    int deliveries = 40;
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> results = new ArrayList<>(deliveries);
+      for (int i = 0; i < deliveries; i++) {
+        results.add(executor.submit(() ->
+            inboxService.deliver(UUID.randomUUID().toString(), "assignment.created", "{}", users)));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // a seq handed out twice would have been dropped by INSERT IGNORE on the primary key
+    for (long user : users) {
+      assertThat(inboxService.getUnreadCount(user)).isEqualTo(deliveries);
+    }
+    assertThat(jdbc.queryForObject("SELECT COUNT(DISTINCT seq) FROM notification_inbox WHERE user_id BETWEEN 201 AND 250",
+        Long.class)).isEqualTo((long) users.length * deliveries);
+  }
+
+  @Test
+  void pagesReplayFromTheCursorTheClientHolds() {
+    for (int i = 0; i < 5; i++) {
+      inboxService.deliver(UUID.randomUUID().toString(), "news.posted", "{\"n\":" + i + "}", new long[]{301});
+    }
+
+    CursorPage<InboxNotification> first = inboxService.getNotifications(301L, null, 2);
+    CursorPage<InboxNotification> second = inboxService.getNotifications(301L, first.getNextCursor(), 2);
+    CursorPage<InboxNotification> replayed = inboxService.getNotifications(301L, first.getNextCursor(), 2);
+    CursorPage<InboxNotification> last = inboxService.getNotifications(301L, second.getNextCursor(), 2);
+
+    assertThat(first.getItems()).extracting(InboxNotification::getData).containsExactly("{\"n\":0}", "{\"n\":1}");
+    assertThat(second.getItems()).extracting(InboxNotification::getData).containsExactly("{\"n\":2}", "{\"n\":3}");
+    assertThat(replayed.getItems()).extracting(InboxNotification::getSeq)
+        .containsExactlyElementsOf(second.getItems().stream().map(InboxNotification::getSeq).toList());
+    assertThat(last.getItems()).extracting(InboxNotification::getData).containsExactly("{\"n\":4}");
+    assertThat(last.isHasNext()).isFalse();
+  }
+
+  @Test
+  void markReadLeavesOnlyLaterEntriesUnread() {
+    for (int i = 0; i < 3; i++) {
+      inboxService.deliver(UUID.randomUUID().toString(), "news.posted", "{}", new long[]{401});
+    }
+    assertThat(inboxService.getUnreadCount(401L)).isEqualTo(3);
+    List<InboxNotification> entries = inboxService.getNotifications(401L, null, 10).getItems();
+
+    inboxService.markRead(401L, entries.get(1).getSeq());
+    assertThat(inboxService.getUnreadCount(401L)).isEqualTo(1);
+
+    // a stale client cannot move the cursor back
+    inboxService.markRead(401L, entries.get(0).getSeq());
+    assertThat(inboxService.getUnreadCount(401L)).isEqualTo(1);
+  }
+}
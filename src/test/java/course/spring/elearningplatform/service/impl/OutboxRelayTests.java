@@ -0,0 +1,239 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.OutboxEvent;
+import course.spring.elearningplatform.repository.OutboxEventRepository;
+import course.spring.elearningplatform.support.MigratedJpaSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link OutboxRelay} against the MySQL outbox, where its {@code SKIP LOCKED} claim runs for
+ * real, and a fake broker that acks, nacks or never confirms each publish as scripted.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxRelayTests {
+
+  private static final long CONFIRM_TIMEOUT_MS = 100;
+  private static final Consumer<CorrelationData> ACK = correlation -> confirm(correlation, true);
+  private static final Consumer<CorrelationData> NACK = correlation -> confirm(correlation, false);
+  private static final Consumer<CorrelationData> NO_CONFIRM = correlation -> {
+  };
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  private EntityManagerFactory entityManagerFactory;
+  private OutboxEventRepository repository;
+  private TransactionTemplate transactionTemplate;
+  private FakeBroker broker;
+
+  @BeforeEach
+  void setUp() {
+    entityManagerFactory = MigratedJpaSupport.entityManagerFactory(MigratedJpaSupport.migratedDataSource(mysql));
+    repository = MigratedJpaSupport.repository(entityManagerFactory, OutboxEventRepository.class);
+    transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+    broker = new FakeBroker();
+  }
+
+  @AfterEach
+  void tearDown() {
+    entityManagerFactory.close();
+  }
+
+  @Test
+  void nackedEventIsRepublishedUntilConfirmed() {
+    OutboxRelay relay = relay(CONFIRM_TIMEOUT_MS);
+    Long first = save();
+    Long nacked = save();
+    Long third = save();
+    broker.script(ACK, NACK, ACK);
+
+    relay.relay();
+
+    assertThat(rows()).singleElement().satisfies(event -> {
+      assertThat(event.getId()).isEqualTo(nacked);
+      assertThat(event.getAttempts()).isEqualTo(1);
+      assertThat(event.getLastError()).startsWith("Nacked");
+    });
+
+    relay.relay();
+
+    assertThat(rows()).isEmpty();
+    assertThat(broker.sent).containsExactly(messageId(first), messageId(nacked), messageId(third), messageId(nacked));
+  }
+
+  @Test
+  void unconfirmedEventIsRepublishedAfterTheTimeout() {
+    OutboxRelay relay = relay(CONFIRM_TIMEOUT_MS);
+    Long id = save();
+    broker.script(NO_CONFIRM);
+
+    relay.relay();
+
+    assertThat(rows()).singleElement().satisfies(event -> {
+      assertThat(event.getAttempts()).isEqualTo(1);
+      assertThat(event.getLastError()).startsWith("No publisher confirm");
+    });
+
+    relay.relay();
+
+    assertThat(rows()).isEmpty();
+    assertThat(broker.sent).containsExactly(messageId(id), messageId(id));
+  }
+
+  @Test
+  void claimedEventsAreNeitherLockedNorDueWhilePublishing() {
+    OutboxRelay relay = relay(CONFIRM_TIMEOUT_MS);
+    save();
+    AtomicBoolean inTransaction = new AtomicBoolean(true);
+    List<OutboxEvent> dueDuringPublish = new CopyOnWriteArrayList<>();
+    broker.script(correlation -> {
+      inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+      dueDuringPublish.addAll(transactionTemplate.execute(status ->
+          repository.lockDueBatch(LocalDateTime.now(), 20, 10)));
+      ACK.accept(correlation);
+    });
+
+    relay.relay();
+
+    assertThat(inTransaction).isFalse();
+    assertThat(dueDuringPublish).isEmpty();
+    assertThat(rows()).isEmpty();
+  }
+
+  @Test
+  void failureAfterAnExpiredClaimIsNotRecordedTwice() {
+    OutboxRelay slowRelay = relay(CONFIRM_TIMEOUT_MS);
+    OutboxRelay otherRelay = relay(CONFIRM_TIMEOUT_MS);
+    Long id = save();
+    // the slow relay's claim runs out mid-publish and the other relay takes the event over
+    broker.script(correlation -> {
+      sleep(CONFIRM_TIMEOUT_MS + 50);
+      otherRelay.relay();
+    }, NACK);
+
+    slowRelay.relay();
+
+    assertThat(broker.sent).containsExactly(messageId(id), messageId(id));
+    assertThat(rows()).singleElement().satisfies(event -> {
+      assertThat(event.getAttempts()).isEqualTo(1);
+      assertThat(event.getLastError()).startsWith("Nacked");
+    });
+  }
+
+  @Test
+  void concurrentClaimsSkipRowsAnotherTransactionHolds() throws Exception {
+    Long first = save();
+    Long second = save();
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService other = Executors.newSingleThreadExecutor();
+    try {
+      Future<List<Long>> held = other.submit(() -> transactionTemplate.execute(status -> {
+        List<Long> ids = ids(repository.lockDueBatch(LocalDateTime.now(), 20, 1));
+        locked.countDown();
+        await(release);
+        return ids;
+      }));
+      assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+      List<Long> claimed = transactionTemplate.execute(status -> ids(repository.lockDueBatch(LocalDateTime.now(), 20, 10)));
+      release.countDown();
+
+      assertThat(held.get(5, TimeUnit.SECONDS)).containsExactly(first);
+      assertThat(claimed).containsExactly(second);
+    } finally {
+      release.countDown();
+      other.shutdownNow();
+    }
+  }
+
+  private OutboxRelay relay(long confirmTimeoutMillis) {
+    return new OutboxRelay(repository, broker, new JpaTransactionManager(entityManagerFactory), new SimpleMeterRegistry(),
+        10, confirmTimeoutMillis, 20, 0, 0, confirmTimeoutMillis);
+  }
+
+  private Long save() {
+    return transactionTemplate.execute(status ->
+        repository.save(new OutboxEvent("platform.events", "course.1.test", "test", "{}")).getId());
+  }
+
+  private List<OutboxEvent> rows() {
+    return transactionTemplate.execute(status -> repository.findAll());
+  }
+
+  private static List<Long> ids(List<OutboxEvent> events) {
+    return events.stream().map(OutboxEvent::getId).toList();
+  }
+
+  private static String messageId(Long id) {
+    return "outbox-" + id;
+  }
+
+  private static void confirm(CorrelationData correlation, boolean ack) {
+    correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "rejected by test broker"));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Answers each publish with the next scripted confirm, then acks everything once the script runs out.
+   */
+  private static final class FakeBroker extends RabbitTemplate {
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final Queue<Consumer<CorrelationData>> script = new ConcurrentLinkedQueue<>();
+
+    @SafeVarargs
+    final void script(Consumer<CorrelationData>... confirms) {
+      script.addAll(List.of(confirms));
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+      sent.add(message.getMessageProperties().getMessageId());
+      Consumer<CorrelationData> next = script.poll();
+      (next == null ? ACK : next).accept(correlationData);
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package course.spring.elearningplatform.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import course.spring.elearningplatform.service.CourseDashboardService;
+import course.spring.elearningplatform.service.EnrollmentService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Opens streams through MockMvc so events land in the mock response as the gateway sends them.
+ * Users 1 and 2 are enrolled in course 10, user 3 created course 11.
+ */
+class RealtimeGatewayTests {
+
+  private static final long WAIT_MILLIS = 10_000;
+  private static final Pattern SEQ = Pattern.compile("\"seq\":(\\d+)");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final EnrollmentService enrollmentService = mock(EnrollmentService.class);
+  private final CourseDashboardService courseDashboardService = mock(CourseDashboardService.class);
+  private RealtimeGateway gateway;
+  private MockMvc mockMvc;
+
+  @AfterEach
+  void tearDown() {
+    if (gateway != null) {
+      gateway.shutdown();
+    }
+  }
+
+  @Test
+  void joinsOnlyCoursesTheUserIsEnrolledInOrCreated() throws Exception {
+    start(1000, Executors.newVirtualThreadPerTaskExecutor());
+
+    MockHttpServletResponse student = open(1, false, "10,11,12");
+    MockHttpServletResponse creator = open(3, false, "10,11");
+    MockHttpServletResponse admin = open(4, true, "12");
+
+    awaitContent(student, content -> content.contains("courses-joined"));
+    assertThat(student.getContentAsString())
+        .contains("\"enrolledCourses\":[10]").contains("\"rejectedCourses\":[11,12]");
+    awaitContent(creator, content -> content.contains("courses-joined"));
+    assertThat(creator.getContentAsString())
+        .contains("\"enrolledCourses\":[11]").contains("\"rejectedCourses\":[10]");
+    awaitContent(admin, content -> content.contains("courses-joined"));
+    assertThat(admin.getContentAsString()).contains("\"enrolledCourses\":[12]");
+
+    gateway.onEvent(event("course.12.assignment.created", "assignment.created", 1));
+
+    awaitContent(admin, content -> content.contains("\"seq\":1"));
+    assertThat(student.getContentAsString()).doesNotContain("\"seq\":1");
+  }
+
+  @Test
+  void eventsReachEachStreamInTheOrderTheyWereConsumed() throws Exception {
+    start(1000, Executors.newVirtualThreadPerTaskExecutor());
+    MockHttpServletResponse first = open(1, false, "10");
+    MockHttpServletResponse second = open(2, false, "10");
+
+    for (int seq = 0; seq < 300; seq++) {
+      gateway.onEvent(event("course.10.assignment.created", "assignment.created", seq));
+    }
+
+    for (MockHttpServletResponse stream : List.of(first, second)) {
+      awaitContent(stream, content -> content.contains("\"seq\":299"));
+      assertThat(seqs(stream.getContentAsString())).isSorted().hasSize(300);
+    }
+  }
+
+  @Test
+  void clientThatFallsBehindIsDisconnectedOnce() throws Exception {
+    // one delivery thread, held up so nothing drains while the stream falls behind
+    ExecutorService delivery = Executors.newSingleThreadExecutor();
+    CountDownLatch release = new CountDownLatch(1);
+    delivery.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    start(3, delivery);
+    gateway.subscribe(1L, false, List.of(10L));
+
+    // the courses-joined event plus two fit, the fourth overflows
+    for (int seq = 0; seq < 10; seq++) {
+      gateway.onEvent(event("course.10.assignment.created", "assignment.created", seq));
+    }
+    release.countDown();
+
+    assertThat(meterRegistry.get("realtime.delivery.failures").counter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("realtime.connections").gauge().value()).isZero();
+    delivery.shutdown();
+    assertThat(delivery.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(meterRegistry.get("realtime.delivery.failures").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void courseCompletionClosesTheUsersStreamsForThatCourseOnly() throws Exception {
+    start(1000, Executors.newVirtualThreadPerTaskExecutor());
+    MockHttpServletResponse completed = open(1, false, "10");
+    MockHttpServletResponse otherCourse = open(3, false, "11");
+    MockHttpServletResponse classmate = open(2, false, "10");
+    awaitConnections(3);
+
+    gateway.onEvent(event("user.1.course.completed", "course.completed", 7, "\"courseId\":10"));
+
+    awaitContent(completed, content -> content.contains("course.completed"));
+    awaitConnections(2);
+    gateway.onEvent(event("course.10.assignment.created", "assignment.created", 8));
+    awaitContent(classmate, content -> content.contains("\"seq\":8"));
+    assertThat(completed.getContentAsString()).doesNotContain("\"seq\":8");
+    assertThat(otherCourse.getContentAsString()).doesNotContain("course.completed");
+  }
+
+  /**
+   * A scaled-down broadcast: a thousand streams, each receiving every event in order, with the
+   * time from event creation to delivery recorded by the gateway itself.
+   */
+  @Test
+  void broadcastReachesAThousandStreams() throws Exception {
+    start(1000, Executors.newVirtualThreadPerTaskExecutor());
+    int streams = 1000;
+    int events = 20;
+    List<MockHttpServletResponse> responses = new ArrayList<>(streams);
+    for (int i = 0; i < streams; i++) {
+      responses.add(open(1000 + i, false, ""));
+    }
+    assertThat(meterRegistry.get("realtime.connections").gauge().value()).isEqualTo(streams);
+
+    for (int seq = 0; seq < events; seq++) {
+      gateway.onEvent(event("platform.announcement.posted", "announcement.posted", seq));
+    }
+
+    for (MockHttpServletResponse response : responses) {
+      awaitContent(response, content -> content.contains("\"seq\":" + (events - 1)));
+      assertThat(seqs(response.getContentAsString())).isSorted().hasSize(events);
+    }
+    Timer latency = meterRegistry.get("realtime.broadcast.latency").timer();
+    assertThat(latency.count()).isEqualTo((long) streams * events);
+    assertThat(latency.max(TimeUnit.MILLISECONDS)).isLessThan(WAIT_MILLIS);
+  }
+
+  private void start(int maxPendingEvents, ExecutorService deliveryExecutor) {
+    when(enrollmentService.isEnrolled(1L, 10L)).thenReturn(true);
+    when(enrollmentService.isEnrolled(2L, 10L)).thenReturn(true);
+    when(courseDashboardService.isCourseCreator(11L, 3L)).thenReturn(true);
+    gateway = new RealtimeGateway(enrollmentService, courseDashboardService, new ObjectMapper(), meterRegistry,
+        60_000, maxPendingEvents, deliveryExecutor);
+    mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(gateway)).build();
+  }
+
+  private MockHttpServletResponse open(long userId, boolean admin, String courseIds) throws Exception {
+    MockHttpServletRequestBuilder stream = get("/stream")
+        .param("userId", String.valueOf(userId))
+        .param("admin", String.valueOf(admin))
+        .accept(MediaType.TEXT_EVENT_STREAM);
+    if (!courseIds.isEmpty()) {
+      stream.param("courseIds", courseIds);
+    }
+    return mockMvc.perform(stream)
+        .andExpect(request().asyncStarted())
+        .andReturn()
+        .getResponse();
+  }
+
+  private static Message event(String routingKey, String type, int seq, String... data) {
+    String fields = data.length == 0 ? "" : "," + String.join(",", data);
+    String body = "{\"type\":\"" + type + "\",\"ts\":\"" + Instant.now() + "\",\"data\":{\"seq\":" + seq + fields + "}}";
+    MessageProperties properties = new MessageProperties();
+    properties.setReceivedRoutingKey(routingKey);
+    return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+  }
+
+  private static List<Integer> seqs(String content) {
+    List<Integer> seqs = new ArrayList<>();
+    Matcher matcher = SEQ.matcher(content);
+    while (matcher.find()) {
+      seqs.add(Integer.parseInt(matcher.group(1)));
+    }
+    return seqs;
+  }
+
+  private static void awaitContent(MockHttpServletResponse response, Predicate<String> condition) throws Exception {
+    long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+    while (!condition.test(response.getContentAsString()) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(response.getContentAsString()).matches(condition);
+  }
+
+  private void awaitConnections(int expected) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+    while (meterRegistry.get("realtime.connections").gauge().value() != expected
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertThat(meterRegistry.get("realtime.connections").gauge().value()).isEqualTo(expected);
+  }
+
+  /**
+   * Stands in for RealtimeRestController without the security principal.
+   */
+  @RestController
+  static class StreamController {
+    private final RealtimeGateway gateway;
+
+    StreamController(RealtimeGateway gateway) {
+      this.gateway = gateway;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter stream(@RequestParam long userId, @RequestParam boolean admin,
+                      @RequestParam(required = false) List<Long> courseIds) {
+      return gateway.subscribe(userId, admin, courseIds != null ? courseIds : List.of());
+    }
+  }
+}
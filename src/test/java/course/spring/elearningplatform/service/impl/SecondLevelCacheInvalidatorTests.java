@@ -0,0 +1,150 @@
+package course.spring.elearningplatform.service.impl;
+
+import course.spring.elearningplatform.entity.Role;
+import course.spring.elearningplatform.entity.User;
+import course.spring.elearningplatform.support.MigratedJpaSupport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.sql.DataSource;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes on one database: separate session factories, each with its own Ehcache manager,
+ * connected by {@link LocalCacheInvalidationTransport}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SecondLevelCacheInvalidatorTests {
+
+  private static final String ROLES = User.class.getName() + ".roles";
+
+  @Container
+  static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+  private CacheManager cacheManagerA;
+  private CacheManager cacheManagerB;
+  private EntityManagerFactory nodeA;
+  private EntityManagerFactory nodeB;
+  private LocalCacheInvalidationTransport transportA;
+  private LocalCacheInvalidationTransport transportB;
+
+  @BeforeEach
+  void startNodes() throws Exception {
+    DataSource dataSource = MigratedJpaSupport.migratedDataSource(mysql);
+    cacheManagerA = cacheManager();
+    cacheManagerB = cacheManager();
+    nodeA = entityManagerFactory(dataSource, cacheManagerA);
+    nodeB = entityManagerFactory(dataSource, cacheManagerB);
+    transportA = new LocalCacheInvalidationTransport();
+    transportB = new LocalCacheInvalidationTransport();
+    new SecondLevelCacheInvalidator(nodeA, transportA).register();
+    new SecondLevelCacheInvalidator(nodeB, transportB).register();
+  }
+
+  @AfterEach
+  void stopNodes() {
+    transportA.close();
+    transportB.close();
+    nodeB.close();
+    nodeA.close();
+    cacheManagerA.close();
+    cacheManagerB.close();
+  }
+
+  @Test
+  void roleChangeOnOneNodeEvictsCachedRolesOnTheOther() {
+    Long userId = inTransaction(nodeA, em -> {
+      User user = new User();
+      user.setUsername("student");
+      user.setRoles(new HashSet<>(Set.of(Role.STUDENT.getDescription())));
+      em.persist(user);
+      return user.getId();
+    });
+    inTransaction(nodeB, em -> em.find(User.class, userId).getRoles().size());
+    assertThat(cache(nodeB).containsCollection(ROLES, userId)).isTrue();
+
+    inTransaction(nodeA, em -> em.find(User.class, userId).getRoles().add(Role.ADMIN.getDescription()));
+
+    assertThat(cache(nodeB).containsCollection(ROLES, userId)).isFalse();
+    assertThat(inTransaction(nodeB, em -> Set.copyOf(em.find(User.class, userId).getRoles())))
+        .containsExactlyInAnyOrder(Role.STUDENT.getDescription(), Role.ADMIN.getDescription());
+  }
+
+  @Test
+  void rolledBackRoleChangeIsNotBroadcast() {
+    Long userId = inTransaction(nodeA, em -> {
+      User user = new User();
+      user.setUsername("instructor");
+      user.setRoles(new HashSet<>(Set.of(Role.INSTRUCTOR.getDescription())));
+      em.persist(user);
+      return user.getId();
+    });
+    inTransaction(nodeB, em -> em.find(User.class, userId).getRoles().size());
+
+    EntityManager em = nodeA.createEntityManager();
+    try {
+      em.getTransaction().begin();
+      em.find(User.class, userId).getRoles().add(Role.ADMIN.getDescription());
+      em.flush();
+      em.getTransaction().rollback();
+    } finally {
+      em.close();
+    }
+
+    assertThat(cache(nodeB).containsCollection(ROLES, userId)).isTrue();
+  }
+
+  private static Cache cache(EntityManagerFactory entityManagerFactory) {
+    return entityManagerFactory.getCache().unwrap(Cache.class);
+  }
+
+  private static <T> T inTransaction(EntityManagerFactory entityManagerFactory, Function<EntityManager, T> work) {
+    EntityManager em = entityManagerFactory.createEntityManager();
+    try {
+      em.getTransaction().begin();
+      T result = work.apply(em);
+      em.getTransaction().commit();
+      return result;
+    } finally {
+      em.close();
+    }
+  }
+
+  /**
+   * JCache hands out one manager per (config, class loader), so each node gets its own loader.
+   */
+  private static CacheManager cacheManager() throws Exception {
+    ClassLoader parent = SecondLevelCacheInvalidatorTests.class.getClassLoader();
+    return Caching.getCachingProvider(EhcacheCachingProvider.class.getName())
+        .getCacheManager(parent.getResource("ehcache.xml").toURI(), new URLClassLoader(new URL[0], parent));
+  }
+
+  private static EntityManagerFactory entityManagerFactory(DataSource dataSource, CacheManager cacheManager) {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+    properties.put("hibernate.cache.use_second_level_cache", true);
+    properties.put("hibernate.cache.use_query_cache", true);
+    properties.put("hibernate.cache.region.factory_class", "jcache");
+    properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+    properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+    return MigratedJpaSupport.entityManagerFactory(dataSource, properties);
+  }
+}
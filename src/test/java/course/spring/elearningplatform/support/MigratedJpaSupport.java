@@ -0,0 +1,75 @@
+package course.spring.elearningplatform.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testcontainers.containers.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JPA without the application context, for tests that need to own the session factory. The schema
+ * is the one db/migration builds on MySQL, as in production, and Hibernate only validates it, the
+ * way {@code spring.jpa.hibernate.ddl-auto=validate} does.
+ */
+public final class MigratedJpaSupport {
+
+  private MigratedJpaSupport() {
+  }
+
+  /**
+   * Empties the container's database and migrates it to the latest version.
+   */
+  public static DataSource migratedDataSource(MySQLContainer<?> mysql) {
+    DataSource dataSource = new DriverManagerDataSource(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+    Flyway flyway = Flyway.configure()
+        .dataSource(dataSource)
+        .locations("classpath:db/migration")
+        .cleanDisabled(false)
+        .load();
+    flyway.clean();
+    flyway.migrate();
+    return dataSource;
+  }
+
+  /**
+   * An entity manager factory named like Spring Boot's, with the second-level cache off unless
+   * {@code properties} turns it on.
+   */
+  public static EntityManagerFactory entityManagerFactory(DataSource dataSource, Map<String, Object> properties) {
+    Map<String, Object> jpaProperties = new HashMap<>();
+    jpaProperties.put("hibernate.hbm2ddl.auto", "validate");
+    jpaProperties.put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+    jpaProperties.put("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+    jpaProperties.put("hibernate.cache.use_second_level_cache", false);
+    jpaProperties.putAll(properties);
+
+    LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+    factory.setDataSource(dataSource);
+    factory.setPackagesToScan("course.spring.elearningplatform.entity");
+    factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    factory.setJpaPropertyMap(jpaProperties);
+    factory.afterPropertiesSet();
+    return factory.getObject();
+  }
+
+  public static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+    return entityManagerFactory(dataSource, Map.of());
+  }
+
+  /**
+   * A Spring Data repository bound to the transaction of whichever manager the caller runs it in.
+   */
+  public static <T> T repository(EntityManagerFactory entityManagerFactory, Class<T> repositoryInterface) {
+    return new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+        .getRepository(repositoryInterface);
+  }
+}
@@ -0,0 +1,76 @@
+package course.spring.elearningplatform.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class BatchLoaderTests {
+
+  private final List<Set<Integer>> batches = new ArrayList<>();
+
+  // squares every key except 13, which the "database" does not know
+  private final Function<Set<Integer>, Map<Integer, Integer>> squares = keys -> {
+    batches.add(Set.copyOf(keys));
+    return keys.stream().filter(key -> key != 13).collect(Collectors.toMap(key -> key, key -> key * key));
+  };
+
+  @Test
+  void primedKeysAreResolvedInOneBatch() {
+    BatchLoader<Integer, Integer> loader = new BatchLoader<>(squares, -1);
+    loader.prime(List.of(1, 2, 3));
+
+    assertThat(loader.load(2)).isEqualTo(4);
+    assertThat(loader.load(1)).isEqualTo(1);
+    assertThat(loader.load(3)).isEqualTo(9);
+
+    assertThat(batches).containsExactly(Set.of(1, 2, 3));
+  }
+
+  @Test
+  void duplicateKeysAreFetchedOnce() {
+    BatchLoader<Integer, Integer> loader = new BatchLoader<>(squares, -1);
+    loader.prime(List.of(4, 4, 5));
+    loader.prime(List.of(5, 4));
+
+    assertThat(loader.loadAll(List.of(4, 5, 4))).containsExactly(entry(4, 16), entry(5, 25));
+    assertThat(batches).containsExactly(Set.of(4, 5));
+  }
+
+  @Test
+  void resolvedKeysAreMemoizedAcrossBatches() {
+    BatchLoader<Integer, Integer> loader = new BatchLoader<>(squares, -1);
+    loader.load(6);
+    loader.prime(List.of(6, 7));
+
+    assertThat(loader.load(7)).isEqualTo(49);
+    assertThat(loader.load(6)).isEqualTo(36);
+
+    assertThat(batches).containsExactly(Set.of(6), Set.of(7));
+  }
+
+  @Test
+  void keysTheBatchFunctionLeavesOutResolveToTheMissingValue() {
+    BatchLoader<Integer, Integer> loader = new BatchLoader<>(squares, -1);
+
+    assertThat(loader.loadAll(List.of(12, 13))).containsExactly(entry(12, 144), entry(13, -1));
+    assertThat(loader.load(13)).isEqualTo(-1);
+    assertThat(batches).hasSize(1);
+  }
+
+  @Test
+  void largeKeySetsAreSplitIntoBatchesOfTheMaximumSize() {
+    BatchLoader<Integer, Integer> loader = new BatchLoader<>(squares, -1, 2);
+
+    loader.loadAll(List.of(1, 2, 3, 4, 5));
+
+    assertThat(batches).containsExactly(Set.of(1, 2), Set.of(3, 4), Set.of(5));
+  }
+}
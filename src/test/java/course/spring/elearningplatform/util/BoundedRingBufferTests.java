@@ -0,0 +1,161 @@
+package course.spring.elearningplatform.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedRingBufferTests {
+
+  @Test
+  void capacityIsRoundedUpToAPowerOfTwo() {
+    assertThat(new BoundedRingBuffer<>(2).capacity()).isEqualTo(2);
+    assertThat(new BoundedRingBuffer<>(5).capacity()).isEqualTo(8);
+    assertThat(new BoundedRingBuffer<>(8).capacity()).isEqualTo(8);
+    assertThatThrownBy(() -> new BoundedRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void offerFailsOnceFullAndKeepsWhatIsAlreadyQueued() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+
+    assertThat(buffer.offer(4)).isFalse();
+    assertThat(buffer.size()).isEqualTo(4);
+
+    List<Integer> drained = new ArrayList<>();
+    assertThat(buffer.drainTo(drained, 10)).isEqualTo(4);
+    assertThat(drained).containsExactly(0, 1, 2, 3);
+    assertThat(buffer.isEmpty()).isTrue();
+    assertThat(buffer.poll()).isNull();
+  }
+
+  @Test
+  void slotsAreReusedAcrossLaps() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+    List<Integer> drained = new ArrayList<>();
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+      assertThat(buffer.offer(100 + i)).isTrue();
+      buffer.drainTo(drained, 2);
+    }
+
+    assertThat(drained).hasSize(20);
+    assertThat(drained.subList(18, 20)).containsExactly(9, 109);
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void drainStopsAtTheRequestedMaximum() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(8);
+    for (int i = 0; i < 5; i++) {
+      buffer.offer(i);
+    }
+
+    List<Integer> batch = new ArrayList<>();
+    assertThat(buffer.drainTo(batch, 3)).isEqualTo(3);
+    assertThat(batch).containsExactly(0, 1, 2);
+    assertThat(buffer.size()).isEqualTo(2);
+  }
+
+  @Test
+  void timedOfferGivesUpWhenNothingIsConsumed() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(2);
+    buffer.offer(1);
+    buffer.offer(2);
+
+    long started = System.nanoTime();
+    assertThat(buffer.offer(3, 20, TimeUnit.MILLISECONDS)).isFalse();
+    assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+  }
+
+  @Test
+  void timedOfferSucceedsOnceAConsumerFreesASlot() throws Exception {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(2);
+    buffer.offer(1);
+    buffer.offer(2);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Boolean> blocked = executor.submit(() -> buffer.offer(3, 5, TimeUnit.SECONDS));
+      Thread.sleep(20);
+      assertThat(buffer.poll()).isEqualTo(1);
+
+      assertThat(blocked.get(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(buffer.poll()).isEqualTo(2);
+      assertThat(buffer.poll()).isEqualTo(3);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void rejectsNull() {
+    assertThatThrownBy(() -> new BoundedRingBuffer<>(2).offer(null)).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  void concurrentProducersAndConsumersNeitherLoseNorDuplicate() throws Exception {
+    int producers = 4;
+    int perProducer = 50_000;
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+    Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+    AtomicInteger duplicates = new AtomicInteger();
+    AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (int p = 0; p < producers; p++) {
+        int first = p * perProducer;
+        tasks.add(executor.submit(() -> {
+          start.await();
+          for (int i = first; i < first + perProducer; i++) {
+            while (!buffer.offer(i)) {
+              Thread.onSpinWait();
+            }
+          }
+          return null;
+        }));
+      }
+      for (int c = 0; c < 2; c++) {
+        tasks.add(executor.submit(() -> {
+          start.await();
+          while (remaining.get() > 0) {
+            Integer element = buffer.poll();
+            if (element != null) {
+              if (!consumed.add(element)) {
+                duplicates.incrementAndGet();
+              }
+              remaining.decrementAndGet();
+            }
+          }
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> task : tasks) {
+        task.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(duplicates).hasValue(0);
+    assertThat(consumed).hasSize(producers * perProducer);
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,79 @@
+package course.spring.elearningplatform.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTests {
+
+  private static final long OPEN_MILLIS = 100;
+
+  @Test
+  void opensAfterConsecutiveFailuresAndRefusesCalls() {
+    CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+
+    fail(breaker, 2);
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    fail(breaker, 1);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void successResetsTheFailureCount() {
+    CircuitBreaker breaker = new CircuitBreaker(3, OPEN_MILLIS);
+
+    fail(breaker, 2);
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onSuccess();
+    fail(breaker, 2);
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void letsOneTrialCallThroughOnceTheOpenPeriodIsOver() throws InterruptedException {
+    CircuitBreaker breaker = new CircuitBreaker(1, OPEN_MILLIS);
+    fail(breaker, 1);
+
+    Thread.sleep(OPEN_MILLIS + 20);
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  @Test
+  void successfulTrialClosesTheCircuit() throws InterruptedException {
+    CircuitBreaker breaker = new CircuitBreaker(1, OPEN_MILLIS);
+    fail(breaker, 1);
+    Thread.sleep(OPEN_MILLIS + 20);
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onSuccess();
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    assertThat(breaker.tryAcquire()).isTrue();
+  }
+
+  @Test
+  void failedTrialOpensTheCircuitAgain() throws InterruptedException {
+    CircuitBreaker breaker = new CircuitBreaker(5, OPEN_MILLIS);
+    fail(breaker, 5);
+    Thread.sleep(OPEN_MILLIS + 20);
+
+    assertThat(breaker.tryAcquire()).isTrue();
+    breaker.onFailure();
+
+    assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(breaker.tryAcquire()).isFalse();
+  }
+
+  private static void fail(CircuitBreaker breaker, int times) {
+    for (int i = 0; i < times; i++) {
+      assertThat(breaker.tryAcquire()).isTrue();
+      breaker.onFailure();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package course.spring.elearningplatform.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTests {
+
+  private static final long TICK = 10;
+  // slots cover 1, 4 and 16 ticks; the whole wheel spans 64 ticks
+  private static final int[] WHEEL_SIZES = {4, 4, 4};
+
+  private final List<String> fired = new ArrayList<>();
+
+  @Test
+  void firesEachTimerOnItsTickWhateverLevelItStartsOn() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, 0);
+    wheel.schedule("level0", ticks(3));
+    wheel.schedule("level1", ticks(10));
+    wheel.schedule("level2", ticks(40));
+    wheel.schedule("beyond-span", ticks(200));
+
+    assertThat(firedAt(wheel, 3)).containsExactly("level0");
+    assertThat(firedBetween(wheel, 4, 9)).isEmpty();
+    assertThat(firedAt(wheel, 10)).containsExactly("level1");
+    assertThat(firedBetween(wheel, 11, 39)).isEmpty();
+    assertThat(firedAt(wheel, 40)).containsExactly("level2");
+    assertThat(firedBetween(wheel, 41, 199)).isEmpty();
+    assertThat(firedAt(wheel, 200)).containsExactly("beyond-span");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void roundsDeadlinesUpToWholeTicks() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, 0);
+    wheel.schedule("timer", ticks(5) + 1);
+
+    assertThat(firedAt(wheel, 5)).isEmpty();
+    assertThat(firedAt(wheel, 6)).containsExactly("timer");
+  }
+
+  @Test
+  void cancelledTimerNeverFires() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, 0);
+    HierarchicalTimingWheel.Timer<String> cancelled = wheel.schedule("cancelled", ticks(20));
+    wheel.schedule("kept", ticks(20));
+
+    assertThat(cancelled.cancel()).isTrue();
+    assertThat(cancelled.cancel()).isFalse();
+    assertThat(wheel.size()).isEqualTo(1);
+    assertThat(firedBetween(wheel, 1, 64)).containsExactly("kept");
+  }
+
+  @Test
+  void cancelAfterFiringReturnsFalse() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, 0);
+    HierarchicalTimingWheel.Timer<String> timer = wheel.schedule("timer", ticks(2));
+    firedAt(wheel, 2);
+
+    assertThat(timer.cancel()).isFalse();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void overdueTimerFiresOnTheNextTick() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, ticks(100));
+    wheel.schedule("overdue", ticks(50));
+
+    assertThat(firedAt(wheel, 101)).containsExactly("overdue");
+  }
+
+  @Test
+  void reschedulingToAnOverdueDeadlineMovesTheTimerForward() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, 0);
+    HierarchicalTimingWheel.Timer<String> original = wheel.schedule("original", ticks(40));
+    firedBetween(wheel, 1, 30);
+
+    original.cancel();
+    wheel.schedule("rescheduled", ticks(10));
+
+    assertThat(firedAt(wheel, 31)).containsExactly("rescheduled");
+    assertThat(firedBetween(wheel, 32, 64)).isEmpty();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void bigJumpFiresEverythingThatBecameDue() {
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZES, 0);
+    wheel.schedule("a", ticks(3));
+    wheel.schedule("b", ticks(30));
+    wheel.schedule("c", ticks(150));
+
+    wheel.advanceTo(ticks(100), fired::add);
+
+    assertThat(fired).containsExactly("a", "b");
+    assertThat(wheel.size()).isEqualTo(1);
+  }
+
+  private List<String> firedAt(HierarchicalTimingWheel<String> wheel, long tick) {
+    return firedBetween(wheel, tick, tick);
+  }
+
+  private List<String> firedBetween(HierarchicalTimingWheel<String> wheel, long fromTick, long toTick) {
+    fired.clear();
+    for (long tick = fromTick; tick <= toTick; tick++) {
+      wheel.advanceTo(ticks(tick), fired::add);
+    }
+    return List.copyOf(fired);
+  }
+
+  private static long ticks(long ticks) {
+    return ticks * TICK;
+  }
+}
@@ -0,0 +1,297 @@
+-- A database as the application left it while Hibernate managed the schema with ddl-auto=update:
+-- the baseline tables with Hibernate's generated constraint names and no Flyway history.
+
+create table images (
+    id        BIGINT NOT NULL AUTO_INCREMENT,
+    image     LONGBLOB,
+    mime_type VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table user (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    username           VARCHAR(255),
+    password           VARCHAR(255),
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    email              VARCHAR(255),
+    profile_picture_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT UK6354f6929394b94047ba310 UNIQUE (profile_picture_id),
+    CONSTRAINT FK7972577618405bdf72fd168 FOREIGN KEY (profile_picture_id) REFERENCES images (id)
+) ENGINE = InnoDB;
+
+create table user_roles (
+    user_id BIGINT       NOT NULL,
+    roles   VARCHAR(255) NOT NULL,
+    PRIMARY KEY (user_id, roles),
+    CONSTRAINT FK6a07ea3269405a07c1ffabf FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+create table course_analytics (
+    id                 BIGINT NOT NULL AUTO_INCREMENT,
+    total_participants INTEGER NOT NULL,
+    average_percentage DOUBLE NOT NULL,
+    fastest_time       BIGINT NOT NULL,
+    average_time       DOUBLE NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table quiz (
+    id    BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table course (
+    id            BIGINT NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255),
+    description   VARCHAR(255),
+    created_by_id BIGINT,
+    created_on    DATETIME(6),
+    image_id      BIGINT,
+    quiz_id       BIGINT,
+    analytics_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT UK4590727fbe33f846c91d9cd UNIQUE (image_id),
+    CONSTRAINT UKef4a2ea5af1e0adcefa3d88 UNIQUE (quiz_id),
+    CONSTRAINT UKa28f4198d14163130976dc7 UNIQUE (analytics_id),
+    CONSTRAINT FK39f60ab5134022f4518f879 FOREIGN KEY (created_by_id) REFERENCES user (id),
+    CONSTRAINT FKce9805bb4cdba644d75df83 FOREIGN KEY (image_id) REFERENCES images (id),
+    CONSTRAINT FK1259a0ec70d6a7f89cfabc7 FOREIGN KEY (quiz_id) REFERENCES quiz (id),
+    CONSTRAINT FK1d2493fb5a9bdfdd07cbf2b FOREIGN KEY (analytics_id) REFERENCES course_analytics (id)
+) ENGINE = InnoDB;
+
+create table course_categories (
+    course_id  BIGINT NOT NULL,
+    categories VARCHAR(255),
+    CONSTRAINT FK175fddc6fe1ebb2f7f0f94d FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table lesson (
+    id                BIGINT NOT NULL AUTO_INCREMENT,
+    title             VARCHAR(255),
+    content           TEXT,
+    created_on        DATETIME(6),
+    related_course_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FK9e5d78bc7b9de95ae7ced5e FOREIGN KEY (related_course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table course_lessons (
+    course_id  BIGINT NOT NULL,
+    lessons_id BIGINT NOT NULL,
+    CONSTRAINT UKfeab918b939d60b64c83003 UNIQUE (lessons_id),
+    CONSTRAINT FKfffc195ea725327cce8da1d FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT FKa954809241fd9721fd5335c FOREIGN KEY (lessons_id) REFERENCES lesson (id)
+) ENGINE = InnoDB;
+
+create table question (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    question_title VARCHAR(255),
+    option1        VARCHAR(255),
+    option2        VARCHAR(255),
+    option3        VARCHAR(255),
+    option4        VARCHAR(255),
+    correct_answer VARCHAR(255),
+    difficulty     VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table course_questions (
+    course_id    BIGINT NOT NULL,
+    questions_id BIGINT NOT NULL,
+    CONSTRAINT UK51279535f50c75d97e05178 UNIQUE (questions_id),
+    CONSTRAINT FKe442746fc729c5b085adbc2 FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT FK55fc5b05b241ec4b7f0dfd2 FOREIGN KEY (questions_id) REFERENCES question (id)
+) ENGINE = InnoDB;
+
+create table quiz_questions (
+    quiz_id      BIGINT NOT NULL,
+    questions_id BIGINT NOT NULL,
+    CONSTRAINT FKda4d24e2933347fe93be78e FOREIGN KEY (quiz_id) REFERENCES quiz (id),
+    CONSTRAINT FK09a254997520d8688a788fc FOREIGN KEY (questions_id) REFERENCES question (id)
+) ENGINE = InnoDB;
+
+create table student_result (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    username     VARCHAR(255),
+    percentage   INTEGER NOT NULL,
+    elapsed_time BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table course_high_scores (
+    course_id      BIGINT NOT NULL,
+    high_scores_id BIGINT NOT NULL,
+    CONSTRAINT FK33272e68751bd9dd72c33c6 FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT FK5f9813d5e644a6fb4b9d883 FOREIGN KEY (high_scores_id) REFERENCES student_result (id)
+) ENGINE = InnoDB;
+
+create table quiz_high_scores (
+    quiz_id        BIGINT NOT NULL,
+    high_scores_id BIGINT NOT NULL,
+    CONSTRAINT FKc97b99473b590f5195f37f1 FOREIGN KEY (quiz_id) REFERENCES quiz (id),
+    CONSTRAINT FK791b5e099150bef5f4688d8 FOREIGN KEY (high_scores_id) REFERENCES student_result (id)
+) ENGINE = InnoDB;
+
+create table user_courses (
+    user_id    BIGINT NOT NULL,
+    courses_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, courses_id),
+    CONSTRAINT UK962224368fd45773e183aa8 UNIQUE (courses_id),
+    CONSTRAINT FKa75f3d2dea367419f36f12e FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT FK030889459965cde8f718af1 FOREIGN KEY (courses_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table user_started_courses (
+    user_id   BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, course_id),
+    CONSTRAINT FKb959cb7bd91e53819560bb1 FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT FKff8a6085cdc71cb58f802ed FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table user_completed_courses (
+    user_id   BIGINT NOT NULL,
+    course_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, course_id),
+    CONSTRAINT FK74a94744b945dd074c6ce46 FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT FK47f2b58501c9a56325a49f9 FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table user_completed_lessons (
+    user_id   BIGINT NOT NULL,
+    lesson_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, lesson_id),
+    CONSTRAINT FKbcd14cafa3d0e0a6f486caa FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT FK8b486a3250ec77389265e64 FOREIGN KEY (lesson_id) REFERENCES lesson (id)
+) ENGINE = InnoDB;
+
+create table learning_groups (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255),
+    image_id    BIGINT,
+    description VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UK368a2686e0ba9c178ccdddf UNIQUE (image_id),
+    CONSTRAINT FKbc807af56946ed0ebde4eb1 FOREIGN KEY (image_id) REFERENCES images (id)
+) ENGINE = InnoDB;
+
+create table learning_groups_members (
+    group_id   BIGINT NOT NULL,
+    members_id BIGINT NOT NULL,
+    PRIMARY KEY (group_id, members_id),
+    CONSTRAINT FK2d5e0eebe8f836bb3845fc3 FOREIGN KEY (group_id) REFERENCES learning_groups (id),
+    CONSTRAINT FK86be192eb9c60d36ae40cb4 FOREIGN KEY (members_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+create table user_groups (
+    user_id   BIGINT NOT NULL,
+    groups_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, groups_id),
+    CONSTRAINT FK26e8a576f534161b5f29751 FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT FKde5f159f524e9b5f4127dad FOREIGN KEY (groups_id) REFERENCES learning_groups (id)
+) ENGINE = InnoDB;
+
+create table article (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    author_id  BIGINT,
+    created_at DATETIME(6),
+    content    VARCHAR(255),
+    group_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FK023e3f28a5247cbe802cdb8 FOREIGN KEY (author_id) REFERENCES user (id),
+    CONSTRAINT FKccd4ef485ae2def0de92da7 FOREIGN KEY (group_id) REFERENCES learning_groups (id)
+) ENGINE = InnoDB;
+
+create table event (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    start_time  DATETIME(6),
+    end_time    DATETIME(6),
+    course_id   BIGINT,
+    instructor  VARCHAR(255),
+    image_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT UKc828366fbc762d4a273e618 UNIQUE (image_id),
+    CONSTRAINT FK4d458c9e712289acbb343f7 FOREIGN KEY (course_id) REFERENCES course (id),
+    CONSTRAINT FKad8750f42686290d7358e2d FOREIGN KEY (image_id) REFERENCES images (id)
+) ENGINE = InnoDB;
+
+create table assignment (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(255),
+    description LONGTEXT,
+    due_date    DATETIME(6),
+    course_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FK1fe740e50dc4e73775185de FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table solution (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    file_path     VARCHAR(255) NOT NULL,
+    assignment_id BIGINT       NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKdb7cd28005e90817f003db8 FOREIGN KEY (assignment_id) REFERENCES assignment (id),
+    CONSTRAINT FK28a148ec86d5c2180f397b5 FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+create table certificate (
+    id               BIGINT  NOT NULL AUTO_INCREMENT,
+    course_name      VARCHAR(255),
+    user_id          BIGINT  NOT NULL,
+    score_percentage INTEGER NOT NULL,
+    issued_on        DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKc5611f4697c6588e549e5a2 FOREIGN KEY (user_id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+create table ticket (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    issuer_id  BIGINT,
+    course_id  BIGINT,
+    created_on DATETIME(6),
+    content    VARCHAR(255),
+    resolved   BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT FK0eaa751a0d39dcf48b72377 FOREIGN KEY (issuer_id) REFERENCES user (id),
+    CONSTRAINT FKf64d49694813d4eadbff615 FOREIGN KEY (course_id) REFERENCES course (id)
+) ENGINE = InnoDB;
+
+create table faq (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    question VARCHAR(255),
+    answer   VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table news (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    title          VARCHAR(255),
+    content        VARCHAR(255),
+    author         VARCHAR(255),
+    published_date DATETIME(6),
+    image          VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table announcement (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    title      VARCHAR(255),
+    content    VARCHAR(255),
+    expires_at DATETIME(6),
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+create table activity_log (
+    id        BIGINT NOT NULL AUTO_INCREMENT,
+    action    VARCHAR(255),
+    username  VARCHAR(255),
+    timestamp DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;